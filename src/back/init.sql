@@ -16,6 +16,8 @@ CREATE TABLE IF NOT EXISTS alunos (
     criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS idx_alunos_data_inicio ON alunos (data_inicio, id);
+
 CREATE TABLE IF NOT EXISTS professores (
     id UUID PRIMARY KEY,
     area VARCHAR(100) NOT NULL,
@@ -23,15 +25,22 @@ CREATE TABLE IF NOT EXISTS professores (
     criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS idx_professores_area ON professores (area, id);
+
 CREATE TABLE IF NOT EXISTS avaliacoes (
     id UUID PRIMARY KEY,
     descricao TEXT NOT NULL,
     data DATE NOT NULL,
     horario TIME NOT NULL,
+    -- Autor da primeira questão da avaliação, mantido pela API ao adicionar/remover questões
     professor_id UUID REFERENCES professores(id) ON DELETE SET NULL,
     criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Índices na ordem da listagem paginada (data, horario, id), com e sem o filtro de professor
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_professor_data ON avaliacoes (professor_id, data, horario, id);
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_data ON avaliacoes (data, horario, id);
+
 CREATE TABLE IF NOT EXISTS avaliacao_alunos (
     avaliacao_id UUID REFERENCES avaliacoes(id) ON DELETE CASCADE,
     aluno_id UUID REFERENCES alunos(id) ON DELETE CASCADE,
@@ -40,6 +49,18 @@ CREATE TABLE IF NOT EXISTS avaliacao_alunos (
     PRIMARY KEY (avaliacao_id, aluno_id)
 );
 
+-- Busca textual em português sem acentos: unaccent antes do stemmer
+CREATE EXTENSION IF NOT EXISTS unaccent;
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portugues_sem_acento') THEN
+        CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
 CREATE TABLE IF NOT EXISTS questoes (
     questao_id UUID PRIMARY KEY,
     enunciado TEXT NOT NULL,
@@ -48,9 +69,27 @@ CREATE TABLE IF NOT EXISTS questoes (
     dificuldade VARCHAR(30) NOT NULL CHECK (dificuldade IN ('FACIL', 'MEDIO', 'DIFICIL')),
     resposta_esperada TEXT,
     professor_id UUID REFERENCES professores(id) ON DELETE SET NULL,
-    criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Pesos da busca: tema (A), enunciado (B), resposta esperada (C)
+    busca TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('portugues_sem_acento', tema), 'A') ||
+        setweight(to_tsvector('portugues_sem_acento', enunciado), 'B') ||
+        setweight(to_tsvector('portugues_sem_acento', COALESCE(resposta_esperada, '')), 'C')
+    ) STORED
 );
 
+CREATE INDEX IF NOT EXISTS idx_questoes_busca ON questoes USING GIN (busca);
+
+-- Listagem paginada por (criado_em, questao_id); um índice por filtro da listagem.
+-- O NOT NULL de criado_em só vale para bancos criados por este script; num banco já existente:
+--   UPDATE questoes SET criado_em = CURRENT_TIMESTAMP WHERE criado_em IS NULL;
+--   ALTER TABLE questoes ALTER COLUMN criado_em SET NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_questoes_criado_em ON questoes (criado_em, questao_id);
+CREATE INDEX IF NOT EXISTS idx_questoes_professor_criado_em ON questoes (professor_id, criado_em, questao_id);
+CREATE INDEX IF NOT EXISTS idx_questoes_tipo_criado_em ON questoes (tipo, criado_em, questao_id);
+CREATE INDEX IF NOT EXISTS idx_questoes_dificuldade_criado_em ON questoes (dificuldade, criado_em, questao_id);
+CREATE INDEX IF NOT EXISTS idx_questoes_tema_criado_em ON questoes (tema, criado_em, questao_id);
+
 CREATE TABLE IF NOT EXISTS alternativas (
     id UUID PRIMARY KEY,
     questao_id UUID NOT NULL REFERENCES questoes(questao_id) ON DELETE CASCADE,
@@ -98,5 +137,68 @@ CREATE TABLE IF NOT EXISTS respostas_alunos (
     FOREIGN KEY (avaliacao_id, questao_id) REFERENCES avaliacao_questoes(avaliacao_id, questao_id) ON DELETE CASCADE
 );
 
+-- Uma resposta por questão: garante idempotência do envio e substitui o COUNT(*) prévio
+CREATE UNIQUE INDEX IF NOT EXISTS uq_respostas_alunos_avaliacao_aluno_questao
+    ON respostas_alunos (avaliacao_id, aluno_id, questao_id);
 
+-- Nota de cada aluno em cada avaliação, mantida por deltas a cada resposta e correção.
+-- Os relatórios leem daqui em vez de reagrupar respostas_alunos inteira.
+CREATE TABLE IF NOT EXISTS notas_avaliacao_aluno (
+    avaliacao_id UUID NOT NULL,
+    aluno_id UUID NOT NULL,
+    respostas INTEGER NOT NULL DEFAULT 0,
+    corrigidas INTEGER NOT NULL DEFAULT 0,
+    soma_notas NUMERIC(12,2) NOT NULL DEFAULT 0,
+    nota NUMERIC GENERATED ALWAYS AS (CASE WHEN corrigidas > 0 THEN soma_notas * 10 / corrigidas END) STORED,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (avaliacao_id, aluno_id),
+    FOREIGN KEY (avaliacao_id, aluno_id) REFERENCES avaliacao_alunos(avaliacao_id, aluno_id) ON DELETE CASCADE
+);
 
+-- Totais mensais (mês da data da avaliação) por questão, professor e aluno, mantidos junto com
+-- notas_avaliacao_aluno. Filtros de "meses" nos relatórios somam buckets em vez de varrer respostas.
+CREATE TABLE IF NOT EXISTS resumo_mensal_questao (
+    questao_id UUID NOT NULL REFERENCES questoes(questao_id) ON DELETE CASCADE,
+    mes DATE NOT NULL,
+    respostas INTEGER NOT NULL DEFAULT 0,
+    corrigidas INTEGER NOT NULL DEFAULT 0,
+    soma_notas NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (questao_id, mes)
+);
+
+CREATE TABLE IF NOT EXISTS resumo_mensal_professor (
+    professor_id UUID NOT NULL REFERENCES professores(id) ON DELETE CASCADE,
+    mes DATE NOT NULL,
+    respostas INTEGER NOT NULL DEFAULT 0,
+    corrigidas INTEGER NOT NULL DEFAULT 0,
+    soma_notas NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (professor_id, mes)
+);
+
+CREATE TABLE IF NOT EXISTS resumo_mensal_aluno (
+    aluno_id UUID NOT NULL REFERENCES alunos(id) ON DELETE CASCADE,
+    mes DATE NOT NULL,
+    respostas INTEGER NOT NULL DEFAULT 0,
+    corrigidas INTEGER NOT NULL DEFAULT 0,
+    soma_notas NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (aluno_id, mes)
+);
+
+-- Análise de itens (AnaliseItensJob): recalculada em lote a partir de respostas_alunos e
+-- notas_avaliacao_aluno; o relatório só lê daqui
+CREATE TABLE IF NOT EXISTS estatisticas_questao (
+    questao_id UUID PRIMARY KEY REFERENCES questoes(questao_id) ON DELETE CASCADE,
+    respostas INTEGER NOT NULL,
+    indice_dificuldade NUMERIC(6,4) NOT NULL,
+    discriminacao NUMERIC(6,4),
+    calculado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS estatisticas_alternativa (
+    alternativa_id UUID PRIMARY KEY REFERENCES alternativas(id) ON DELETE CASCADE,
+    questao_id UUID NOT NULL REFERENCES questoes(questao_id) ON DELETE CASCADE,
+    escolhas INTEGER NOT NULL,
+    proporcao NUMERIC(6,4) NOT NULL,
+    media_nota NUMERIC(6,2),
+    discriminacao NUMERIC(6,4)
+);
@@ -0,0 +1,94 @@
+package com.uel.analise;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Somas de uma questão que se combinam entre avaliações. x = nota na questão (0 a 1);
+// y = nota do aluno no resto da prova (0 a 10), definida só para quem tem outra questão corrigida.
+class AcumuladorItem {
+    long respostas;
+    double somaNotas;
+
+    long pares;
+    double somaX;
+    double somaXX;
+    double somaY;
+    double somaYY;
+    double somaXY;
+
+    final Map<UUID, Opcao> opcoes = new HashMap<>();
+
+    void registrar(UUID alternativaId, double x, double notaProva, Double y) {
+        respostas++;
+        somaNotas += x;
+        if (y != null) {
+            pares++;
+            somaX += x;
+            somaXX += x * x;
+            somaY += y;
+            somaYY += y * y;
+            somaXY += x * y;
+        }
+
+        if (alternativaId != null) {
+            Opcao opcao = opcoes.computeIfAbsent(alternativaId, id -> new Opcao());
+            opcao.escolhas++;
+            opcao.somaNotaProva += notaProva;
+            if (y != null) {
+                opcao.pares++;
+                opcao.somaY += y;
+            }
+        }
+    }
+
+    void combinar(AcumuladorItem outro) {
+        respostas += outro.respostas;
+        somaNotas += outro.somaNotas;
+        pares += outro.pares;
+        somaX += outro.somaX;
+        somaXX += outro.somaXX;
+        somaY += outro.somaY;
+        somaYY += outro.somaYY;
+        somaXY += outro.somaXY;
+        outro.opcoes.forEach((id, opcao) -> opcoes.merge(id, opcao, Opcao::somar));
+    }
+
+    double indiceDificuldade() {
+        return somaNotas / respostas;
+    }
+
+    Double discriminacao() {
+        return correlacao(pares, somaX, somaXX, somaXY);
+    }
+
+    // Ponto-bisserial de "escolheu a alternativa" (0/1) contra o resto da prova
+    Double discriminacao(Opcao opcao) {
+        return correlacao(pares, opcao.pares, opcao.pares, opcao.somaY);
+    }
+
+    private Double correlacao(long n, double sx, double sxx, double sxy) {
+        double varianciaX = n * sxx - sx * sx;
+        double varianciaY = n * somaYY - somaY * somaY;
+        // Sem variação (todos acertaram, ou só um aluno) a correlação não é definida
+        if (n < 2 || varianciaX <= 1e-12 || varianciaY <= 1e-12) {
+            return null;
+        }
+        return (n * sxy - sx * somaY) / Math.sqrt(varianciaX * varianciaY);
+    }
+
+    static class Opcao {
+        long escolhas;
+        double somaNotaProva;
+        long pares;
+        double somaY;
+
+        Opcao somar(Opcao outra) {
+            escolhas += outra.escolhas;
+            somaNotaProva += outra.somaNotaProva;
+            pares += outra.pares;
+            somaY += outra.somaY;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.uel.analise;
+
+import com.uel.repository.EstatisticaQuestaoRepository;
+import com.uel.repository.EstatisticaQuestaoRepository.EstatisticaAlternativa;
+import com.uel.repository.EstatisticaQuestaoRepository.EstatisticaQuestao;
+import com.uel.repository.EstatisticaQuestaoRepository.RespostaCorrigida;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Análise clássica de itens: índice de dificuldade, discriminação ponto-bisserial (item x resto
+// da prova) e atratividade de cada alternativa. Uma leitura só de respostas_alunos; cada avaliação
+// vira uma tarefa no ForkJoinPool enquanto a leitura segue, e as somas são combinadas por questão.
+@Component
+public class AnaliseItensJob {
+    private static final Logger log = LoggerFactory.getLogger(AnaliseItensJob.class);
+
+    private final EstatisticaQuestaoRepository repository;
+    private final TransactionTemplate transacao;
+    private final ForkJoinPool pool;
+    // Tarefas ainda não combinadas; limita quantas avaliações ficam em memória ao mesmo tempo
+    private final int maximoPendentes;
+
+    public AnaliseItensJob(
+            EstatisticaQuestaoRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${notaki.analise-itens.paralelismo:2}") int paralelismo) {
+        this.repository = repository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(paralelismo);
+        this.maximoPendentes = paralelismo * 2;
+    }
+
+    @Scheduled(
+            initialDelayString = "${notaki.analise-itens.atraso-inicial-ms:60000}",
+            fixedDelayString = "${notaki.analise-itens.intervalo-ms:3600000}")
+    public void executar() {
+        long inicio = System.nanoTime();
+        Leitura leitura = new Leitura();
+        try {
+            repository.percorrerRespostasCorrigidas(leitura);
+            leitura.concluir();
+        } catch (SQLException e) {
+            // Mantém o resultado anterior até a próxima rodada
+            log.warn("Erro ao ler respostas para análise de itens: {}", e.getMessage());
+            return;
+        }
+
+        List<EstatisticaQuestao> questoes = new ArrayList<>();
+        List<EstatisticaAlternativa> alternativas = new ArrayList<>();
+        leitura.porQuestao.forEach((questaoId, acumulador) -> {
+            questoes.add(new EstatisticaQuestao(
+                    questaoId,
+                    (int) acumulador.respostas,
+                    arredondar(acumulador.indiceDificuldade(), 4),
+                    arredondar(acumulador.discriminacao(), 4)));
+            acumulador.opcoes.forEach((alternativaId, opcao) -> alternativas.add(new EstatisticaAlternativa(
+                    alternativaId,
+                    questaoId,
+                    (int) opcao.escolhas,
+                    arredondar((double) opcao.escolhas / acumulador.respostas, 4),
+                    arredondar(opcao.somaNotaProva / opcao.escolhas, 2),
+                    arredondar(acumulador.discriminacao(opcao), 4))));
+        });
+
+        try {
+            transacao.executeWithoutResult(status -> {
+                try {
+                    repository.substituir(questoes, alternativas);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Erro ao gravar análise de itens", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Erro ao gravar análise de itens: {}", e.getMessage());
+            return;
+        }
+
+        log.info("Análise de itens: {} questões em {} ms",
+                questoes.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    private static BigDecimal arredondar(Double valor, int casas) {
+        return valor == null ? null : BigDecimal.valueOf(valor).setScale(casas, RoundingMode.HALF_UP);
+    }
+
+    // Recebe as linhas na ordem da consulta (por avaliação) e fecha um lote a cada troca
+    private class Leitura implements Consumer<RespostaCorrigida> {
+        final Map<UUID, AcumuladorItem> porQuestao = new HashMap<>();
+        private final Deque<ForkJoinTask<Map<UUID, AcumuladorItem>>> pendentes = new ArrayDeque<>();
+        private List<RespostaCorrigida> lote = new ArrayList<>();
+        private UUID avaliacaoAtual;
+
+        @Override
+        public void accept(RespostaCorrigida resposta) {
+            if (!resposta.avaliacaoId().equals(avaliacaoAtual)) {
+                enviarLote();
+                avaliacaoAtual = resposta.avaliacaoId();
+            }
+            lote.add(resposta);
+        }
+
+        void concluir() {
+            enviarLote();
+            while (!pendentes.isEmpty()) {
+                combinar(pendentes.poll().join());
+            }
+        }
+
+        private void enviarLote() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            List<RespostaCorrigida> respostas = lote;
+            lote = new ArrayList<>();
+            pendentes.add(pool.submit(() -> analisarAvaliacao(respostas)));
+            while (pendentes.size() > maximoPendentes) {
+                combinar(pendentes.poll().join());
+            }
+        }
+
+        private void combinar(Map<UUID, AcumuladorItem> parcial) {
+            parcial.forEach((questaoId, acumulador) -> porQuestao.merge(questaoId, acumulador, (atual, novo) -> {
+                atual.combinar(novo);
+                return atual;
+            }));
+        }
+    }
+
+    private static Map<UUID, AcumuladorItem> analisarAvaliacao(List<RespostaCorrigida> respostas) {
+        Map<UUID, AcumuladorItem> porQuestao = new HashMap<>();
+        for (RespostaCorrigida resposta : respostas) {
+            if (resposta.corrigidas() <= 0) {
+                continue;
+            }
+            double notaProva = resposta.somaNotas() * 10 / resposta.corrigidas();
+            // Resto da prova: tira a própria questão para não inflar a correlação
+            Double resto = resposta.corrigidas() > 1
+                    ? (resposta.somaNotas() - resposta.nota()) * 10 / (resposta.corrigidas() - 1)
+                    : null;
+            porQuestao.computeIfAbsent(resposta.questaoId(), id -> new AcumuladorItem())
+                    .registrar(resposta.alternativaId(), resposta.nota(), notaProva, resto);
+        }
+        return porQuestao;
+    }
+}
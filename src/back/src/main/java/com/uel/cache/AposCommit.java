@@ -0,0 +1,24 @@
+package com.uel.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Atualizações de cache só depois do commit: antes dele a mudança ainda pode ser desfeita, e uma
+// recarga feita nesse meio leria os dados antigos. Fora de transação, roda na hora.
+final class AposCommit {
+    private AposCommit() {
+    }
+
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.uel.cache;
+
+import com.uel.repository.NotaAvaliacaoAlunoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Histograma de notas por avaliação, carregado de notas_avaliacao_aluno na primeira consulta e
+// depois mantido pelas mudanças de nota vindas de AgregacaoNotasService. Uma mudança que cruze
+// com a carga pode ser perdida ou contada duas vezes; o TTL recarrega e limita esse desvio.
+@Component
+public class DistribuicaoNotasCache {
+    private final NotaAvaliacaoAlunoRepository repository;
+    private final long ttlNanos;
+    private final Map<UUID, Entrada> histogramas;
+    // Cargas em andamento -> se houve mudança nelas; carga alterada é usada mas não fica em cache
+    private final Map<UUID, Boolean> emCarga = new ConcurrentHashMap<>();
+
+    public DistribuicaoNotasCache(
+            NotaAvaliacaoAlunoRepository repository,
+            MeterRegistry registry,
+            @Value("${notaki.distribuicao.capacidade:5000}") int capacidade,
+            @Value("${notaki.distribuicao.ttl-ms:600000}") long ttlMs) {
+        this.repository = repository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.histogramas = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entrada> maisAntiga) {
+                return size() > capacidade;
+            }
+        });
+        registry.gaugeMapSize("notaki.distribuicao.cache.tamanho", List.of(), histogramas);
+    }
+
+    // Cópia: quem chama pode somar ou consultar sem travar o histograma compartilhado
+    public HistogramaNotas obter(UUID avaliacaoId) throws SQLException {
+        Entrada entrada = histogramas.get(avaliacaoId);
+        if (entrada != null && System.nanoTime() - entrada.carregadoEm() < ttlNanos) {
+            synchronized (entrada.histograma()) {
+                return entrada.histograma().copia();
+            }
+        }
+
+        emCarga.put(avaliacaoId, false);
+        long inicio = System.nanoTime();
+        HistogramaNotas carregado;
+        try {
+            carregado = new HistogramaNotas(repository.contarPorFaixa(avaliacaoId, HistogramaNotas.FAIXAS));
+        } catch (SQLException e) {
+            emCarga.remove(avaliacaoId);
+            throw e;
+        }
+        if (Boolean.FALSE.equals(emCarga.remove(avaliacaoId))) {
+            histogramas.put(avaliacaoId, new Entrada(carregado.copia(), inicio));
+        }
+        return carregado;
+    }
+
+    // Nota de um aluno passou da faixa `de` para `para` (-1 = sem nota)
+    public void registrarMudanca(UUID avaliacaoId, int de, int para) {
+        if (de == para) {
+            return;
+        }
+        AposCommit.executar(() -> {
+            emCarga.computeIfPresent(avaliacaoId, (id, alterada) -> true);
+            Entrada entrada = histogramas.get(avaliacaoId);
+            if (entrada != null) {
+                synchronized (entrada.histograma()) {
+                    entrada.histograma().mover(de, para);
+                }
+            }
+        });
+    }
+
+    // Remoções em massa (questão ou aluno saindo da avaliação) não trazem as notas anteriores
+    public void invalidar(Collection<UUID> avaliacaoIds) {
+        if (avaliacaoIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = Set.copyOf(avaliacaoIds);
+        AposCommit.executar(() -> {
+            ids.forEach(id -> emCarga.computeIfPresent(id, (chave, alterada) -> true));
+            histogramas.keySet().removeAll(ids);
+        });
+    }
+
+    public void limpar() {
+        AposCommit.executar(histogramas::clear);
+    }
+
+    private record Entrada(HistogramaNotas histograma, long carregadoEm) {
+    }
+}
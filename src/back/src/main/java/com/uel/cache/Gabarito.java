@@ -0,0 +1,31 @@
+package com.uel.cache;
+
+import com.uel.entity.RespostaAluno;
+import com.uel.enums.TipoQuestao;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public record Gabarito(
+        TipoQuestao tipo,
+        UUID alternativaCorretaId,
+        Map<UUID, Boolean> itensVouf) {
+
+    public BigDecimal corrigir(RespostaAluno resposta) {
+        switch (tipo) {
+            case MULTIPLA_ESCOLHA:
+                return alternativaCorretaId != null && alternativaCorretaId.equals(resposta.getAlternativaEscolhidaId())
+                        ? BigDecimal.ONE
+                        : BigDecimal.ZERO;
+
+            case VOUF:
+                Boolean verdadeiro = resposta.getVoufItemId() != null ? itensVouf.get(resposta.getVoufItemId()) : null;
+                return verdadeiro != null && verdadeiro.equals(resposta.getVoufResposta())
+                        ? BigDecimal.ONE
+                        : BigDecimal.ZERO;
+
+            default:
+                return null;
+        }
+    }
+}
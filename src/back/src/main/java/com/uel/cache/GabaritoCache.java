@@ -0,0 +1,134 @@
+package com.uel.cache;
+
+import com.uel.entity.Alternativa;
+import com.uel.entity.Questao;
+import com.uel.entity.Vouf;
+import com.uel.enums.TipoQuestao;
+import com.uel.repository.AlternativaRepository;
+import com.uel.repository.VoufRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GabaritoCache {
+    private final AlternativaRepository alternativaRepository;
+    private final VoufRepository voufRepository;
+    private final Map<UUID, Gabarito> gabaritos;
+    // Incrementado a cada invalidação; cargas iniciadas antes dela não são guardadas
+    private final AtomicLong geracao = new AtomicLong();
+    private final Counter acertos;
+    private final Counter falhas;
+
+    public GabaritoCache(
+            AlternativaRepository alternativaRepository,
+            VoufRepository voufRepository,
+            MeterRegistry registry,
+            @Value("${notaki.gabarito.capacidade:10000}") int capacidade) {
+        this.alternativaRepository = alternativaRepository;
+        this.voufRepository = voufRepository;
+        this.gabaritos = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Gabarito> maisAntigo) {
+                return size() > capacidade;
+            }
+        });
+        this.acertos = Counter.builder("notaki.gabarito.cache")
+                .tag("resultado", "hit")
+                .register(registry);
+        this.falhas = Counter.builder("notaki.gabarito.cache")
+                .tag("resultado", "miss")
+                .register(registry);
+        registry.gaugeMapSize("notaki.gabarito.cache.tamanho", List.of(), gabaritos);
+    }
+
+    public Gabarito obter(Questao questao) throws SQLException {
+        return obterTodos(List.of(questao)).get(questao.getId());
+    }
+
+    public Map<UUID, Gabarito> obterTodos(Collection<Questao> questoes) throws SQLException {
+        Map<UUID, Gabarito> encontrados = new HashMap<>();
+        Map<UUID, Questao> ausentes = new HashMap<>();
+
+        for (Questao questao : questoes) {
+            if (questao.getTipo() == TipoQuestao.DISSERTATIVA) {
+                continue;
+            }
+            Gabarito gabarito = gabaritos.get(questao.getId());
+            if (gabarito != null && gabarito.tipo() == questao.getTipo()) {
+                acertos.increment();
+                encontrados.put(questao.getId(), gabarito);
+            } else {
+                falhas.increment();
+                ausentes.put(questao.getId(), questao);
+            }
+        }
+
+        if (!ausentes.isEmpty()) {
+            encontrados.putAll(carregar(ausentes));
+        }
+        return encontrados;
+    }
+
+    public void precarregar(Collection<Questao> questoes) throws SQLException {
+        Map<UUID, Questao> ausentes = new HashMap<>();
+        for (Questao questao : questoes) {
+            if (questao.getTipo() != TipoQuestao.DISSERTATIVA && !gabaritos.containsKey(questao.getId())) {
+                ausentes.put(questao.getId(), questao);
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            carregar(ausentes);
+        }
+    }
+
+    public void invalidar(UUID questaoId) {
+        geracao.incrementAndGet();
+        gabaritos.remove(questaoId);
+
+        // Remove de novo após o commit para descartar recargas feitas com dados antigos
+        AposCommit.executar(() -> {
+            geracao.incrementAndGet();
+            gabaritos.remove(questaoId);
+        });
+    }
+
+    private Map<UUID, Gabarito> carregar(Map<UUID, Questao> questoes) throws SQLException {
+        long geracaoInicial = geracao.get();
+
+        Map<UUID, UUID> corretas = new HashMap<>();
+        for (Alternativa alternativa : alternativaRepository.buscarPorQuestaoIds(questoes.keySet())) {
+            if (Boolean.TRUE.equals(alternativa.getVerdadeiro())) {
+                corretas.put(alternativa.getQuestaoId(), alternativa.getId());
+            }
+        }
+
+        Map<UUID, Map<UUID, Boolean>> itens = new HashMap<>();
+        for (Vouf item : voufRepository.buscarPorQuestaoIds(questoes.keySet())) {
+            itens.computeIfAbsent(item.getQuestaoId(), id -> new HashMap<>()).put(item.getId(), item.getVerdadeiro());
+        }
+
+        Map<UUID, Gabarito> carregados = new HashMap<>();
+        for (Questao questao : questoes.values()) {
+            carregados.put(questao.getId(), new Gabarito(
+                    questao.getTipo(),
+                    corretas.get(questao.getId()),
+                    Map.copyOf(itens.getOrDefault(questao.getId(), Map.of()))));
+        }
+
+        if (geracao.get() == geracaoInicial) {
+            gabaritos.putAll(carregados);
+        }
+        return carregados;
+    }
+}
@@ -0,0 +1,109 @@
+package com.uel.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Distribuição das notas (0 a 10) em faixas de 0,1 ponto. Diferente de um t-digest, aceita remoção
+// (nota que muda sai de uma faixa e entra em outra) e duas distribuições se combinam somando faixas.
+// Quantis e percentis saem com precisão de 0,1 ponto. Não é thread-safe: quem compartilha sincroniza.
+public class HistogramaNotas {
+    public static final int FAIXAS = 101;
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private final long[] alunos;
+    private long total;
+
+    public HistogramaNotas() {
+        this(new long[FAIXAS]);
+    }
+
+    HistogramaNotas(long[] alunos) {
+        this.alunos = alunos;
+        for (long quantidade : alunos) {
+            total += quantidade;
+        }
+    }
+
+    // Faixa da nota soma * 10 / corrigidas, em décimos de ponto; -1 enquanto não há correção
+    public static int faixa(BigDecimal somaNotas, int corrigidas) {
+        if (corrigidas <= 0) {
+            return -1;
+        }
+        int faixa = somaNotas.multiply(CEM)
+                .divide(BigDecimal.valueOf(corrigidas), 0, RoundingMode.HALF_UP)
+                .intValue();
+        return Math.max(0, Math.min(FAIXAS - 1, faixa));
+    }
+
+    void mover(int de, int para) {
+        if (de == para) {
+            return;
+        }
+        if (de >= 0) {
+            alunos[de]--;
+            total--;
+        }
+        if (para >= 0) {
+            alunos[para]++;
+            total++;
+        }
+    }
+
+    public void somar(HistogramaNotas outro) {
+        for (int i = 0; i < FAIXAS; i++) {
+            alunos[i] += outro.alunos[i];
+        }
+        total += outro.total;
+    }
+
+    public HistogramaNotas copia() {
+        return new HistogramaNotas(alunos.clone());
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long alunosNaFaixa(int faixa) {
+        return alunos[faixa];
+    }
+
+    // Menor nota com pelo menos q do total de alunos até ela (q entre 0 e 1)
+    public Double quantil(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(q * total));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += alunos[i];
+            if (acumulado >= alvo) {
+                return i / 10.0;
+            }
+        }
+        return (FAIXAS - 1) / 10.0;
+    }
+
+    // Percentual de alunos abaixo da faixa, contando metade dos empatados
+    public Double percentil(int faixa) {
+        if (total == 0 || faixa < 0) {
+            return null;
+        }
+        long abaixo = 0;
+        for (int i = 0; i < faixa; i++) {
+            abaixo += alunos[i];
+        }
+        return (abaixo + alunos[faixa] / 2.0) * 100.0 / total;
+    }
+
+    public Double media() {
+        if (total == 0) {
+            return null;
+        }
+        double soma = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            soma += alunos[i] * (i / 10.0);
+        }
+        return soma / total;
+    }
+}
@@ -0,0 +1,258 @@
+package com.uel.cache;
+
+import com.uel.dto.RelatorioProfessorDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Painéis por (professor, meses). Invalidação só marca o professor como desatualizado: o painel
+// anterior continua sendo servido enquanto um novo é montado em segundo plano. Nada é servido
+// depois do TTL, nem o ranking de professores, que não é invalidado por evento.
+@Component
+public class PainelProfessorCache {
+    private static final Logger log = LoggerFactory.getLogger(PainelProfessorCache.class);
+
+    private final Executor executor;
+    private final long ttlNanos;
+    private final Map<Chave, Entrada> paineis;
+    // Versão por professor; entradas montadas numa versão anterior estão desatualizadas
+    private final Map<UUID, Long> versoes = new ConcurrentHashMap<>();
+    // Índice reverso avaliação -> painéis em cache, para invalidar quando notas da avaliação mudam.
+    // Muda junto com paineis, sob a trava dela: o painel sai do índice quando o LRU o expulsa
+    private final Map<UUID, Set<Chave>> paineisPorAvaliacao = new HashMap<>();
+    private final Map<Chave, Collection<UUID>> avaliacoesPorPainel = new HashMap<>();
+    // Cargas em andamento por professor (sob a trava de paineis): ainda não estão no índice
+    private final Map<UUID, Integer> cargasPorProfessor = new HashMap<>();
+    // Uma carga por chave; quem chega durante ela espera o mesmo resultado
+    private final Map<Chave, CompletableFuture<RelatorioProfessorDTO>> cargasFrias = new ConcurrentHashMap<>();
+    private final Set<Chave> emRevalidacao = ConcurrentHashMap.newKeySet();
+    private final Counter acertos;
+    private final Counter desatualizados;
+    private final Counter falhas;
+    private final MeterRegistry registry;
+
+    public PainelProfessorCache(
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            MeterRegistry registry,
+            @Value("${notaki.painel.capacidade:1000}") int capacidade,
+            @Value("${notaki.painel.ttl-ms:300000}") long ttlMs) {
+        this.executor = executor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.paineis = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> maisAntiga) {
+                if (size() <= capacidade) {
+                    return false;
+                }
+                desindexar(maisAntiga.getKey());
+                return true;
+            }
+        });
+        this.acertos = Counter.builder("notaki.painel.cache")
+                .tag("resultado", "hit")
+                .register(registry);
+        this.desatualizados = Counter.builder("notaki.painel.cache")
+                .tag("resultado", "stale")
+                .register(registry);
+        this.falhas = Counter.builder("notaki.painel.cache")
+                .tag("resultado", "miss")
+                .register(registry);
+        registry.gaugeMapSize("notaki.painel.cache.tamanho", List.of(), paineis);
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("notaki.painel.cache.taxa-acerto", this, PainelProfessorCache::taxaAcerto)
+                .register(registry);
+    }
+
+    public RelatorioProfessorDTO obter(UUID professorId, Integer meses, Supplier<PainelCarregado> carga) {
+        Chave chave = new Chave(professorId, meses);
+        Entrada entrada = paineis.get(chave);
+
+        if (entrada != null && System.nanoTime() - entrada.carregadoEm() < ttlNanos) {
+            if (entrada.versao() == versao(professorId)) {
+                acertos.increment();
+            } else {
+                desatualizados.increment();
+                revalidar(chave, carga);
+            }
+            return entrada.painel();
+        }
+
+        falhas.increment();
+        CompletableFuture<RelatorioProfessorDTO> nova = new CompletableFuture<>();
+        CompletableFuture<RelatorioProfessorDTO> emAndamento = cargasFrias.putIfAbsent(chave, nova);
+        if (emAndamento != null) {
+            try {
+                return emAndamento.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException causa ? causa : e;
+            }
+        }
+        try {
+            RelatorioProfessorDTO painel = carregar(chave, carga);
+            nova.complete(painel);
+            return painel;
+        } catch (RuntimeException e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            cargasFrias.remove(chave);
+        }
+    }
+
+    public void invalidarProfessor(UUID professorId) {
+        AposCommit.executar(() -> versoes.merge(professorId, 1L, Long::sum));
+    }
+
+    // Chamado a cada nota gravada; só consulta o índice em memória
+    public void invalidarAvaliacoes(Collection<UUID> avaliacaoIds) {
+        if (avaliacaoIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = Set.copyOf(avaliacaoIds);
+        AposCommit.executar(() -> {
+            Set<UUID> professores = new HashSet<>();
+            synchronized (paineis) {
+                for (UUID avaliacaoId : ids) {
+                    for (Chave chave : paineisPorAvaliacao.getOrDefault(avaliacaoId, Set.of())) {
+                        professores.add(chave.professorId());
+                    }
+                }
+                // Uma carga em andamento pode ter lido antes da mudança: sai desatualizada e é revalidada
+                professores.addAll(cargasPorProfessor.keySet());
+            }
+            for (UUID professorId : professores) {
+                versoes.merge(professorId, 1L, Long::sum);
+            }
+        });
+    }
+
+    public void removerAvaliacao(UUID avaliacaoId) {
+        invalidarAvaliacoes(List.of(avaliacaoId));
+        AposCommit.executar(() -> {
+            synchronized (paineis) {
+                paineisPorAvaliacao.remove(avaliacaoId);
+            }
+        });
+    }
+
+    public void limpar() {
+        AposCommit.executar(() -> {
+            synchronized (paineis) {
+                paineis.clear();
+                paineisPorAvaliacao.clear();
+                avaliacoesPorPainel.clear();
+            }
+        });
+    }
+
+    private RelatorioProfessorDTO carregar(Chave chave, Supplier<PainelCarregado> carga) {
+        synchronized (paineis) {
+            cargasPorProfessor.merge(chave.professorId(), 1, Integer::sum);
+        }
+        try {
+            long versaoInicial = versao(chave.professorId());
+            long inicio = System.nanoTime();
+            PainelCarregado carregado = carga.get();
+
+            // Painel parcial não fica em cache: a próxima requisição tenta de novo
+            if (!carregado.painel().parcial()) {
+                synchronized (paineis) {
+                    desindexar(chave);
+                    avaliacoesPorPainel.put(chave, List.copyOf(carregado.avaliacaoIds()));
+                    for (UUID avaliacaoId : carregado.avaliacaoIds()) {
+                        paineisPorAvaliacao.computeIfAbsent(avaliacaoId, id -> new HashSet<>()).add(chave);
+                    }
+                    paineis.put(chave, new Entrada(carregado.painel(), versaoInicial, inicio));
+                }
+            }
+            return carregado.painel();
+        } finally {
+            synchronized (paineis) {
+                cargasPorProfessor.computeIfPresent(chave.professorId(),
+                        (id, cargas) -> cargas == 1 ? null : cargas - 1);
+            }
+        }
+    }
+
+    // Chamado com a trava de paineis
+    private void desindexar(Chave chave) {
+        Collection<UUID> avaliacoes = avaliacoesPorPainel.remove(chave);
+        if (avaliacoes == null) {
+            return;
+        }
+        for (UUID avaliacaoId : avaliacoes) {
+            Set<Chave> chaves = paineisPorAvaliacao.get(avaliacaoId);
+            if (chaves != null) {
+                chaves.remove(chave);
+                if (chaves.isEmpty()) {
+                    paineisPorAvaliacao.remove(avaliacaoId);
+                }
+            }
+        }
+    }
+
+    private void revalidar(Chave chave, Supplier<PainelCarregado> carga) {
+        if (!emRevalidacao.add(chave)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    carregar(chave, carga);
+                } catch (RuntimeException e) {
+                    log.warn("Erro ao revalidar painel do professor {}", chave.professorId(), e);
+                } finally {
+                    emRevalidacao.remove(chave);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emRevalidacao.remove(chave);
+        }
+    }
+
+    private long versao(UUID professorId) {
+        return versoes.getOrDefault(professorId, 0L);
+    }
+
+    private double taxaAcerto() {
+        double servidos = acertos.count() + desatualizados.count();
+        double total = servidos + falhas.count();
+        return total == 0 ? 0 : servidos / total;
+    }
+
+    // avaliacaoIds: todas as avaliações com questões do professor, para o índice reverso
+    public record PainelCarregado(RelatorioProfessorDTO painel, Collection<UUID> avaliacaoIds) {
+    }
+
+    private record Chave(UUID professorId, Integer meses) {
+    }
+
+    private record Entrada(RelatorioProfessorDTO painel, long versao, long carregadoEm) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.uel.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uel.dto.ProvaDTO;
+import com.uel.dto.ProvaQuestaoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProvaCache {
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, ProvaSerializada> provas;
+    // Versão de conteúdo por avaliação; entra no ETag e muda a cada invalidação
+    private final Map<UUID, Long> versoes = new ConcurrentHashMap<>();
+    // Índice reverso questão -> avaliações em cache, para invalidar quando a questão muda.
+    // Muda junto com provas, sob a trava dela: a avaliação sai ao ser invalidada ou expulsa pelo LRU
+    private final Map<UUID, Set<UUID>> avaliacoesPorQuestao = new HashMap<>();
+    private final Map<UUID, List<UUID>> questoesPorAvaliacao = new HashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+    private final Counter acertos;
+    private final Counter falhas;
+
+    public ProvaCache(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${notaki.prova.capacidade:500}") int capacidade) {
+        this.objectMapper = objectMapper;
+        this.provas = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ProvaSerializada> maisAntiga) {
+                if (size() <= capacidade) {
+                    return false;
+                }
+                desindexar(maisAntiga.getKey());
+                return true;
+            }
+        });
+        this.acertos = Counter.builder("notaki.prova.cache")
+                .tag("resultado", "hit")
+                .register(registry);
+        this.falhas = Counter.builder("notaki.prova.cache")
+                .tag("resultado", "miss")
+                .register(registry);
+        registry.gaugeMapSize("notaki.prova.cache.tamanho", List.of(), provas);
+    }
+
+    public ProvaSerializada obter(UUID avaliacaoId) {
+        ProvaSerializada prova = provas.get(avaliacaoId);
+        if (prova != null) {
+            acertos.increment();
+        } else {
+            falhas.increment();
+        }
+        return prova;
+    }
+
+    // Lida antes de montar a prova; guardar() descarta o resultado se houve invalidação no meio
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    public ProvaSerializada guardar(ProvaDTO prova, long geracaoInicial) {
+        ProvaSerializada serializada = serializar(prova);
+        List<UUID> questoes = prova.questoes().stream().map(ProvaQuestaoDTO::questaoId).toList();
+
+        // Invalidações incrementam a geração antes de pegar a trava: se ela mudou, a prova pode ser antiga
+        synchronized (provas) {
+            if (geracao.get() == geracaoInicial) {
+                desindexar(prova.avaliacaoId());
+                questoesPorAvaliacao.put(prova.avaliacaoId(), questoes);
+                for (UUID questaoId : questoes) {
+                    avaliacoesPorQuestao.computeIfAbsent(questaoId, id -> new HashSet<>()).add(prova.avaliacaoId());
+                }
+                provas.put(prova.avaliacaoId(), serializada);
+            }
+        }
+        return serializada;
+    }
+
+    // Remove de novo após o commit para descartar montagens feitas com dados antigos
+    public void invalidar(UUID avaliacaoId) {
+        remover(avaliacaoId);
+        AposCommit.executar(() -> remover(avaliacaoId));
+    }
+
+    public void invalidarQuestao(UUID questaoId) {
+        removerQuestao(questaoId);
+        AposCommit.executar(() -> removerQuestao(questaoId));
+    }
+
+    private void remover(UUID avaliacaoId) {
+        geracao.incrementAndGet();
+        versoes.merge(avaliacaoId, 1L, Long::sum);
+        synchronized (provas) {
+            provas.remove(avaliacaoId);
+            desindexar(avaliacaoId);
+        }
+    }
+
+    private void removerQuestao(UUID questaoId) {
+        geracao.incrementAndGet();
+        List<UUID> avaliacoes;
+        synchronized (provas) {
+            avaliacoes = List.copyOf(avaliacoesPorQuestao.getOrDefault(questaoId, Set.of()));
+        }
+        avaliacoes.forEach(this::remover);
+    }
+
+    // Chamado com a trava de provas
+    private void desindexar(UUID avaliacaoId) {
+        List<UUID> questoes = questoesPorAvaliacao.remove(avaliacaoId);
+        if (questoes == null) {
+            return;
+        }
+        for (UUID questaoId : questoes) {
+            Set<UUID> avaliacoes = avaliacoesPorQuestao.get(questaoId);
+            if (avaliacoes != null) {
+                avaliacoes.remove(avaliacaoId);
+                if (avaliacoes.isEmpty()) {
+                    avaliacoesPorQuestao.remove(questaoId);
+                }
+            }
+        }
+    }
+
+    private ProvaSerializada serializar(ProvaDTO prova) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(prova);
+
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+                gzip.write(json);
+            }
+            byte[] bytes = saida.toByteArray();
+
+            ByteBuffer comprimido = ByteBuffer.allocateDirect(bytes.length);
+            comprimido.put(bytes).flip();
+
+            // ETag forte: versão de conteúdo + hash do JSON
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + versoes.getOrDefault(prova.avaliacaoId(), 0L) + "-"
+                    + HexFormat.of().formatHex(hash, 0, 12) + "\"";
+
+            return new ProvaSerializada(comprimido.asReadOnlyBuffer(), etag);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao serializar prova", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.uel.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.zip.GZIPInputStream;
+
+// JSON da prova já comprimido com gzip, fora do heap; imutável depois de criado
+public record ProvaSerializada(
+        ByteBuffer comprimido,
+        String etag) {
+
+    public int tamanhoComprimido() {
+        return comprimido.capacity();
+    }
+
+    public void escreverComprimido(OutputStream saida) throws IOException {
+        // duplicate(): cada requisição lê com a própria posição
+        Channels.newChannel(saida).write(comprimido.duplicate());
+    }
+
+    public void escreverDescomprimido(OutputStream saida) throws IOException {
+        ByteBuffer leitura = comprimido.duplicate();
+        byte[] bytes = new byte[leitura.remaining()];
+        leitura.get(bytes);
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            entrada.transferTo(saida);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.uel.cache;
+
+import com.uel.dto.RankingProfessorDTO;
+import com.uel.repository.RelatorioProfessorRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Ranking global de professores: igual para todos os painéis com a mesma janela, então é calculado
+// periodicamente para as janelas padrão e lido de um snapshot imutável
+@Component
+public class RankingProfessoresCache {
+    private static final Logger log = LoggerFactory.getLogger(RankingProfessoresCache.class);
+    // 0 = desde sempre (o repositório trata meses nulo ou <= 0 como sem filtro)
+    private static final List<Integer> JANELAS = List.of(0, 1, 3, 6, 12);
+
+    private final RelatorioProfessorRepository repository;
+    private final MeterRegistry registry;
+    private final int tamanho;
+    private volatile Snapshot snapshot;
+
+    public RankingProfessoresCache(
+            RelatorioProfessorRepository repository,
+            MeterRegistry registry,
+            @Value("${notaki.ranking.tamanho:20}") int tamanho) {
+        this.repository = repository;
+        this.registry = registry;
+        this.tamanho = tamanho;
+    }
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("notaki.ranking.idade", this, RankingProfessoresCache::idadeSegundos)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // Vazio quando a janela não é padrão, o limite passa do tamanho guardado ou ainda não houve carga
+    public Optional<Ranking> obter(Integer meses, int limite) {
+        Snapshot atual = snapshot;
+        List<RankingProfessorDTO> professores = atual != null ? atual.porJanela().get(janela(meses)) : null;
+        if (professores == null || limite > tamanho) {
+            return Optional.empty();
+        }
+        return Optional.of(new Ranking(
+                professores.subList(0, Math.min(limite, professores.size())), atual.atualizadoEm()));
+    }
+
+    @Scheduled(
+            initialDelayString = "${notaki.ranking.atraso-inicial-ms:0}",
+            fixedDelayString = "${notaki.ranking.intervalo-ms:60000}")
+    public void atualizar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        Map<Integer, List<RankingProfessorDTO>> porJanela = new HashMap<>();
+        try {
+            for (Integer meses : JANELAS) {
+                porJanela.put(meses, List.copyOf(repository.rankingProfessores(meses, tamanho)));
+            }
+        } catch (SQLException e) {
+            // Mantém o snapshot anterior; os painéis seguem com ele até a próxima rodada
+            log.warn("Erro ao atualizar ranking de professores: {}", e.getMessage());
+            return;
+        }
+        snapshot = new Snapshot(Map.copyOf(porJanela), inicio);
+    }
+
+    private int janela(Integer meses) {
+        return meses != null && meses > 0 ? meses : 0;
+    }
+
+    private double idadeSegundos() {
+        Snapshot atual = snapshot;
+        return atual == null ? Double.NaN : Duration.between(atual.atualizadoEm(), LocalDateTime.now()).toSeconds();
+    }
+
+    public record Ranking(List<RankingProfessorDTO> professores, LocalDateTime atualizadoEm) {
+    }
+
+    private record Snapshot(Map<Integer, List<RankingProfessorDTO>> porJanela, LocalDateTime atualizadoEm) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.uel.cache;
+
+import com.uel.dto.TemaSugestaoDTO;
+import com.uel.repository.QuestaoRepository;
+import com.uel.repository.QuestaoRepository.ContagemTemas;
+import com.uel.repository.QuestaoRepository.TemaProfessor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Temas distintos com a quantidade de questões, por professor e no total, para o autocompletar.
+// Cada índice é um TreeMap com chave "tema normalizado \0 tema": o prefixo digitado vira um subMap,
+// sem acento nem caixa. Mantido a cada questão criada/alterada/removida e recarregado
+// periodicamente do banco para corrigir o que muda por fora da API (cargas, professor removido).
+@Component
+public class TemaIndex {
+    private static final Logger log = LoggerFactory.getLogger(TemaIndex.class);
+    private static final char SEPARADOR = '\u0000';
+
+    private final QuestaoRepository repository;
+    private final MeterRegistry registry;
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<UUID, NavigableMap<String, Integer>> porProfessor = new HashMap<>();
+    private final NavigableMap<String, Integer> todos = new TreeMap<>();
+    // Transações já contadas pela última recarga: a mudança delas não é aplicada de novo
+    private Instantaneo instantaneo;
+    // Não nulo durante uma recarga: mudanças confirmadas nesse meio são reaplicadas sobre ela,
+    // exceto as que a leitura da recarga já viu
+    private List<Mudanca> duranteRecarga;
+
+    public TemaIndex(QuestaoRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("notaki.temas.tamanho", this, TemaIndex::tamanho).register(registry);
+    }
+
+    public List<TemaSugestaoDTO> sugerir(String prefixo, UUID professorId, int limite) {
+        String inicio = normalizar(prefixo == null ? "" : prefixo);
+        List<TemaSugestaoDTO> sugestoes = new ArrayList<>();
+        trava.readLock().lock();
+        try {
+            NavigableMap<String, Integer> indice = professorId == null ? todos : porProfessor.get(professorId);
+            if (indice == null) {
+                return List.of();
+            }
+            indice.subMap(inicio, true, inicio + Character.MAX_VALUE, false).forEach((chave, questoes) ->
+                    sugestoes.add(new TemaSugestaoDTO(chave.substring(chave.indexOf(SEPARADOR) + 1), questoes)));
+        } finally {
+            trava.readLock().unlock();
+        }
+        // Poucos temas por prefixo: ordena só os encontrados, mais usados primeiro
+        sugestoes.sort(Comparator.comparingInt(TemaSugestaoDTO::questoes).reversed()
+                .thenComparing(TemaSugestaoDTO::tema));
+        return sugestoes.size() > limite ? List.copyOf(sugestoes.subList(0, limite)) : sugestoes;
+    }
+
+    // temaAnterior nulo = questão nova; temaNovo nulo = questão removida. Chamado na transação
+    // que alterou a questão, depois da escrita
+    public void registrar(UUID professorId, String temaAnterior, String temaNovo) throws SQLException {
+        if (temaAnterior != null && temaAnterior.equals(temaNovo)) {
+            return;
+        }
+        Mudanca mudanca = new Mudanca(repository.transacaoAtual(), professorId, temaAnterior, temaNovo);
+        AposCommit.executar(() -> {
+            trava.writeLock().lock();
+            try {
+                if (instantaneo == null || !instantaneo.contem(mudanca.transacao())) {
+                    aplicar(mudanca);
+                }
+                if (duranteRecarga != null) {
+                    duranteRecarga.add(mudanca);
+                }
+            } finally {
+                trava.writeLock().unlock();
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${notaki.temas.atraso-inicial-ms:0}",
+            fixedDelayString = "${notaki.temas.intervalo-ms:3600000}")
+    public void recarregar() {
+        trava.writeLock().lock();
+        try {
+            duranteRecarga = new ArrayList<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+
+        ContagemTemas contagem;
+        try {
+            contagem = repository.contarTemasPorProfessor();
+        } catch (SQLException e) {
+            // Segue com o índice atual, mantido pelas mudanças, até a próxima rodada
+            log.warn("Erro ao recarregar índice de temas: {}", e.getMessage());
+            trava.writeLock().lock();
+            try {
+                duranteRecarga = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+            return;
+        }
+
+        Instantaneo lido = Instantaneo.de(contagem.instantaneo());
+        trava.writeLock().lock();
+        try {
+            porProfessor.clear();
+            todos.clear();
+            for (TemaProfessor tema : contagem.temas()) {
+                somar(tema.professorId(), tema.tema(), tema.questoes());
+            }
+            // Confirmada antes da leitura, mas com o afterCommit atrasado: já está na contagem
+            for (Mudanca mudanca : duranteRecarga) {
+                if (!lido.contem(mudanca.transacao())) {
+                    aplicar(mudanca);
+                }
+            }
+            instantaneo = lido;
+            duranteRecarga = null;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void aplicar(Mudanca mudanca) {
+        if (mudanca.temaAnterior() != null) {
+            somar(mudanca.professorId(), mudanca.temaAnterior(), -1);
+        }
+        if (mudanca.temaNovo() != null) {
+            somar(mudanca.professorId(), mudanca.temaNovo(), 1);
+        }
+    }
+
+    private void somar(UUID professorId, String tema, int questoes) {
+        String chave = normalizar(tema) + SEPARADOR + tema;
+        somar(todos, chave, questoes);
+        if (professorId != null) {
+            NavigableMap<String, Integer> indice = porProfessor.computeIfAbsent(professorId, id -> new TreeMap<>());
+            somar(indice, chave, questoes);
+            if (indice.isEmpty()) {
+                porProfessor.remove(professorId);
+            }
+        }
+    }
+
+    private static void somar(NavigableMap<String, Integer> indice, String chave, int questoes) {
+        // Devolver null remove o tema que ficou sem questões
+        indice.compute(chave, (tema, atual) -> {
+            int total = (atual == null ? 0 : atual) + questoes;
+            return total > 0 ? total : null;
+        });
+    }
+
+    private static String normalizar(String texto) {
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private double tamanho() {
+        trava.readLock().lock();
+        try {
+            return todos.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private record Mudanca(long transacao, UUID professorId, String temaAnterior, String temaNovo) {
+    }
+
+    // Texto de pg_current_snapshot(): "xmin:xmax:xid,xid". Uma transação confirmada é visível se
+    // terminou antes de xmin, ou se começou antes de xmax e não estava em andamento na leitura
+    record Instantaneo(long xmin, long xmax, Set<Long> emAndamento) {
+        static Instantaneo de(String texto) {
+            String[] partes = texto.split(":", -1);
+            Set<Long> emAndamento = partes[2].isEmpty()
+                    ? Set.of()
+                    : Set.copyOf(Arrays.stream(partes[2].split(",")).map(Long::valueOf).toList());
+            return new Instantaneo(Long.parseLong(partes[0]), Long.parseLong(partes[1]), emAndamento);
+        }
+
+        boolean contem(long transacao) {
+            return transacao < xmin || (transacao < xmax && !emAndamento.contains(transacao));
+        }
+    }
+}
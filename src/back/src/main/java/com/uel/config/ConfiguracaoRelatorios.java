@@ -0,0 +1,28 @@
+package com.uel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Agendamento: snapshot do ranking de professores (RankingProfessoresCache)
+@Configuration
+@EnableScheduling
+public class ConfiguracaoRelatorios {
+
+  // Poucas threads fixas: no máximo `concorrencia` conexões do pool ficam com relatórios,
+  // o resto continua disponível para respostas e correções. Fila cheia recusa a seção.
+  @Bean
+  public ThreadPoolTaskExecutor relatorioExecutor(
+      @Value("${notaki.relatorios.concorrencia:4}") int concorrencia,
+      @Value("${notaki.relatorios.fila:100}") int fila) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(concorrencia);
+    executor.setMaxPoolSize(concorrencia);
+    executor.setQueueCapacity(fila);
+    executor.setThreadNamePrefix("relatorio-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    return executor;
+  }
+}
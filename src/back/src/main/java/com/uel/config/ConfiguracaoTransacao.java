@@ -0,0 +1,26 @@
+package com.uel.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+@Configuration
+public class ConfiguracaoTransacao {
+
+  // Os repositórios chamam dataSource.getConnection() diretamente; com o proxy, dentro de um
+  // @Transactional todos recebem a conexão da transação (close() só a devolve ao final)
+  @Bean
+  public static BeanPostProcessor dataSourceTransacional() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TransactionAwareDataSourceProxy)) {
+          return new TransactionAwareDataSourceProxy(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+}
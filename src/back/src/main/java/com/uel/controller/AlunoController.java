@@ -1,11 +1,12 @@
 package com.uel.controller;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.service.AlunoService;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -41,11 +43,17 @@ public class AlunoController {
   }
 
   @GetMapping
-  public List<Aluno> listar() {
+  public Pagina<Aluno> listar(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limite) {
     try {
-      return alunoService.listarTodos();
+      return alunoService.listar(de, ate, cursor, limite);
     } catch (SQLException e) {
       throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar alunos", e);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     }
   }
 
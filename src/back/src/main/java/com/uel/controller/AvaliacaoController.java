@@ -1,5 +1,7 @@
 package com.uel.controller;
 
+import com.uel.dto.AvaliacaoResumoDTO;
+import com.uel.dto.Pagina;
 import com.uel.entity.Avaliacao;
 import com.uel.entity.AvaliacaoParticipacao;
 import com.uel.service.AvaliacaoService;
@@ -10,6 +12,7 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -49,16 +53,23 @@ public class AvaliacaoController {
   }
 
   @GetMapping
-  public List<Avaliacao> listar() {
+  public Pagina<AvaliacaoResumoDTO> listar(
+      @RequestParam(required = false) UUID professorId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limite) {
     try {
-      return avaliacaoService.listarTodas();
+      return avaliacaoService.listar(professorId, de, ate, cursor, limite);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     } catch (SQLException e) {
       throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar avaliações", e);
     }
   }
 
   @GetMapping("/aluno/{alunoId}")
-  public List<Avaliacao> listarPorAluno(@PathVariable UUID alunoId) {
+  public List<AvaliacaoResumoDTO> listarPorAluno(@PathVariable UUID alunoId) {
     try {
       return avaliacaoService.listarPorAluno(alunoId);
     } catch (IllegalArgumentException e) {
@@ -68,14 +79,17 @@ public class AvaliacaoController {
     }
   }
 
+  // ?campos=participacoes traz só aluno e nota de cada participação; ?campos=alunos inclui os alunos
   @GetMapping("/{id}")
-  public Avaliacao buscar(@PathVariable UUID id) {
+  public Avaliacao buscar(@PathVariable UUID id, @RequestParam(required = false) List<String> campos) {
     try {
-      Avaliacao avaliacao = avaliacaoService.buscarPorId(id);
+      Avaliacao avaliacao = avaliacaoService.buscarPorId(id, campos);
       if (avaliacao == null) {
         throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Avaliação não encontrada");
       }
       return avaliacao;
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     } catch (SQLException e) {
       throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar avaliação", e);
     }
@@ -0,0 +1,108 @@
+package com.uel.controller;
+
+import com.uel.exportacao.ExportacaoOcupadaException;
+import com.uel.exportacao.FormatoExportacao;
+import com.uel.service.ExportacaoService;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Downloads em CSV (padrão) ou XLSX, escritos na resposta à medida que as linhas saem do banco
+@RestController
+@RequestMapping("/exportacoes")
+public class ExportacaoController {
+    private final ExportacaoService exportacaoService;
+
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    @GetMapping("/respostas")
+    public ResponseEntity<StreamingResponseBody> exportarRespostas(
+            @RequestParam(required = false) UUID avaliacaoId,
+            @RequestParam(required = false) UUID professorId,
+            @RequestParam(required = false) Integer meses,
+            @RequestParam(required = false) String formato) {
+        FormatoExportacao tipo = formato(formato);
+        return download("respostas", tipo,
+                () -> exportacaoService.exportarRespostas(avaliacaoId, professorId, meses, tipo));
+    }
+
+    @GetMapping("/notas")
+    public ResponseEntity<StreamingResponseBody> exportarNotas(
+            @RequestParam(required = false) UUID avaliacaoId,
+            @RequestParam(required = false) UUID professorId,
+            @RequestParam(required = false) Integer meses,
+            @RequestParam(required = false) String formato) {
+        FormatoExportacao tipo = formato(formato);
+        return download("notas", tipo,
+                () -> exportacaoService.exportarNotas(avaliacaoId, professorId, meses, tipo));
+    }
+
+    @GetMapping("/professores/{professorId}/avaliacoes")
+    public ResponseEntity<StreamingResponseBody> exportarDesempenhoAvaliacoes(
+            @PathVariable UUID professorId,
+            @RequestParam(required = false) Integer meses,
+            @RequestParam(required = false) String formato) {
+        FormatoExportacao tipo = formato(formato);
+        return download("desempenho-avaliacoes", tipo,
+                () -> exportacaoService.exportarDesempenhoAvaliacoes(professorId, meses, tipo));
+    }
+
+    @GetMapping("/professores/{professorId}/alunos")
+    public ResponseEntity<StreamingResponseBody> exportarDesempenhoAlunos(
+            @PathVariable UUID professorId,
+            @RequestParam(required = false) Integer meses,
+            @RequestParam(required = false) String formato) {
+        FormatoExportacao tipo = formato(formato);
+        return download("desempenho-alunos", tipo,
+                () -> exportacaoService.exportarDesempenhoAlunos(professorId, meses, tipo));
+    }
+
+    @GetMapping("/professores/{professorId}/questoes")
+    public ResponseEntity<StreamingResponseBody> exportarDesempenhoQuestoes(
+            @PathVariable UUID professorId,
+            @RequestParam(required = false) Integer meses,
+            @RequestParam(required = false) String formato) {
+        FormatoExportacao tipo = formato(formato);
+        return download("desempenho-questoes", tipo,
+                () -> exportacaoService.exportarDesempenhoQuestoes(professorId, meses, tipo));
+    }
+
+    private FormatoExportacao formato(String formato) {
+        try {
+            return FormatoExportacao.de(formato);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(
+            String nome, FormatoExportacao formato, Supplier<StreamingResponseBody> corpo) {
+        StreamingResponseBody conteudo;
+        try {
+            conteudo = corpo.get();
+        } catch (ExportacaoOcupadaException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoConteudo()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nome + "." + formato.getExtensao())
+                        .build()
+                        .toString())
+                .body(conteudo);
+    }
+}
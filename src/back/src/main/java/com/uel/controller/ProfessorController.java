@@ -1,5 +1,6 @@
 package com.uel.controller;
 
+import com.uel.dto.Pagina;
 import com.uel.dto.ProvaTutorDTO;
 import com.uel.entity.Professor;
 import com.uel.service.ProfessorService;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -41,11 +43,16 @@ public class ProfessorController {
     }
 
     @GetMapping
-  public List<Professor> listar() {
+  public Pagina<Professor> listar(
+      @RequestParam(required = false) String area,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limite) {
     try {
-      return professorService.listarTodos();
+      return professorService.listar(area, cursor, limite);
     } catch (SQLException e) {
       throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar professores", e);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     }
   }
 
@@ -0,0 +1,115 @@
+package com.uel.controller;
+
+import com.uel.cache.ProvaSerializada;
+import com.uel.service.ProvaService;
+import java.sql.SQLException;
+import java.util.UUID;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/avaliacoes/{avaliacaoId}/prova")
+public class ProvaController {
+    private final ProvaService provaService;
+
+    public ProvaController(ProvaService provaService) {
+        this.provaService = provaService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> buscarProva(
+            @PathVariable UUID avaliacaoId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProvaSerializada prova;
+        try {
+            prova = provaService.buscarProvaSerializada(avaliacaoId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao carregar prova", e);
+        }
+
+        if (etagCorresponde(ifNoneMatch, prova.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(prova.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(prova.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        // Cliente que aceita gzip recebe os bytes guardados sem recompressão
+        if (aceitaGzip(acceptEncoding)) {
+            return resposta
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(prova.tamanhoComprimido())
+                    .body(prova::escreverComprimido);
+        }
+        return resposta
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(prova::escreverDescomprimido);
+    }
+
+    // gzip;q=0 recusa; sem gzip na lista, vale o q do curinga
+    private boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double curinga = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=") || parametro.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = q;
+            } else if (codificacao.equals("*")) {
+                curinga = q;
+            }
+        }
+        Double aceito = gzip != null ? gzip : curinga;
+        return aceito != null && aceito > 0;
+    }
+
+    private boolean etagCorresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
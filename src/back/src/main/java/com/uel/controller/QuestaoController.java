@@ -1,5 +1,8 @@
 package com.uel.controller;
 
+import com.uel.dto.Pagina;
+import com.uel.dto.QuestaoBuscaDTO;
+import com.uel.dto.TemaSugestaoDTO;
 import com.uel.entity.Questao;
 import com.uel.enums.Dificuldade;
 import com.uel.enums.TipoQuestao;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -50,11 +54,48 @@ public class QuestaoController {
     }
 
     @GetMapping
-    public List<Questao> listar() {
+    public Pagina<Questao> listar(
+            @RequestParam(required = false) UUID professorId,
+            @RequestParam(required = false) TipoQuestao tipo,
+            @RequestParam(required = false) Dificuldade dificuldade,
+            @RequestParam(required = false) String tema,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
         try {
-            return questaoService.listarTodas();
+            return questaoService.listar(professorId, tipo, dificuldade, tema, cursor, limite);
         } catch (SQLException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar questões", e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/busca")
+    public Pagina<QuestaoBuscaDTO> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID professorId,
+            @RequestParam(required = false) TipoQuestao tipo,
+            @RequestParam(required = false) Dificuldade dificuldade,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return questaoService.buscar(q, professorId, tipo, dificuldade, cursor, limite);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar questões", e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/temas")
+    public List<TemaSugestaoDTO> sugerirTemas(
+            @RequestParam(required = false) String prefixo,
+            @RequestParam(required = false) UUID professorId,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return questaoService.sugerirTemas(prefixo, professorId, limite);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.uel.controller;
 
+import com.uel.dto.DesempenhoMensalDTO;
 import com.uel.dto.DistribuicaoDificuldadeDTO;
 import com.uel.service.RelatorioAlunoService;
 import java.sql.SQLException;
@@ -36,4 +37,18 @@ public class RelatorioAlunoController {
                     e);
         }
     }
+
+    @GetMapping("/{alunoId}/mensal")
+    public List<DesempenhoMensalDTO> desempenhoMensal(
+            @PathVariable UUID alunoId,
+            @RequestParam(required = false) Integer meses) {
+        try {
+            return relatorioAlunoService.listarDesempenhoMensal(alunoId, meses);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Erro ao consultar desempenho mensal",
+                    e);
+        }
+    }
 }
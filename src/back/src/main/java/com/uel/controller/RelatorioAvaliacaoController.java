@@ -0,0 +1,71 @@
+package com.uel.controller;
+
+import com.uel.dto.DistribuicaoNotasDTO;
+import com.uel.dto.PercentilAlunoDTO;
+import com.uel.service.RelatorioAvaliacaoService;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/relatorios/avaliacoes")
+public class RelatorioAvaliacaoController {
+    private final RelatorioAvaliacaoService relatorioAvaliacaoService;
+
+    public RelatorioAvaliacaoController(RelatorioAvaliacaoService relatorioAvaliacaoService) {
+        this.relatorioAvaliacaoService = relatorioAvaliacaoService;
+    }
+
+    @GetMapping("/{avaliacaoId}/distribuicao")
+    public DistribuicaoNotasDTO distribuicao(@PathVariable UUID avaliacaoId) {
+        try {
+            return relatorioAvaliacaoService.distribuicao(avaliacaoId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Erro ao consultar distribuição de notas",
+                    e);
+        }
+    }
+
+    @GetMapping("/{avaliacaoId}/distribuicao/alunos/{alunoId}")
+    public PercentilAlunoDTO percentilAluno(@PathVariable UUID avaliacaoId, @PathVariable UUID alunoId) {
+        try {
+            return relatorioAvaliacaoService.percentilAluno(avaliacaoId, alunoId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Erro ao consultar percentil do aluno",
+                    e);
+        }
+    }
+
+    // ?avaliacaoIds=a,b,c
+    @GetMapping("/distribuicao")
+    public DistribuicaoNotasDTO distribuicaoCombinada(@RequestParam(required = false) List<UUID> avaliacaoIds) {
+        if (avaliacaoIds == null || avaliacaoIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos uma avaliação");
+        }
+        try {
+            return relatorioAvaliacaoService.distribuicaoCombinada(avaliacaoIds);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Erro ao consultar distribuição de notas",
+                    e);
+        }
+    }
+}
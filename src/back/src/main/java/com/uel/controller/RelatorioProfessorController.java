@@ -1,8 +1,10 @@
 package com.uel.controller;
 
+import com.uel.dto.EstatisticaQuestaoDTO;
 import com.uel.dto.RelatorioProfessorDTO;
 import com.uel.service.RelatorioProfessorService;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,12 +27,18 @@ public class RelatorioProfessorController {
     public RelatorioProfessorDTO montarPainel(
             @PathVariable UUID professorId,
             @RequestParam(required = false) Integer meses) {
+        // Falhas nas seções não viram 500: o painel volta com parcial=true
+        return relatorioProfessorService.montarPainel(professorId, meses);
+    }
+
+    @GetMapping("/{professorId}/analise-itens")
+    public List<EstatisticaQuestaoDTO> listarAnaliseItens(@PathVariable UUID professorId) {
         try {
-            return relatorioProfessorService.montarPainel(professorId, meses);
+            return relatorioProfessorService.listarAnaliseItens(professorId);
         } catch (SQLException e) {
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Erro ao gerar relatórios do professor",
+                    "Erro ao consultar análise de itens",
                     e);
         }
     }
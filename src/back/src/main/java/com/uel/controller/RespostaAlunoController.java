@@ -1,7 +1,11 @@
 package com.uel.controller;
 
 import com.uel.entity.RespostaAluno;
+import com.uel.ingestao.FilaIndisponivelException;
 import com.uel.service.RespostaAlunoService;
+import com.uel.service.RespostaAlunoService.EnvioLote;
+import com.uel.service.RespostaAlunoService.EnvioResposta;
+import com.uel.service.RespostaDivergenteException;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
@@ -31,7 +35,19 @@ public class RespostaAlunoController {
         validarResposta(request);
 
         try {
-            RespostaAluno resposta = respostaAlunoService.responderQuestao(
+            if (respostaAlunoService.ingestaoAssincrona()) {
+                RespostaAluno resposta = respostaAlunoService.enfileirarQuestao(
+                        request.avaliacaoId(),
+                        request.alunoId(),
+                        request.questaoId(),
+                        request.alternativaEscolhidaId(),
+                        request.voufItemId(),
+                        request.voufResposta(),
+                        request.respostaTexto());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(resposta);
+            }
+
+            EnvioResposta envio = respostaAlunoService.responderQuestao(
                     request.avaliacaoId(),
                     request.alunoId(),
                     request.questaoId(),
@@ -39,14 +55,49 @@ public class RespostaAlunoController {
                     request.voufItemId(),
                     request.voufResposta(),
                     request.respostaTexto());
-            return ResponseEntity.status(HttpStatus.CREATED).body(resposta);
+            // Reenvio idêntico: 200 com a resposta já gravada
+            return ResponseEntity.status(envio.nova() ? HttpStatus.CREATED : HttpStatus.OK).body(envio.resposta());
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (RespostaDivergenteException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (FilaIndisponivelException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (SQLException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao responder questão", e);
         }
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<RespostaAluno>> responderLote(@RequestBody ResponderLoteRequest request) {
+        validarLote(request);
+
+        try {
+            if (respostaAlunoService.ingestaoAssincrona()) {
+                List<RespostaAluno> respostas = respostaAlunoService.enfileirarLote(
+                        request.avaliacaoId(),
+                        request.alunoId(),
+                        request.respostas());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(respostas);
+            }
+
+            EnvioLote envio = respostaAlunoService.responderLote(
+                    request.avaliacaoId(),
+                    request.alunoId(),
+                    request.respostas());
+            return ResponseEntity.status(envio.algumaNova() ? HttpStatus.CREATED : HttpStatus.OK)
+                    .body(envio.respostas());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (RespostaDivergenteException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (FilaIndisponivelException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao responder questões", e);
+        }
+    }
+
     @GetMapping("/avaliacao/{avaliacaoId}/aluno/{alunoId}")
     public List<RespostaAluno> listarRespostasAluno(
             @PathVariable UUID avaliacaoId,
@@ -126,6 +177,30 @@ public class RespostaAlunoController {
         }
     }
 
+    private void validarLote(ResponderLoteRequest request) {
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Corpo da requisição é obrigatório");
+        }
+
+        if (request.avaliacaoId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID da avaliação é obrigatório");
+        }
+
+        if (request.alunoId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID do aluno é obrigatório");
+        }
+
+        if (request.respostas() == null || request.respostas().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos uma resposta");
+        }
+
+        for (RespostaLoteRequest resposta : request.respostas()) {
+            if (resposta == null || resposta.questaoId() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID da questão é obrigatório");
+            }
+        }
+    }
+
     public record ResponderQuestaoRequest(
             UUID avaliacaoId,
             UUID alunoId,
@@ -136,6 +211,20 @@ public class RespostaAlunoController {
             String respostaTexto) {
     }
 
+    public record ResponderLoteRequest(
+            UUID avaliacaoId,
+            UUID alunoId,
+            List<RespostaLoteRequest> respostas) {
+    }
+
+    public record RespostaLoteRequest(
+            UUID questaoId,
+            UUID alternativaEscolhidaId,
+            UUID voufItemId,
+            Boolean voufResposta,
+            String respostaTexto) {
+    }
+
     public record CorrigirRespostaRequest(
             BigDecimal nota) {
     }
@@ -1,9 +1,9 @@
 package com.uel.controller;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Usuario;
 import com.uel.service.UsuarioService;
 import java.sql.SQLException;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -38,11 +39,15 @@ public class UsuarioController {
   }
 
   @GetMapping
-  public List<Usuario> listar() {
+  public Pagina<Usuario> listar(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limite) {
     try {
-      return usuarioService.listarTodos();
+      return usuarioService.listar(cursor, limite);
     } catch (SQLException e) {
       throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar usuários", e);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     }
   }
 
@@ -104,11 +109,8 @@ public class UsuarioController {
   public ResponseEntity<Usuario> login(@RequestBody UsuarioRequest request) {
       validarRequest(request); // Reutiliza sua validação existente
       try {
-          // 1. Busca o usuário pelo email (usando o listarTodos do service)
-          Usuario usuario = usuarioService.listarTodos().stream()
-              .filter(u -> u.getEmail().equals(request.email()))
-              .findFirst()
-              .orElse(null);
+          // 1. Busca o usuário pelo email
+          Usuario usuario = usuarioService.buscarPorEmail(request.email());
       
           // 2. Verifica a senha usando o método que já existe no seu Service
           if (usuario != null && usuarioService.conferirSenha(usuario, request.senha())) {
@@ -0,0 +1,14 @@
+package com.uel.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Item das listagens de avaliações: sem participações, só a contagem
+public record AvaliacaoResumoDTO(
+        UUID id,
+        String descricao,
+        LocalDate data,
+        LocalTime horario,
+        int participantes) {
+}
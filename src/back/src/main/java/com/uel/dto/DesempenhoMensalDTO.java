@@ -0,0 +1,10 @@
+package com.uel.dto;
+
+import java.time.LocalDate;
+
+public record DesempenhoMensalDTO(
+        LocalDate mes,
+        int respostas,
+        int corrigidas,
+        Double mediaNota) {
+}
@@ -0,0 +1,15 @@
+package com.uel.dto;
+
+import java.util.List;
+
+// Quantis com precisão de 0,1 ponto (faixas do histograma mantido em memória)
+public record DistribuicaoNotasDTO(
+        long alunos,
+        Double media,
+        Double minima,
+        Double primeiroQuartil,
+        Double mediana,
+        Double terceiroQuartil,
+        Double maxima,
+        List<FaixaNotaDTO> histograma) {
+}
@@ -0,0 +1,14 @@
+package com.uel.dto;
+
+import java.util.UUID;
+
+// Distrator bom: escolhido por alguns, com média de quem escolheu baixa e discriminação negativa
+public record EstatisticaAlternativaDTO(
+        UUID alternativaId,
+        String alternativa,
+        boolean correta,
+        int escolhas,
+        Double proporcao,
+        Double mediaNota,
+        Double discriminacao) {
+}
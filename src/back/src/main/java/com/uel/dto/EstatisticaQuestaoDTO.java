@@ -0,0 +1,22 @@
+package com.uel.dto;
+
+import com.uel.enums.Dificuldade;
+import com.uel.enums.TipoQuestao;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// indiceDificuldade: nota média da questão (0 a 1, maior = mais fácil).
+// discriminacao: correlação ponto-bisserial entre a nota na questão e o resto da prova.
+public record EstatisticaQuestaoDTO(
+        UUID questaoId,
+        String enunciado,
+        String tema,
+        TipoQuestao tipo,
+        Dificuldade dificuldade,
+        int respostas,
+        Double indiceDificuldade,
+        Double discriminacao,
+        LocalDateTime calculadoEm,
+        List<EstatisticaAlternativaDTO> alternativas) {
+}
@@ -0,0 +1,7 @@
+package com.uel.dto;
+
+public record FaixaNotaDTO(
+        double inicio,
+        double fim,
+        long alunos) {
+}
@@ -0,0 +1,9 @@
+package com.uel.dto;
+
+import java.util.List;
+
+// proximoCursor nulo indica a última página
+public record Pagina<T>(
+        List<T> itens,
+        String proximoCursor) {
+}
@@ -0,0 +1,10 @@
+package com.uel.dto;
+
+import java.util.UUID;
+
+public record PercentilAlunoDTO(
+        UUID avaliacaoId,
+        UUID alunoId,
+        Double nota,
+        Double percentil) {
+}
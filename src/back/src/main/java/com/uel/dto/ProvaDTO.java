@@ -0,0 +1,9 @@
+package com.uel.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProvaDTO(
+        UUID avaliacaoId,
+        List<ProvaQuestaoDTO> questoes) {
+}
@@ -0,0 +1,8 @@
+package com.uel.dto;
+
+import java.util.UUID;
+
+public record ProvaOpcaoDTO(
+        UUID id,
+        String texto) {
+}
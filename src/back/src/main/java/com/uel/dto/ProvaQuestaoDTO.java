@@ -0,0 +1,20 @@
+package com.uel.dto;
+
+import com.uel.enums.Dificuldade;
+import com.uel.enums.TipoQuestao;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+// Questão como o aluno a vê: sem resposta esperada nem marcação de verdadeiro
+public record ProvaQuestaoDTO(
+        UUID questaoId,
+        String enunciado,
+        String tema,
+        TipoQuestao tipo,
+        Dificuldade dificuldade,
+        BigDecimal peso,
+        int ordem,
+        List<ProvaOpcaoDTO> alternativas,
+        List<ProvaOpcaoDTO> itensVouf) {
+}
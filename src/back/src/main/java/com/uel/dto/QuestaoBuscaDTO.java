@@ -0,0 +1,17 @@
+package com.uel.dto;
+
+import com.uel.enums.Dificuldade;
+import com.uel.enums.TipoQuestao;
+import java.util.UUID;
+
+// Campos de Questao mais a relevância (ts_rank) usada na ordenação da busca
+public record QuestaoBuscaDTO(
+        UUID id,
+        String enunciado,
+        String tema,
+        TipoQuestao tipo,
+        Dificuldade dificuldade,
+        String respostaEsperada,
+        UUID professorId,
+        float relevancia) {
+}
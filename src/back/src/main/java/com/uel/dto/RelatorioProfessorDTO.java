@@ -1,5 +1,6 @@
 package com.uel.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public record RelatorioProfessorDTO(
@@ -7,5 +8,8 @@ public record RelatorioProfessorDTO(
         List<AvaliacaoDesempenhoDTO> avaliacoes,
         List<AlunoComparativoDTO> alunos,
         List<QuestaoDesafioDTO> questoesCriticas,
-        List<RankingProfessorDTO> rankingProfessores) {
+        List<RankingProfessorDTO> rankingProfessores,
+        LocalDateTime rankingAtualizadoEm,
+        boolean parcial,
+        List<String> secoesIndisponiveis) {
 }
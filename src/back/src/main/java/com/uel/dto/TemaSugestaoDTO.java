@@ -0,0 +1,6 @@
+package com.uel.dto;
+
+public record TemaSugestaoDTO(
+        String tema,
+        int questoes) {
+}
@@ -0,0 +1,7 @@
+package com.uel.enums;
+
+// Partes opcionais do detalhe de uma avaliação (?campos=participacoes,alunos)
+public enum CampoAvaliacao {
+    PARTICIPACOES,
+    ALUNOS
+}
@@ -0,0 +1,68 @@
+package com.uel.exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+public class EscritorCsv implements EscritorLinhas {
+    private final Writer saida;
+
+    public EscritorCsv(OutputStream saida) throws IOException {
+        this.saida = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        // BOM para o Excel reconhecer UTF-8 (acentos em enunciados e descrições)
+        this.saida.write('\uFEFF');
+    }
+
+    @Override
+    public void cabecalho(String[] colunas) throws IOException {
+        linha(colunas);
+    }
+
+    @Override
+    public void linha(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                saida.write(',');
+            }
+            escreverCampo(valores[i]);
+        }
+        saida.write("\r\n");
+    }
+
+    @Override
+    public void concluir() throws IOException {
+        saida.flush();
+    }
+
+    private void escreverCampo(Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor instanceof BigDecimal numero) {
+            saida.write(numero.toPlainString());
+            return;
+        }
+        if (valor instanceof Number) {
+            saida.write(valor.toString());
+            return;
+        }
+
+        String texto = valor.toString();
+        // Texto livre de aluno começando com =, +, - ou @ viraria fórmula na planilha
+        if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            saida.write('"');
+            saida.write(texto.replace("\"", "\"\""));
+            saida.write('"');
+        } else {
+            saida.write(texto);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.uel.exportacao;
+
+import java.io.IOException;
+
+// Escreve uma linha por vez direto na resposta; nada além do buffer fica em memória
+public interface EscritorLinhas {
+    void cabecalho(String[] colunas) throws IOException;
+
+    void linha(Object[] valores) throws IOException;
+
+    // Fecha o documento sem fechar o stream de saída, que pertence ao servlet
+    void concluir() throws IOException;
+}
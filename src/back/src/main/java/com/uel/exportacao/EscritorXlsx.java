@@ -0,0 +1,114 @@
+package com.uel.exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Planilha mínima (uma aba, strings inline) gerada direto no zip: as partes fixas vão primeiro e
+// sheet1.xml é escrita linha a linha, sem montar o documento em memória
+public class EscritorXlsx implements EscritorLinhas {
+    private static final String TIPOS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+    private static final String RELACOES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+    private static final String PASTA = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Dados" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+    private static final String RELACOES_PASTA = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private final ZipOutputStream zip;
+    private final Writer aba;
+    private long linhaAtual;
+
+    public EscritorXlsx(OutputStream saida) throws IOException {
+        this.zip = new ZipOutputStream(saida, StandardCharsets.UTF_8);
+        this.aba = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        parte("[Content_Types].xml", TIPOS);
+        parte("_rels/.rels", RELACOES);
+        parte("xl/workbook.xml", PASTA);
+        parte("xl/_rels/workbook.xml.rels", RELACOES_PASTA);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        aba.write("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""");
+    }
+
+    @Override
+    public void cabecalho(String[] colunas) throws IOException {
+        linha(colunas);
+    }
+
+    @Override
+    public void linha(Object[] valores) throws IOException {
+        aba.write("<row r=\"" + (++linhaAtual) + "\">");
+        for (Object valor : valores) {
+            if (valor == null) {
+                aba.write("<c/>");
+            } else if (valor instanceof Number numero) {
+                aba.write("<c><v>");
+                aba.write(numero instanceof BigDecimal decimal ? decimal.toPlainString() : numero.toString());
+                aba.write("</v></c>");
+            } else {
+                aba.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escapar(valor.toString());
+                aba.write("</t></is></c>");
+            }
+        }
+        aba.write("</row>");
+    }
+
+    @Override
+    public void concluir() throws IOException {
+        aba.write("</sheetData></worksheet>");
+        aba.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void parte(String nome, String conteudo) throws IOException {
+        zip.putNextEntry(new ZipEntry(nome));
+        zip.write(conteudo.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void escapar(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> aba.write("&amp;");
+                case '<' -> aba.write("&lt;");
+                case '>' -> aba.write("&gt;");
+                case '"' -> aba.write("&quot;");
+                default -> {
+                    // Caracteres de controle não são válidos em XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        aba.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
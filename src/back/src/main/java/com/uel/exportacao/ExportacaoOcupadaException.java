@@ -0,0 +1,10 @@
+package com.uel.exportacao;
+
+// Todas as vagas de exportação em uso: o cliente pode repetir o pedido (o controller responde 503)
+public class ExportacaoOcupadaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ExportacaoOcupadaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,41 @@
+package com.uel.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum FormatoExportacao {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoExportacao(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public static FormatoExportacao de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + valor);
+        }
+    }
+
+    public EscritorLinhas abrir(OutputStream saida) throws IOException {
+        return this == XLSX ? new EscritorXlsx(saida) : new EscritorCsv(saida);
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
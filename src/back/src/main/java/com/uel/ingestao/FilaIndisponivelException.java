@@ -0,0 +1,10 @@
+package com.uel.ingestao;
+
+// Fila cheia ou ingestão encerrada: o cliente pode repetir o envio (o controller responde 503)
+public class FilaIndisponivelException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public FilaIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,452 @@
+package com.uel.ingestao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.uel.entity.RespostaAluno;
+import com.uel.repository.RespostaAlunoRepository;
+import com.uel.service.AgregacaoNotasService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Ingestão write-behind: a resposta é confirmada assim que está no disco (fsync) e na fila;
+// uma thread grava os lotes em respostas_alunos. Desligada por padrão (notaki.ingestao.assincrona).
+// O log é dividido em segmentos (arquivo.1, arquivo.2, ...): um segmento é apagado quando uma
+// resposta de um segmento posterior chega ao banco, então o disco não cresce sob carga contínua.
+@Component
+public class FilaRespostas {
+    private static final Logger log = LoggerFactory.getLogger(FilaRespostas.class);
+
+    private final RespostaAlunoRepository respostaAlunoRepository;
+    private final AgregacaoNotasService agregacaoNotasService;
+    private final TransactionTemplate transacao;
+    private final ObjectMapper objectMapper;
+    private final boolean habilitada;
+    private final int tamanhoLote;
+    private final Path arquivo;
+    private final long tamanhoSegmento;
+    // Respostas recusadas pelo banco (não por conexão), para reprocessar à mão
+    private final Path rejeitadas;
+    private final Counter contadorRejeitadas;
+    private final BlockingQueue<Pendente> fila;
+    // Protege o segmento atual: anexar, rotacionar, truncar e a ordem de entrada na fila
+    private final ReentrantLock trava = new ReentrantLock();
+    // Group commit: um fsync por vez, cobrindo tudo o que foi escrito até ele começar
+    private final ReentrantLock travaDisco = new ReentrantLock();
+    // Bytes escritos desde a subida (todos os segmentos) e quantos deles já estão no disco
+    private final AtomicLong sincronizados = new AtomicLong();
+
+    private FileChannel canal;
+    private OutputStream escritor;
+    private long escritos;
+    private long segmentoAtual;
+    private long bytesSegmento;
+    // Só o gravador usa: segmento mais antigo desta execução ainda no disco
+    private long segmentoMaisAntigo;
+    private Thread gravador;
+    private volatile boolean executando;
+
+    public FilaRespostas(
+            RespostaAlunoRepository respostaAlunoRepository,
+            AgregacaoNotasService agregacaoNotasService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${notaki.ingestao.assincrona:false}") boolean habilitada,
+            @Value("${notaki.ingestao.capacidade:50000}") int capacidade,
+            @Value("${notaki.ingestao.lote:500}") int tamanhoLote,
+            @Value("${notaki.ingestao.arquivo:dados/respostas-pendentes.log}") String arquivo,
+            @Value("${notaki.ingestao.segmento-bytes:16777216}") long tamanhoSegmento,
+            @Value("${notaki.ingestao.rejeitadas:dados/respostas-rejeitadas.log}") String rejeitadas) {
+        this.respostaAlunoRepository = respostaAlunoRepository;
+        this.agregacaoNotasService = agregacaoNotasService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.habilitada = habilitada;
+        this.tamanhoLote = tamanhoLote;
+        this.arquivo = Path.of(arquivo).toAbsolutePath();
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.rejeitadas = Path.of(rejeitadas).toAbsolutePath();
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.contadorRejeitadas = Counter.builder("notaki.ingestao.rejeitadas").register(registry);
+        registry.gaugeCollectionSize("notaki.ingestao.fila", List.of(), fila);
+    }
+
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!habilitada) {
+            return;
+        }
+
+        Files.createDirectories(arquivo.getParent());
+        Files.createDirectories(rejeitadas.getParent());
+
+        // O que ficou nos segmentos da execução anterior ainda não foi confirmado no banco
+        List<Path> anteriores = segmentosExistentes();
+        List<RespostaAluno> pendentes = new ArrayList<>();
+        for (Path segmento : anteriores) {
+            for (String linha : Files.readAllLines(segmento, StandardCharsets.UTF_8)) {
+                if (!linha.isBlank()) {
+                    try {
+                        pendentes.add(objectMapper.readValue(linha, RespostaAluno.class));
+                    } catch (IOException e) {
+                        // Linha truncada por queda no meio da escrita
+                        log.warn("Linha inválida ignorada no arquivo de ingestão: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+
+        segmentoAtual = anteriores.stream().mapToLong(this::numeroSegmento).max().orElse(0) + 1;
+        segmentoMaisAntigo = segmentoAtual;
+        abrirSegmento();
+        executando = true;
+        gravador = Thread.ofPlatform().name("ingestao-respostas").daemon()
+                .start(() -> executar(pendentes, anteriores));
+    }
+
+    // Lança FilaIndisponivelException quando a fila está cheia ou encerrada (o controller responde 503)
+    public void enfileirar(List<RespostaAluno> respostas) {
+        long posicao;
+        trava.lock();
+        try {
+            if (!executando) {
+                throw new FilaIndisponivelException("Ingestão de respostas encerrada");
+            }
+            if (fila.remainingCapacity() < respostas.size()) {
+                throw new FilaIndisponivelException("Fila de respostas cheia, tente novamente");
+            }
+
+            if (bytesSegmento >= tamanhoSegmento) {
+                fecharSegmento();
+                segmentoAtual++;
+                abrirSegmento();
+            }
+            for (RespostaAluno resposta : respostas) {
+                byte[] linha = objectMapper.writeValueAsBytes(resposta);
+                escritor.write(linha);
+                escritor.write('\n');
+                bytesSegmento += linha.length + 1;
+                escritos += linha.length + 1;
+            }
+            escritor.flush();
+            for (RespostaAluno resposta : respostas) {
+                fila.add(new Pendente(resposta, segmentoAtual));
+            }
+            posicao = escritos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao registrar respostas", e);
+        } finally {
+            trava.unlock();
+        }
+
+        // Só confirma depois do fsync; fora da trava, para as requisições seguintes irem escrevendo
+        try {
+            sincronizar(posicao);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao registrar respostas", e);
+        }
+    }
+
+    // Quem chega com o disco ocupado espera e quase sempre sai sem fsync: o anterior já cobriu seus bytes
+    private void sincronizar(long posicao) throws IOException {
+        if (sincronizados.get() >= posicao) {
+            return;
+        }
+        travaDisco.lock();
+        try {
+            if (sincronizados.get() >= posicao) {
+                return;
+            }
+            FileChannel alvo;
+            long ate;
+            trava.lock();
+            try {
+                alvo = canal;
+                ate = escritos;
+            } finally {
+                trava.unlock();
+            }
+            try {
+                alvo.force(false);
+                sincronizados.accumulateAndGet(ate, Math::max);
+            } catch (ClosedChannelException e) {
+                // Segmento rotacionado ou encerrado no meio: fecharSegmento() já fez o fsync
+                if (sincronizados.get() < posicao) {
+                    throw e;
+                }
+            }
+        } finally {
+            travaDisco.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        if (!habilitada || gravador == null) {
+            return;
+        }
+
+        trava.lock();
+        try {
+            executando = false;
+        } finally {
+            trava.unlock();
+        }
+        gravador.join();
+
+        trava.lock();
+        try {
+            fecharSegmento();
+        } catch (IOException e) {
+            log.warn("Erro ao fechar o arquivo de ingestão", e);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void executar(List<RespostaAluno> pendentes, List<Path> anteriores) {
+        if (!gravarComRepeticao(pendentes)) {
+            return;
+        }
+        for (Path segmento : anteriores) {
+            apagar(segmento);
+        }
+
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        try {
+            while (executando || !fila.isEmpty()) {
+                Pendente primeira = fila.poll(200, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+
+                lote.add(primeira);
+                fila.drainTo(lote, tamanhoLote - 1);
+                if (!gravarComRepeticao(lote.stream().map(Pendente::resposta).toList())) {
+                    // Encerrando com o banco fora: os segmentos são reprocessados na próxima subida
+                    return;
+                }
+                liberarSegmentos(lote.get(lote.size() - 1).segmento());
+                lote.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean gravarComRepeticao(List<RespostaAluno> lote) {
+        for (int i = 0; i < lote.size(); i += tamanhoLote) {
+            List<RespostaAluno> parte = lote.subList(i, Math.min(i + tamanhoLote, lote.size()));
+            while (!gravar(parte)) {
+                if (!executando) {
+                    return false;
+                }
+                try {
+                    // Banco indisponível: as respostas continuam no arquivo e na memória
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // false quando a falha é de conexão e o lote deve ser repetido
+    private boolean gravar(List<RespostaAluno> lote) {
+        try {
+            inserir(lote);
+            return true;
+        } catch (SQLException e) {
+            if (falhaDeConexao(e)) {
+                log.warn("Banco indisponível ao gravar {} respostas: {}", lote.size(), e.getMessage());
+                return false;
+            }
+        } catch (TransactionException e) {
+            // Não conseguiu nem abrir a transação (conexão)
+            log.warn("Banco indisponível ao gravar {} respostas: {}", lote.size(), e.getMessage());
+            return false;
+        }
+
+        // Uma linha inválida derruba o INSERT inteiro; grava uma a uma para isolar
+        for (RespostaAluno resposta : lote) {
+            try {
+                inserir(List.of(resposta));
+            } catch (SQLException e) {
+                if (falhaDeConexao(e)) {
+                    return false;
+                }
+                if (!rejeitar(resposta, e)) {
+                    // Sem onde guardar a resposta: fica no segmento e o lote é repetido
+                    return false;
+                }
+            } catch (TransactionException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean rejeitar(RespostaAluno resposta, SQLException erro) {
+        try {
+            ObjectNode registro = objectMapper.createObjectNode();
+            registro.put("sqlState", erro.getSQLState());
+            registro.put("erro", erro.getMessage());
+            registro.set("resposta", objectMapper.valueToTree(resposta));
+            Files.writeString(rejeitadas, objectMapper.writeValueAsString(registro) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Erro ao registrar resposta {} rejeitada", resposta.getId(), e);
+            return false;
+        }
+        contadorRejeitadas.increment();
+        log.error("Resposta {} rejeitada pelo banco, registrada em {}: {}", resposta.getId(), rejeitadas, erro.getMessage());
+        return true;
+    }
+
+    // Inserção e notas agregadas na mesma transação
+    private void inserir(List<RespostaAluno> lote) throws SQLException {
+        try {
+            transacao.executeWithoutResult(status -> {
+                try {
+                    Set<UUID> ids = new HashSet<>(respostaAlunoRepository.inserirIgnorandoDuplicadas(lote));
+                    agregacaoNotasService.registrarInclusao(
+                            lote.stream().filter(resposta -> ids.contains(resposta.getId())).toList());
+                } catch (SQLException e) {
+                    throw new UncheckedSqlException(e);
+                }
+            });
+        } catch (UncheckedSqlException e) {
+            throw e.getCause();
+        }
+    }
+
+    // A fila é FIFO com um só consumidor: gravada uma resposta do segmento N, os anteriores já estão no banco
+    private void liberarSegmentos(long segmentoGravado) {
+        trava.lock();
+        try {
+            // Com a trava, nada novo entra; fila vazia significa que o segmento atual também está no banco
+            if (fila.isEmpty() && bytesSegmento > 0) {
+                escritor.flush();
+                try (var canal = Files.newByteChannel(segmento(segmentoAtual), StandardOpenOption.WRITE)) {
+                    canal.truncate(0);
+                }
+                bytesSegmento = 0;
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao truncar o arquivo de ingestão", e);
+        } finally {
+            trava.unlock();
+        }
+
+        for (; segmentoMaisAntigo < segmentoGravado; segmentoMaisAntigo++) {
+            apagar(segmento(segmentoMaisAntigo));
+        }
+    }
+
+    private void abrirSegmento() throws IOException {
+        canal = FileChannel.open(segmento(segmentoAtual),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        escritor = new BufferedOutputStream(Channels.newOutputStream(canal));
+        bytesSegmento = canal.size();
+    }
+
+    // Com a trava: fsync antes de fechar, para quem ainda espera o disco nesse segmento
+    private void fecharSegmento() throws IOException {
+        escritor.flush();
+        canal.force(false);
+        sincronizados.accumulateAndGet(escritos, Math::max);
+        escritor.close();
+    }
+
+    private Path segmento(long numero) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + numero);
+    }
+
+    private long numeroSegmento(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return segmento.equals(arquivo) ? 0 : Long.parseLong(nome.substring(nome.lastIndexOf('.') + 1));
+    }
+
+    // Em ordem de gravação; o arquivo sem número é o formato anterior aos segmentos
+    private List<Path> segmentosExistentes() throws IOException {
+        String prefixo = arquivo.getFileName() + ".";
+        try (Stream<Path> arquivos = Files.list(arquivo.getParent())) {
+            return arquivos
+                    .filter(caminho -> {
+                        String nome = caminho.getFileName().toString();
+                        return caminho.equals(arquivo) || (nome.startsWith(prefixo)
+                                && nome.length() > prefixo.length()
+                                && nome.substring(prefixo.length()).chars().allMatch(Character::isDigit));
+                    })
+                    .sorted(Comparator.comparingLong(this::numeroSegmento))
+                    .toList();
+        }
+    }
+
+    private void apagar(Path segmento) {
+        try {
+            Files.deleteIfExists(segmento);
+        } catch (IOException e) {
+            log.warn("Erro ao apagar segmento de ingestão {}", segmento, e);
+        }
+    }
+
+    private boolean falhaDeConexao(SQLException e) {
+        return e.getSQLState() == null || e.getSQLState().startsWith("08");
+    }
+
+    private record Pendente(RespostaAluno resposta, long segmento) {
+    }
+
+    private static class UncheckedSqlException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UncheckedSqlException(SQLException causa) {
+            super(causa);
+        }
+
+        @Override
+        public SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+}
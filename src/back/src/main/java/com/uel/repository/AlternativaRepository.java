@@ -6,6 +6,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import javax.sql.DataSource;
@@ -61,6 +62,33 @@ public class AlternativaRepository {
         return alternativas;
     }
 
+    public List<Alternativa> buscarPorQuestaoIds(Collection<UUID> questaoIds) throws SQLException {
+        String sql = """
+                  SELECT id, questao_id, alternativa, verdadeiro
+                  FROM alternativas
+                  WHERE questao_id = ANY(?)
+                  ORDER BY questao_id, criado_em
+                """;
+
+        List<Alternativa> alternativas = new ArrayList<>();
+        if (questaoIds.isEmpty()) {
+            return alternativas;
+        }
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+
+            pst.setArray(1, conn.createArrayOf("uuid", questaoIds.toArray()));
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    alternativas.add(mapearAlternativa(rs));
+                }
+            }
+        }
+        return alternativas;
+    }
+
     public void deletarPorQuestaoId(UUID questaoId) throws SQLException {
         String sql = "DELETE FROM alternativas WHERE questao_id = ?";
 
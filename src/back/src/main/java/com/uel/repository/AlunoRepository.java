@@ -1,5 +1,6 @@
 package com.uel.repository;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.entity.Usuario;
 import java.math.BigDecimal;
@@ -7,7 +8,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -65,7 +65,25 @@ public class AlunoRepository {
     return null;
   }
 
-  public List<Aluno> listarTodos() throws SQLException {
+  // Ingressos mais recentes primeiro; o período filtra pela data de início
+  public Pagina<Aluno> listar(LocalDate de, LocalDate ate, String cursor, int limite) throws SQLException {
+    List<Object> params = new ArrayList<>();
+    StringBuilder filtro = new StringBuilder("TRUE");
+    if (de != null) {
+      filtro.append(" AND a.data_inicio >= ?");
+      params.add(de);
+    }
+    if (ate != null) {
+      filtro.append(" AND a.data_inicio <= ?");
+      params.add(ate);
+    }
+    if (cursor != null) {
+      filtro.append(" AND (a.data_inicio, a.id) < (?, ?)");
+      params.addAll(List.of(Paginacao.decodificar(cursor, 2, chave -> new Object[] {
+        LocalDate.parse(chave[0]), UUID.fromString(chave[1])})));
+    }
+    params.add(limite + 1);
+
     String sql = """
       SELECT a.id,
              a.matricula,
@@ -73,26 +91,24 @@ public class AlunoRepository {
              a.data_inicio,
              a.data_conclusao,
              a.usuario_id,
-             u.email        AS usuario_email,
-             u.salt         AS usuario_salt,
-             u.hash_senha   AS usuario_hash
+             u.email        AS usuario_email
         FROM alunos a
         JOIN usuarios u ON u.id = a.usuario_id
-    ORDER BY a.data_inicio DESC
-      """;
-    List<Aluno> alunos = new ArrayList<>();
-
-    try (
-      Connection conn = dataSource.getConnection();
-      Statement st = conn.createStatement();
-      ResultSet rs = st.executeQuery(sql)
-    ) {
-      while (rs.next()) {
-        alunos.add(map(rs));
+       WHERE %s
+    ORDER BY a.data_inicio DESC, a.id DESC
+       LIMIT ?
+    """.formatted(filtro);
+
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      for (int i = 0; i < params.size(); i++) {
+        pst.setObject(i + 1, params.get(i));
+      }
+      try (ResultSet rs = pst.executeQuery()) {
+        return Paginacao.ler(rs, limite, linha -> map(linha, false), linha -> Paginacao.codificar(
+          linha.getObject("data_inicio", LocalDate.class),
+          linha.getObject("id", UUID.class)));
       }
     }
-
-    return alunos;
   }
 
   public void atualizar(Aluno aluno) throws SQLException {
@@ -127,6 +143,11 @@ public class AlunoRepository {
   }
 
   private Aluno map(ResultSet rs) throws SQLException {
+    return map(rs, true);
+  }
+
+  // Listagens não selecionam salt e hash da senha: o usuário vem só com id e email
+  private Aluno map(ResultSet rs, boolean comCredenciais) throws SQLException {
     UUID id = rs.getObject("id", UUID.class);
     String matricula = rs.getString("matricula");
     BigDecimal media = rs.getBigDecimal("media");
@@ -136,8 +157,8 @@ public class AlunoRepository {
     Usuario usuario = null;
     if (usuarioId != null) {
       String email = rs.getString("usuario_email");
-      String salt = rs.getString("usuario_salt");
-      String hashSenha = rs.getString("usuario_hash");
+      String salt = comCredenciais ? rs.getString("usuario_salt") : null;
+      String hashSenha = comCredenciais ? rs.getString("usuario_hash") : null;
       usuario = new Usuario(usuarioId, email, salt, hashSenha);
     }
     return new Aluno(id, matricula, media, dataInicio, dataConclusao, usuario);
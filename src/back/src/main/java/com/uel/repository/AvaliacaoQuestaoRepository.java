@@ -1,5 +1,7 @@
 package com.uel.repository;
 
+import com.uel.dto.ProvaOpcaoDTO;
+import com.uel.dto.ProvaQuestaoDTO;
 import com.uel.entity.Questao;
 import com.uel.enums.Dificuldade;
 import com.uel.enums.TipoQuestao;
@@ -9,7 +11,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.springframework.stereotype.Repository;
@@ -74,6 +78,66 @@ public class AvaliacaoQuestaoRepository {
         return questoes;
     }
 
+    // Prova completa numa consulta: questões na ordem, com alternativas e itens V/F aninhados
+    public List<ProvaQuestaoDTO> listarProva(UUID avaliacaoId) throws SQLException {
+        String sql = """
+                  SELECT q.questao_id, q.enunciado, q.tema, q.tipo, q.dificuldade, aq.peso, aq.ordem,
+                         o.origem, o.id AS opcao_id, o.texto
+                  FROM avaliacao_questoes aq
+                  INNER JOIN questoes q ON q.questao_id = aq.questao_id
+                  LEFT JOIN (
+                      SELECT 'A' AS origem, id, questao_id, alternativa AS texto, criado_em
+                      FROM alternativas
+                      UNION ALL
+                      SELECT 'V' AS origem, id, questao_id, item AS texto, criado_em
+                      FROM vouf
+                  ) o ON o.questao_id = q.questao_id
+                  WHERE aq.avaliacao_id = ?
+                  ORDER BY aq.ordem, q.questao_id, o.origem, o.criado_em
+                """;
+
+        Map<UUID, ProvaQuestaoDTO> questoes = new LinkedHashMap<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+
+            pst.setObject(1, avaliacaoId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    UUID questaoId = rs.getObject("questao_id", UUID.class);
+                    ProvaQuestaoDTO questao = questoes.get(questaoId);
+                    if (questao == null) {
+                        questao = new ProvaQuestaoDTO(
+                                questaoId,
+                                rs.getString("enunciado"),
+                                rs.getString("tema"),
+                                TipoQuestao.valueOf(rs.getString("tipo")),
+                                Dificuldade.valueOf(rs.getString("dificuldade")),
+                                rs.getBigDecimal("peso"),
+                                rs.getInt("ordem"),
+                                new ArrayList<>(),
+                                new ArrayList<>());
+                        questoes.put(questaoId, questao);
+                    }
+
+                    String origem = rs.getString("origem");
+                    if (origem != null) {
+                        ProvaOpcaoDTO opcao = new ProvaOpcaoDTO(
+                                rs.getObject("opcao_id", UUID.class),
+                                rs.getString("texto"));
+                        if (origem.equals("A")) {
+                            questao.alternativas().add(opcao);
+                        } else {
+                            questao.itensVouf().add(opcao);
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(questoes.values());
+    }
+
     public void remover(UUID avaliacaoId, UUID questaoId) throws SQLException {
         String sql = "DELETE FROM avaliacao_questoes WHERE avaliacao_id = ? AND questao_id = ?";
 
@@ -97,6 +161,25 @@ public class AvaliacaoQuestaoRepository {
         }
     }
 
+    public List<UUID> listarAvaliacoesComQuestao(UUID questaoId) throws SQLException {
+        String sql = "SELECT avaliacao_id FROM avaliacao_questoes WHERE questao_id = ?";
+
+        List<UUID> avaliacoes = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+
+            pst.setObject(1, questaoId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    avaliacoes.add(rs.getObject("avaliacao_id", UUID.class));
+                }
+            }
+        }
+        return avaliacoes;
+    }
+
     public boolean questaoJaAdicionada(UUID avaliacaoId, UUID questaoId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM avaliacao_questoes WHERE avaliacao_id = ? AND questao_id = ?";
 
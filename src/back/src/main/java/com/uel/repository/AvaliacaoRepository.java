@@ -1,9 +1,12 @@
 package com.uel.repository;
 
+import com.uel.dto.AvaliacaoResumoDTO;
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.entity.Avaliacao;
 import com.uel.entity.AvaliacaoParticipacao;
 import com.uel.entity.Usuario;
+import com.uel.enums.CampoAvaliacao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -13,13 +16,35 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class AvaliacaoRepository {
+  private static final String ATUALIZAR_RESPONSAVEL = """
+        UPDATE avaliacoes a
+           SET professor_id = (
+                 SELECT q.professor_id
+                   FROM avaliacao_questoes aq
+                   JOIN questoes q ON q.questao_id = aq.questao_id
+                  WHERE aq.avaliacao_id = a.id
+               ORDER BY aq.ordem
+                  LIMIT 1)
+        """;
+
+  // Contagem pela chave primária de avaliacao_alunos, sem carregar as participações
+  private static final String COLUNAS_RESUMO = """
+        a.id, a.descricao, a.data, a.horario,
+        (SELECT COUNT(*) FROM avaliacao_alunos p WHERE p.avaliacao_id = a.id) AS participantes
+        """;
+
   private final DataSource dataSource;
 
   public AvaliacaoRepository(DataSource dataSource) {
@@ -29,73 +54,137 @@ public class AvaliacaoRepository {
   public void criar(Avaliacao avaliacao) throws SQLException {
     String sql = "INSERT INTO avaliacoes (id, descricao, data, horario) VALUES (?, ?, ?, ?)";
     try (Connection conn = dataSource.getConnection()) {
-      conn.setAutoCommit(false);
-      try {
-        try (PreparedStatement pst = conn.prepareStatement(sql)) {
-          pst.setObject(1, avaliacao.getId());
-          pst.setString(2, avaliacao.getDescricao());
-          pst.setObject(3, avaliacao.getData());
-          pst.setTime(4, Time.valueOf(avaliacao.getHorario()));
-          pst.executeUpdate();
-        }
-        salvarParticipacoes(conn, avaliacao.getId(), avaliacao.getParticipacoes());
-        conn.commit();
-      } catch (SQLException e) {
-        conn.rollback();
-        throw e;
-      } finally {
-        conn.setAutoCommit(true);
+      try (PreparedStatement pst = conn.prepareStatement(sql)) {
+        pst.setObject(1, avaliacao.getId());
+        pst.setString(2, avaliacao.getDescricao());
+        pst.setObject(3, avaliacao.getData());
+        pst.setTime(4, Time.valueOf(avaliacao.getHorario()));
+        pst.executeUpdate();
       }
+      salvarParticipacoes(conn, avaliacao.getId(), avaliacao.getParticipacoes());
     }
   }
 
   public Avaliacao buscarPorId(UUID id) throws SQLException {
+    return buscarPorId(id, EnumSet.allOf(CampoAvaliacao.class));
+  }
+
+  // Sem PARTICIPACOES a lista fica vazia; ALUNOS acrescenta aluno e usuário a cada participação
+  public Avaliacao buscarPorId(UUID id, Set<CampoAvaliacao> campos) throws SQLException {
     String sql = "SELECT id, descricao, data, horario FROM avaliacoes WHERE id = ?";
     try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
       pst.setObject(1, id);
+      Avaliacao avaliacao = null;
       try (ResultSet rs = pst.executeQuery()) {
         if (rs.next()) {
-          Avaliacao avaliacao = map(rs);
-          avaliacao.setParticipacoes(buscarParticipacoes(avaliacao.getId()));
-          return avaliacao;
+          avaliacao = map(rs);
         }
       }
+      if (avaliacao != null && (campos.contains(CampoAvaliacao.PARTICIPACOES) || campos.contains(CampoAvaliacao.ALUNOS))) {
+        carregarParticipacoes(conn, List.of(avaliacao), campos.contains(CampoAvaliacao.ALUNOS));
+      }
+      return avaliacao;
     }
-    return null;
   }
 
-  public List<Avaliacao> listarTodas() throws SQLException {
-    String sql = "SELECT id, descricao, data, horario FROM avaliacoes ORDER BY data DESC, horario DESC";
-    List<Avaliacao> avaliacoes = new ArrayList<>();
-    try (
-        Connection conn = dataSource.getConnection();
-        Statement st = conn.createStatement();
-        ResultSet rs = st.executeQuery(sql)) {
-      while (rs.next()) {
-        Avaliacao avaliacao = map(rs);
-        avaliacao.setParticipacoes(buscarParticipacoes(avaliacao.getId()));
-        avaliacoes.add(avaliacao);
+  public boolean existe(UUID id) throws SQLException {
+    String sql = "SELECT 1 FROM avaliacoes WHERE id = ?";
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      pst.setObject(1, id);
+      try (ResultSet rs = pst.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+
+  // Ids da lista que não correspondem a nenhuma avaliação, numa consulta só
+  public List<UUID> inexistentes(Collection<UUID> ids) throws SQLException {
+    String sql = """
+        SELECT t.id
+          FROM unnest(?::uuid[]) AS t(id)
+         WHERE NOT EXISTS (SELECT 1 FROM avaliacoes a WHERE a.id = t.id)
+        """;
+    List<UUID> inexistentes = new ArrayList<>();
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      pst.setArray(1, conn.createArrayOf("uuid", ids.toArray()));
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          inexistentes.add(rs.getObject(1, UUID.class));
+        }
+      }
+    }
+    return inexistentes;
+  }
+
+  public boolean alunoParticipa(UUID avaliacaoId, UUID alunoId) throws SQLException {
+    String sql = "SELECT 1 FROM avaliacao_alunos WHERE avaliacao_id = ? AND aluno_id = ?";
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      pst.setObject(1, avaliacaoId);
+      pst.setObject(2, alunoId);
+      try (ResultSet rs = pst.executeQuery()) {
+        return rs.next();
       }
     }
-    return avaliacoes;
   }
 
-  public List<Avaliacao> listarPorAluno(UUID alunoId) throws SQLException {
+  // Mais recentes primeiro, na ordem de (data, horario, id) dos índices; o período filtra pela data
+  public Pagina<AvaliacaoResumoDTO> listar(UUID professorId, LocalDate de, LocalDate ate, String cursor, int limite)
+      throws SQLException {
+    List<Object> params = new ArrayList<>();
+    StringBuilder filtro = new StringBuilder("TRUE");
+    if (professorId != null) {
+      filtro.append(" AND a.professor_id = ?");
+      params.add(professorId);
+    }
+    if (de != null) {
+      filtro.append(" AND a.data >= ?");
+      params.add(de);
+    }
+    if (ate != null) {
+      filtro.append(" AND a.data <= ?");
+      params.add(ate);
+    }
+    if (cursor != null) {
+      filtro.append(" AND (a.data, a.horario, a.id) < (?, ?, ?)");
+      params.addAll(List.of(Paginacao.decodificar(cursor, 3, chave -> new Object[] {
+          LocalDate.parse(chave[0]), LocalTime.parse(chave[1]), UUID.fromString(chave[2])})));
+    }
+    params.add(limite + 1);
+
     String sql = """
-          SELECT a.id, a.descricao, a.data, a.horario
+          SELECT %s
+            FROM avaliacoes a
+           WHERE %s
+        ORDER BY a.data DESC, a.horario DESC, a.id DESC
+           LIMIT ?
+        """.formatted(COLUNAS_RESUMO, filtro);
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      for (int i = 0; i < params.size(); i++) {
+        pst.setObject(i + 1, params.get(i));
+      }
+      try (ResultSet rs = pst.executeQuery()) {
+        return Paginacao.ler(rs, limite, this::mapResumo, linha -> Paginacao.codificar(
+            linha.getObject("data", LocalDate.class),
+            linha.getObject("horario", LocalTime.class),
+            linha.getObject("id", UUID.class)));
+      }
+    }
+  }
+
+  public List<AvaliacaoResumoDTO> listarPorAluno(UUID alunoId) throws SQLException {
+    String sql = """
+          SELECT %s
             FROM avaliacoes a
             JOIN avaliacao_alunos aa ON aa.avaliacao_id = a.id
            WHERE aa.aluno_id = ?
         ORDER BY a.data DESC, a.horario DESC
-          """;
-    List<Avaliacao> avaliacoes = new ArrayList<>();
+        """.formatted(COLUNAS_RESUMO);
+    List<AvaliacaoResumoDTO> avaliacoes = new ArrayList<>();
     try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
       pst.setObject(1, alunoId);
       try (ResultSet rs = pst.executeQuery()) {
         while (rs.next()) {
-          Avaliacao avaliacao = map(rs);
-          avaliacao.setParticipacoes(buscarParticipacoes(avaliacao.getId()));
-          avaliacoes.add(avaliacao);
+          avaliacoes.add(mapResumo(rs));
         }
       }
     }
@@ -105,24 +194,31 @@ public class AvaliacaoRepository {
   public void atualizar(Avaliacao avaliacao) throws SQLException {
     String sql = "UPDATE avaliacoes SET descricao = ?, data = ?, horario = ? WHERE id = ?";
     try (Connection conn = dataSource.getConnection()) {
-      conn.setAutoCommit(false);
-      try {
+      try (PreparedStatement pst = conn.prepareStatement(sql)) {
+        pst.setString(1, avaliacao.getDescricao());
+        pst.setObject(2, avaliacao.getData());
+        pst.setTime(3, Time.valueOf(avaliacao.getHorario()));
+        pst.setObject(4, avaliacao.getId());
+        pst.executeUpdate();
+      }
+    }
+  }
+
+  // Só apaga quem saiu da lista e só insere quem entrou; quem continua mantém a linha (e as
+  // respostas ligadas a ela), com a nota trocada se mudou
+  public void sincronizarParticipacoes(
+      UUID avaliacaoId, Collection<UUID> alunosRemovidos, List<AvaliacaoParticipacao> participacoes)
+      throws SQLException {
+    try (Connection conn = dataSource.getConnection()) {
+      if (!alunosRemovidos.isEmpty()) {
+        String sql = "DELETE FROM avaliacao_alunos WHERE avaliacao_id = ? AND aluno_id = ANY(?)";
         try (PreparedStatement pst = conn.prepareStatement(sql)) {
-          pst.setString(1, avaliacao.getDescricao());
-          pst.setObject(2, avaliacao.getData());
-          pst.setTime(3, Time.valueOf(avaliacao.getHorario()));
-          pst.setObject(4, avaliacao.getId());
+          pst.setObject(1, avaliacaoId);
+          pst.setArray(2, conn.createArrayOf("uuid", alunosRemovidos.toArray()));
           pst.executeUpdate();
         }
-        removerParticipacoes(conn, avaliacao.getId());
-        salvarParticipacoes(conn, avaliacao.getId(), avaliacao.getParticipacoes());
-        conn.commit();
-      } catch (SQLException e) {
-        conn.rollback();
-        throw e;
-      } finally {
-        conn.setAutoCommit(true);
       }
+      salvarParticipacoes(conn, avaliacaoId, participacoes);
     }
   }
 
@@ -134,6 +230,25 @@ public class AvaliacaoRepository {
     }
   }
 
+  // Responsável pela avaliação = autor da primeira questão na ordem (nulo se ficou sem questões).
+  // Recalculado sempre que as questões mudam, para os relatórios não reordenarem avaliacao_questoes.
+  public void atualizarProfessorResponsavel(Collection<UUID> avaliacaoIds) throws SQLException {
+    if (avaliacaoIds.isEmpty()) {
+      return;
+    }
+    try (Connection conn = dataSource.getConnection();
+        PreparedStatement pst = conn.prepareStatement(ATUALIZAR_RESPONSAVEL + " WHERE a.id = ANY(?)")) {
+      pst.setArray(1, conn.createArrayOf("uuid", avaliacaoIds.toArray()));
+      pst.executeUpdate();
+    }
+  }
+
+  public int reconstruirProfessoresResponsaveis() throws SQLException {
+    try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+      return st.executeUpdate(ATUALIZAR_RESPONSAVEL);
+    }
+  }
+
   public void associarAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
     String sql = "INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id, nota) VALUES (?, ?, NULL)";
     try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
@@ -157,7 +272,11 @@ public class AvaliacaoRepository {
     if (participacoes == null || participacoes.isEmpty()) {
       return;
     }
-    String sql = "INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id, nota) VALUES (?, ?, ?)";
+    String sql = """
+        INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id, nota) VALUES (?, ?, ?)
+        ON CONFLICT (avaliacao_id, aluno_id) DO UPDATE SET nota = EXCLUDED.nota
+         WHERE avaliacao_alunos.nota IS DISTINCT FROM EXCLUDED.nota
+        """;
     try (PreparedStatement pst = conn.prepareStatement(sql)) {
       for (AvaliacaoParticipacao participacao : participacoes) {
         pst.setObject(1, avaliacaoId);
@@ -173,16 +292,15 @@ public class AvaliacaoRepository {
     }
   }
 
-  private void removerParticipacoes(Connection conn, UUID avaliacaoId) throws SQLException {
-    String sql = "DELETE FROM avaliacao_alunos WHERE avaliacao_id = ?";
-    try (PreparedStatement pst = conn.prepareStatement(sql)) {
-      pst.setObject(1, avaliacaoId);
-      pst.executeUpdate();
+  // Participações de todas as avaliações numa consulta só, na mesma conexão da listagem
+  // (já com o ResultSet anterior fechado), distribuídas em memória por avaliação.
+  // Sem comAlunos lê só avaliacao_alunos (aluno e nota), sem juntar alunos e usuarios.
+  private void carregarParticipacoes(Connection conn, List<Avaliacao> avaliacoes, boolean comAlunos)
+      throws SQLException {
+    if (avaliacoes.isEmpty()) {
+      return;
     }
-  }
-
-  private List<AvaliacaoParticipacao> buscarParticipacoes(UUID avaliacaoId) throws SQLException {
-    String sql = """
+    String sql = comAlunos ? """
           SELECT aa.avaliacao_id,
                  aa.aluno_id,
                  aa.nota,
@@ -191,25 +309,39 @@ public class AvaliacaoRepository {
                  a.data_inicio,
                  a.data_conclusao,
                  a.usuario_id,
-                 u.email      AS usuario_email,
-                 u.salt       AS usuario_salt,
-                 u.hash_senha AS usuario_hash
+                 u.email AS usuario_email
             FROM avaliacao_alunos aa
             JOIN alunos a ON a.id = aa.aluno_id
             JOIN usuarios u ON u.id = a.usuario_id
-           WHERE aa.avaliacao_id = ?
+           WHERE aa.avaliacao_id = ANY(?)
         ORDER BY a.matricula
-          """;
-    List<AvaliacaoParticipacao> participacoes = new ArrayList<>();
-    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
-      pst.setObject(1, avaliacaoId);
+        """ : """
+          SELECT avaliacao_id, aluno_id, nota
+            FROM avaliacao_alunos
+           WHERE avaliacao_id = ANY(?)
+        ORDER BY aluno_id
+        """;
+    Map<UUID, List<AvaliacaoParticipacao>> porAvaliacao = new HashMap<>();
+    for (Avaliacao avaliacao : avaliacoes) {
+      porAvaliacao.put(avaliacao.getId(), new ArrayList<>());
+    }
+    try (PreparedStatement pst = conn.prepareStatement(sql)) {
+      pst.setArray(1, conn.createArrayOf("uuid", porAvaliacao.keySet().toArray()));
       try (ResultSet rs = pst.executeQuery()) {
         while (rs.next()) {
-          participacoes.add(mapParticipacao(rs));
+          AvaliacaoParticipacao participacao = comAlunos
+              ? mapParticipacao(rs)
+              : new AvaliacaoParticipacao(
+                  rs.getObject("avaliacao_id", UUID.class),
+                  rs.getObject("aluno_id", UUID.class),
+                  rs.getBigDecimal("nota"));
+          porAvaliacao.get(participacao.getAvaliacaoId()).add(participacao);
         }
       }
     }
-    return participacoes;
+    for (Avaliacao avaliacao : avaliacoes) {
+      avaliacao.setParticipacoes(porAvaliacao.get(avaliacao.getId()));
+    }
   }
 
   private Avaliacao map(ResultSet rs) throws SQLException {
@@ -220,14 +352,23 @@ public class AvaliacaoRepository {
     return new Avaliacao(id, descricao, data, horario);
   }
 
+  private AvaliacaoResumoDTO mapResumo(ResultSet rs) throws SQLException {
+    return new AvaliacaoResumoDTO(
+        rs.getObject("id", UUID.class),
+        rs.getString("descricao"),
+        rs.getObject("data", LocalDate.class),
+        rs.getObject("horario", LocalTime.class),
+        rs.getInt("participantes"));
+  }
+
   private AvaliacaoParticipacao mapParticipacao(ResultSet rs) throws SQLException {
     UUID avaliacaoId = rs.getObject("avaliacao_id", UUID.class);
     UUID alunoId = rs.getObject("aluno_id", UUID.class);
     AvaliacaoParticipacao participacao = new AvaliacaoParticipacao(avaliacaoId, alunoId, rs.getBigDecimal("nota"));
 
     UUID usuarioId = rs.getObject("usuario_id", UUID.class);
-    Usuario usuario = new Usuario(usuarioId, rs.getString("usuario_email"), rs.getString("usuario_salt"),
-        rs.getString("usuario_hash"));
+    // Só o e-mail: a listagem de participantes não precisa (nem deve carregar) salt e hash da senha
+    Usuario usuario = new Usuario(usuarioId, rs.getString("usuario_email"), null, null);
     Aluno aluno = new Aluno(
         alunoId,
         rs.getString("matricula"),
@@ -0,0 +1,235 @@
+package com.uel.repository;
+
+import com.uel.dto.EstatisticaAlternativaDTO;
+import com.uel.dto.EstatisticaQuestaoDTO;
+import com.uel.enums.Dificuldade;
+import com.uel.enums.TipoQuestao;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class EstatisticaQuestaoRepository {
+    private final DataSource dataSource;
+    private final int lote;
+
+    public EstatisticaQuestaoRepository(
+            DataSource dataSource,
+            @Value("${notaki.analise-itens.lote:1000}") int lote) {
+        this.dataSource = dataSource;
+        this.lote = lote;
+    }
+
+    // Uma passada por todas as respostas corrigidas com o total do aluno na avaliação, agrupadas
+    // por avaliação; lida por cursor, sem materializar o resultado
+    public void percorrerRespostasCorrigidas(Consumer<RespostaCorrigida> consumidor) throws SQLException {
+        String sql = """
+                SELECT ra.avaliacao_id,
+                       ra.questao_id,
+                       ra.alternativa_escolhida_id,
+                       ra.nota,
+                       n.soma_notas,
+                       n.corrigidas
+                  FROM respostas_alunos ra
+                  JOIN notas_avaliacao_aluno n
+                       ON n.avaliacao_id = ra.avaliacao_id
+                      AND n.aluno_id = ra.aluno_id
+                 WHERE ra.corrigido = TRUE
+                   AND ra.nota IS NOT NULL
+              ORDER BY ra.avaliacao_id
+              """;
+
+        try (Connection conn = dataSource.getConnection()) {
+            // Cursor do driver só funciona fora do autocommit
+            conn.setAutoCommit(false);
+            try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                pst.setFetchSize(lote);
+                try (ResultSet rs = pst.executeQuery()) {
+                    while (rs.next()) {
+                        consumidor.accept(new RespostaCorrigida(
+                                rs.getObject("avaliacao_id", UUID.class),
+                                rs.getObject("questao_id", UUID.class),
+                                rs.getObject("alternativa_escolhida_id", UUID.class),
+                                rs.getDouble("nota"),
+                                rs.getDouble("soma_notas"),
+                                rs.getInt("corrigidas")));
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Troca o resultado anterior inteiro; questões e alternativas removidas durante o cálculo
+    // ficam de fora pelo JOIN
+    public void substituir(Collection<EstatisticaQuestao> questoes, Collection<EstatisticaAlternativa> alternativas)
+            throws SQLException {
+        String sqlQuestoes = """
+                INSERT INTO estatisticas_questao (questao_id, respostas, indice_dificuldade, discriminacao)
+                SELECT d.questao_id, d.respostas, d.indice_dificuldade, d.discriminacao
+                  FROM unnest(?::uuid[], ?::int[], ?::numeric[], ?::numeric[])
+                       AS d(questao_id, respostas, indice_dificuldade, discriminacao)
+                  JOIN questoes q ON q.questao_id = d.questao_id
+                """;
+        String sqlAlternativas = """
+                INSERT INTO estatisticas_alternativa
+                       (alternativa_id, questao_id, escolhas, proporcao, media_nota, discriminacao)
+                SELECT d.alternativa_id, d.questao_id, d.escolhas, d.proporcao, d.media_nota, d.discriminacao
+                  FROM unnest(?::uuid[], ?::uuid[], ?::int[], ?::numeric[], ?::numeric[], ?::numeric[])
+                       AS d(alternativa_id, questao_id, escolhas, proporcao, media_nota, discriminacao)
+                  JOIN alternativas a ON a.id = d.alternativa_id AND a.questao_id = d.questao_id
+                """;
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("DELETE FROM estatisticas_alternativa");
+                st.executeUpdate("DELETE FROM estatisticas_questao");
+            }
+
+            try (PreparedStatement pst = conn.prepareStatement(sqlQuestoes)) {
+                pst.setArray(1, conn.createArrayOf("uuid",
+                        questoes.stream().map(EstatisticaQuestao::questaoId).toArray()));
+                pst.setArray(2, conn.createArrayOf("integer",
+                        questoes.stream().map(EstatisticaQuestao::respostas).toArray()));
+                pst.setArray(3, conn.createArrayOf("numeric",
+                        questoes.stream().map(EstatisticaQuestao::indiceDificuldade).toArray()));
+                pst.setArray(4, conn.createArrayOf("numeric",
+                        questoes.stream().map(EstatisticaQuestao::discriminacao).toArray()));
+                pst.executeUpdate();
+            }
+
+            try (PreparedStatement pst = conn.prepareStatement(sqlAlternativas)) {
+                pst.setArray(1, conn.createArrayOf("uuid",
+                        alternativas.stream().map(EstatisticaAlternativa::alternativaId).toArray()));
+                pst.setArray(2, conn.createArrayOf("uuid",
+                        alternativas.stream().map(EstatisticaAlternativa::questaoId).toArray()));
+                pst.setArray(3, conn.createArrayOf("integer",
+                        alternativas.stream().map(EstatisticaAlternativa::escolhas).toArray()));
+                pst.setArray(4, conn.createArrayOf("numeric",
+                        alternativas.stream().map(EstatisticaAlternativa::proporcao).toArray()));
+                pst.setArray(5, conn.createArrayOf("numeric",
+                        alternativas.stream().map(EstatisticaAlternativa::mediaNota).toArray()));
+                pst.setArray(6, conn.createArrayOf("numeric",
+                        alternativas.stream().map(EstatisticaAlternativa::discriminacao).toArray()));
+                pst.executeUpdate();
+            }
+        }
+    }
+
+    // Questões do professor, da mais difícil para a mais fácil; sem cálculo ainda vêm por último
+    public List<EstatisticaQuestaoDTO> listarPorProfessor(UUID professorId) throws SQLException {
+        String sql = """
+                SELECT q.questao_id,
+                       q.enunciado,
+                       q.tema,
+                       q.tipo,
+                       q.dificuldade,
+                       e.respostas,
+                       e.indice_dificuldade,
+                       e.discriminacao,
+                       e.calculado_em,
+                       a.id AS alternativa_id,
+                       a.alternativa,
+                       a.verdadeiro,
+                       ea.escolhas,
+                       -- Alternativa nunca escolhida numa questão já analisada: proporção 0
+                       COALESCE(ea.proporcao, CASE WHEN e.questao_id IS NOT NULL THEN 0 END) AS proporcao,
+                       ea.media_nota,
+                       ea.discriminacao AS discriminacao_alternativa
+                  FROM questoes q
+             LEFT JOIN estatisticas_questao e ON e.questao_id = q.questao_id
+             LEFT JOIN alternativas a ON a.questao_id = q.questao_id
+             LEFT JOIN estatisticas_alternativa ea ON ea.alternativa_id = a.id
+                 WHERE q.professor_id = ?
+              ORDER BY e.indice_dificuldade ASC NULLS LAST, q.questao_id, a.criado_em
+             """;
+
+        Map<UUID, EstatisticaQuestaoDTO> questoes = new LinkedHashMap<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setObject(1, professorId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    UUID questaoId = rs.getObject("questao_id", UUID.class);
+                    EstatisticaQuestaoDTO questao = questoes.get(questaoId);
+                    if (questao == null) {
+                        Timestamp calculadoEm = rs.getTimestamp("calculado_em");
+                        questao = new EstatisticaQuestaoDTO(
+                                questaoId,
+                                rs.getString("enunciado"),
+                                rs.getString("tema"),
+                                TipoQuestao.valueOf(rs.getString("tipo")),
+                                Dificuldade.valueOf(rs.getString("dificuldade")),
+                                rs.getInt("respostas"),
+                                decimal(rs, "indice_dificuldade"),
+                                decimal(rs, "discriminacao"),
+                                calculadoEm != null ? calculadoEm.toLocalDateTime() : null,
+                                new ArrayList<>());
+                        questoes.put(questaoId, questao);
+                    }
+
+                    UUID alternativaId = rs.getObject("alternativa_id", UUID.class);
+                    if (alternativaId != null) {
+                        questao.alternativas().add(new EstatisticaAlternativaDTO(
+                                alternativaId,
+                                rs.getString("alternativa"),
+                                rs.getBoolean("verdadeiro"),
+                                rs.getInt("escolhas"),
+                                decimal(rs, "proporcao"),
+                                decimal(rs, "media_nota"),
+                                decimal(rs, "discriminacao_alternativa")));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(questoes.values());
+    }
+
+    private Double decimal(ResultSet rs, String coluna) throws SQLException {
+        BigDecimal valor = rs.getBigDecimal(coluna);
+        return valor != null ? valor.doubleValue() : null;
+    }
+
+    public record RespostaCorrigida(
+            UUID avaliacaoId,
+            UUID questaoId,
+            UUID alternativaId,
+            double nota,
+            double somaNotas,
+            int corrigidas) {
+    }
+
+    public record EstatisticaQuestao(
+            UUID questaoId,
+            int respostas,
+            BigDecimal indiceDificuldade,
+            BigDecimal discriminacao) {
+    }
+
+    public record EstatisticaAlternativa(
+            UUID alternativaId,
+            UUID questaoId,
+            int escolhas,
+            BigDecimal proporcao,
+            BigDecimal mediaNota,
+            BigDecimal discriminacao) {
+    }
+}
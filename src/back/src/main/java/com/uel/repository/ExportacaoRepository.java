@@ -0,0 +1,248 @@
+package com.uel.repository;
+
+import com.uel.exportacao.EscritorLinhas;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+// Exportações sem limite de tamanho: cursor só-avanço lido em lotes de `lote` linhas e escrito
+// direto no EscritorLinhas. Nenhum método monta lista; o cabeçalho vem dos aliases do SELECT.
+@Repository
+public class ExportacaoRepository {
+    private static final String DO_PROFESSOR = """
+            EXISTS (SELECT 1
+                      FROM avaliacao_questoes aq
+                      JOIN questoes q ON q.questao_id = aq.questao_id
+                     WHERE aq.avaliacao_id = a.id
+                       AND q.professor_id = ?)
+            """;
+
+    private final DataSource dataSource;
+    private final int lote;
+
+    public ExportacaoRepository(
+            DataSource dataSource,
+            @Value("${notaki.exportacao.lote:1000}") int lote) {
+        this.dataSource = dataSource;
+        this.lote = lote;
+    }
+
+    // Ordem da chave única de respostas_alunos: o índice entrega as linhas já ordenadas, sem sort.
+    // Com professor, só as respostas às questões dele (as provas podem misturar autores)
+    public void exportarRespostas(UUID avaliacaoId, UUID professorId, Integer meses, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = """
+                SELECT ra.id AS resposta_id,
+                       ra.avaliacao_id,
+                       a.descricao AS avaliacao,
+                       a.data AS data_avaliacao,
+                       ra.aluno_id,
+                       al.matricula,
+                       ra.questao_id,
+                       q.tema,
+                       q.tipo,
+                       q.dificuldade,
+                       ra.alternativa_escolhida_id,
+                       ra.vouf_item_id,
+                       ra.vouf_resposta,
+                       ra.resposta_texto,
+                       ra.nota,
+                       ra.corrigido,
+                       ra.respondido_em
+                  FROM respostas_alunos ra
+                  JOIN avaliacoes a ON a.id = ra.avaliacao_id
+                  JOIN alunos al ON al.id = ra.aluno_id
+                  JOIN questoes q ON q.questao_id = ra.questao_id
+                 WHERE %s
+              ORDER BY ra.avaliacao_id, ra.aluno_id, ra.questao_id
+              """.formatted(filtroAvaliacoes(avaliacaoId, "q.professor_id = ?", professorId, meses, params));
+
+        exportar(sql, params, escritor);
+    }
+
+    public void exportarNotas(UUID avaliacaoId, UUID professorId, Integer meses, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = """
+                SELECT n.avaliacao_id,
+                       a.descricao AS avaliacao,
+                       a.data AS data_avaliacao,
+                       n.aluno_id,
+                       al.matricula,
+                       n.respostas,
+                       n.corrigidas,
+                       ROUND(n.nota, 2) AS nota
+                  FROM notas_avaliacao_aluno n
+                  JOIN avaliacoes a ON a.id = n.avaliacao_id
+                  JOIN alunos al ON al.id = n.aluno_id
+                 WHERE %s
+              ORDER BY n.avaliacao_id, n.aluno_id
+              """.formatted(filtroAvaliacoes(avaliacaoId, DO_PROFESSOR, professorId, meses, params));
+
+        exportar(sql, params, escritor);
+    }
+
+    // Seções do painel do professor, sem o limite de linhas do painel
+    public void exportarDesempenhoAvaliacoes(UUID professorId, Integer meses, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        params.add(professorId);
+        String sql = """
+                SELECT a.id AS avaliacao_id,
+                       a.descricao,
+                       a.data,
+                       COUNT(n.aluno_id) AS respondentes,
+                       ROUND(AVG(n.nota), 2) AS media,
+                       ROUND(MAX(n.nota), 2) AS maior,
+                       ROUND(MIN(n.nota), 2) AS menor
+                  FROM avaliacoes a
+             LEFT JOIN notas_avaliacao_aluno n ON n.avaliacao_id = a.id AND n.respostas > 0
+                 WHERE %s%s
+              GROUP BY a.id, a.descricao, a.data
+              ORDER BY a.data DESC, a.id
+             """.formatted(DO_PROFESSOR, filtroMeses(meses, params));
+
+        exportar(sql, params, escritor);
+    }
+
+    public void exportarDesempenhoAlunos(UUID professorId, Integer meses, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        params.add(professorId);
+        String sql = """
+                SELECT al.id AS aluno_id,
+                       al.matricula,
+                       u.email,
+                       COUNT(*) AS provas,
+                       ROUND(AVG(n.nota), 2) AS media,
+                       ROUND(MAX(n.nota), 2) AS maior,
+                       ROUND(MIN(n.nota), 2) AS menor
+                  FROM notas_avaliacao_aluno n
+                  JOIN avaliacoes a ON a.id = n.avaliacao_id
+                  JOIN alunos al ON al.id = n.aluno_id
+                  JOIN usuarios u ON u.id = al.usuario_id
+                 WHERE n.respostas > 0
+                   AND %s%s
+              GROUP BY al.id, al.matricula, u.email
+              ORDER BY AVG(n.nota) DESC NULLS LAST, COUNT(*) DESC, al.matricula
+              """.formatted(DO_PROFESSOR, filtroMeses(meses, params));
+
+        exportar(sql, params, escritor);
+    }
+
+    public void exportarDesempenhoQuestoes(UUID professorId, Integer meses, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        String juncao = "LEFT JOIN resumo_mensal_questao r ON r.questao_id = q.questao_id";
+        if (meses != null && meses > 0) {
+            juncao = "JOIN resumo_mensal_questao r ON r.questao_id = q.questao_id AND r.mes >= "
+                    + RelatorioProfessorRepository.INICIO_JANELA;
+            params.add(meses);
+        }
+        params.add(professorId);
+
+        String sql = """
+                SELECT q.questao_id,
+                       q.enunciado,
+                       q.tema,
+                       q.tipo,
+                       q.dificuldade,
+                       COALESCE(SUM(r.respostas), 0) AS respostas,
+                       COALESCE(SUM(r.corrigidas), 0) AS corrigidas,
+                       ROUND(SUM(r.soma_notas) * 10 / NULLIF(SUM(r.corrigidas), 0), 2) AS media,
+                       ROUND(SUM(r.soma_notas) * 100 / NULLIF(SUM(r.corrigidas), 0), 2) AS percentual_acerto
+                  FROM questoes q
+                  %s
+                 WHERE q.professor_id = ?
+              GROUP BY q.questao_id, q.enunciado, q.tema, q.tipo, q.dificuldade
+              ORDER BY media ASC NULLS LAST, respostas DESC, q.questao_id
+              """.formatted(juncao);
+
+        exportar(sql, params, escritor);
+    }
+
+    private String filtroAvaliacoes(
+            UUID avaliacaoId, String doProfessor, UUID professorId, Integer meses, List<Object> params) {
+        StringBuilder filtro = new StringBuilder("TRUE");
+        if (avaliacaoId != null) {
+            filtro.append(" AND a.id = ?");
+            params.add(avaliacaoId);
+        }
+        if (professorId != null) {
+            filtro.append(" AND ").append(doProfessor);
+            params.add(professorId);
+        }
+        filtro.append(filtroMeses(meses, params));
+        return filtro.toString();
+    }
+
+    // Mesma janela em meses fechados dos resumos mensais e do painel
+    private String filtroMeses(Integer meses, List<Object> params) {
+        if (meses == null || meses <= 0) {
+            return "";
+        }
+        params.add(meses);
+        return " AND a.data >= " + RelatorioProfessorRepository.INICIO_JANELA;
+    }
+
+    private void exportar(String sql, List<Object> params, EscritorLinhas escritor)
+            throws SQLException, IOException {
+        try (Connection conn = dataSource.getConnection()) {
+            // O driver do PostgreSQL só usa cursor (fetch size) fora do autocommit
+            conn.setAutoCommit(false);
+            try (PreparedStatement pst = conn.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pst.setFetchSize(lote);
+                for (int i = 0; i < params.size(); i++) {
+                    pst.setObject(i + 1, params.get(i));
+                }
+
+                try (ResultSet rs = pst.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    int colunas = meta.getColumnCount();
+                    String[] cabecalho = new String[colunas];
+                    for (int i = 0; i < colunas; i++) {
+                        cabecalho[i] = meta.getColumnLabel(i + 1);
+                    }
+                    escritor.cabecalho(cabecalho);
+
+                    // Um único array reaproveitado: o escritor consome a linha antes da próxima
+                    Object[] valores = new Object[colunas];
+                    while (rs.next()) {
+                        for (int i = 0; i < colunas; i++) {
+                            valores[i] = valor(rs.getObject(i + 1));
+                        }
+                        escritor.linha(valores);
+                    }
+                }
+                escritor.concluir();
+            } finally {
+                // Só leitura: encerra a transação do cursor sem gravar nada
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private Object valor(Object valor) {
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (valor instanceof Date data) {
+            return data.toLocalDate();
+        }
+        return valor;
+    }
+}
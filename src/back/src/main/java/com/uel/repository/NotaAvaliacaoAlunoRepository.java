@@ -0,0 +1,229 @@
+package com.uel.repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class NotaAvaliacaoAlunoRepository {
+    private final DataSource dataSource;
+
+    public NotaAvaliacaoAlunoRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Somas em vez de recálculo: dois envios concorrentes do mesmo aluno não se sobrescrevem.
+    // Um delta por (avaliação, aluno); devolve os totais resultantes de cada par.
+    public List<Totais> aplicarDeltas(Collection<Delta> deltas) throws SQLException {
+        String sql = """
+                  INSERT INTO notas_avaliacao_aluno (avaliacao_id, aluno_id, respostas, corrigidas, soma_notas)
+                  SELECT *
+                    FROM unnest(?::uuid[], ?::uuid[], ?::int[], ?::int[], ?::numeric[])
+                ORDER BY 1, 2
+                  ON CONFLICT (avaliacao_id, aluno_id) DO UPDATE SET
+                      respostas = notas_avaliacao_aluno.respostas + EXCLUDED.respostas,
+                      corrigidas = notas_avaliacao_aluno.corrigidas + EXCLUDED.corrigidas,
+                      soma_notas = notas_avaliacao_aluno.soma_notas + EXCLUDED.soma_notas,
+                      atualizado_em = CURRENT_TIMESTAMP
+                  RETURNING avaliacao_id, aluno_id, corrigidas, soma_notas
+                """;
+
+        List<Totais> totais = new ArrayList<>();
+        if (deltas.isEmpty()) {
+            return totais;
+        }
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setArray(1, conn.createArrayOf("uuid", deltas.stream().map(Delta::avaliacaoId).toArray()));
+            pst.setArray(2, conn.createArrayOf("uuid", deltas.stream().map(Delta::alunoId).toArray()));
+            pst.setArray(3, conn.createArrayOf("integer", deltas.stream().map(Delta::respostas).toArray()));
+            pst.setArray(4, conn.createArrayOf("integer", deltas.stream().map(Delta::corrigidas).toArray()));
+            pst.setArray(5, conn.createArrayOf("numeric", deltas.stream().map(Delta::somaNotas).toArray()));
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    totais.add(new Totais(
+                            rs.getObject("avaliacao_id", UUID.class),
+                            rs.getObject("aluno_id", UUID.class),
+                            rs.getInt("corrigidas"),
+                            rs.getBigDecimal("soma_notas")));
+                }
+            }
+        }
+        return totais;
+    }
+
+    public Totais buscarTotais(UUID avaliacaoId, UUID alunoId) throws SQLException {
+        String sql = """
+                  SELECT avaliacao_id, aluno_id, corrigidas, soma_notas
+                    FROM notas_avaliacao_aluno
+                   WHERE avaliacao_id = ? AND aluno_id = ?
+                """;
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setObject(1, avaliacaoId);
+            pst.setObject(2, alunoId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                if (rs.next()) {
+                    return new Totais(
+                            rs.getObject("avaliacao_id", UUID.class),
+                            rs.getObject("aluno_id", UUID.class),
+                            rs.getInt("corrigidas"),
+                            rs.getBigDecimal("soma_notas"));
+                }
+            }
+        }
+        return null;
+    }
+
+    // Alunos por faixa de 0,1 ponto da nota (mesma conta de HistogramaNotas.faixa)
+    public long[] contarPorFaixa(UUID avaliacaoId, int faixas) throws SQLException {
+        String sql = """
+                  SELECT LEAST(GREATEST(ROUND(soma_notas * 100 / corrigidas), 0), ?)::int AS faixa,
+                         COUNT(*) AS alunos
+                    FROM notas_avaliacao_aluno
+                   WHERE avaliacao_id = ? AND corrigidas > 0
+                GROUP BY 1
+                """;
+
+        long[] alunos = new long[faixas];
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setInt(1, faixas - 1);
+            pst.setObject(2, avaliacaoId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    alunos[rs.getInt("faixa")] = rs.getLong("alunos");
+                }
+            }
+        }
+        return alunos;
+    }
+
+    public List<ResumoMensalRepository.Delta> removerRespostasDaQuestao(UUID questaoId) throws SQLException {
+        return removerRespostas("questao_id = ?", questaoId);
+    }
+
+    public List<ResumoMensalRepository.Delta> removerRespostasDaQuestaoNaAvaliacao(UUID avaliacaoId, UUID questaoId)
+            throws SQLException {
+        return removerRespostas("avaliacao_id = ? AND questao_id = ?", avaliacaoId, questaoId);
+    }
+
+    public List<ResumoMensalRepository.Delta> removerRespostasDaAvaliacao(UUID avaliacaoId) throws SQLException {
+        return removerRespostas("avaliacao_id = ?", avaliacaoId);
+    }
+
+    public List<ResumoMensalRepository.Delta> removerRespostasDoAlunoNaAvaliacao(UUID avaliacaoId, UUID alunoId)
+            throws SQLException {
+        return removerRespostas("avaliacao_id = ? AND aluno_id = ?", avaliacaoId, alunoId);
+    }
+
+    public List<ResumoMensalRepository.Delta> removerRespostasDoAluno(UUID alunoId) throws SQLException {
+        return removerRespostas("aluno_id = ?", alunoId);
+    }
+
+    // Apaga as respostas antes do CASCADE e desconta exatamente as linhas apagadas;
+    // devolve o que cada resposta apagada somava, para descontar também dos resumos mensais
+    private List<ResumoMensalRepository.Delta> removerRespostas(String condicao, UUID... params)
+            throws SQLException {
+        String sql = """
+                  WITH removidas AS (
+                      DELETE FROM respostas_alunos
+                       WHERE %s
+                   RETURNING avaliacao_id, questao_id, aluno_id,
+                             (corrigido = TRUE AND nota IS NOT NULL) AS contada, nota
+                  ),
+                  deltas AS (
+                      SELECT avaliacao_id,
+                             aluno_id,
+                             COUNT(*) AS respostas,
+                             COUNT(*) FILTER (WHERE contada) AS corrigidas,
+                             COALESCE(SUM(nota) FILTER (WHERE contada), 0) AS soma_notas
+                        FROM removidas
+                    GROUP BY avaliacao_id, aluno_id
+                  ),
+                  atualizadas AS (
+                      UPDATE notas_avaliacao_aluno n
+                         SET respostas = n.respostas - d.respostas,
+                             corrigidas = n.corrigidas - d.corrigidas,
+                             soma_notas = n.soma_notas - d.soma_notas,
+                             atualizado_em = CURRENT_TIMESTAMP
+                        FROM deltas d
+                       WHERE n.avaliacao_id = d.avaliacao_id
+                         AND n.aluno_id = d.aluno_id
+                  )
+                  SELECT avaliacao_id,
+                         questao_id,
+                         aluno_id,
+                         contada,
+                         CASE WHEN contada THEN nota ELSE 0 END AS nota
+                    FROM removidas
+                """.formatted(condicao);
+
+        List<ResumoMensalRepository.Delta> removidas = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pst.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    removidas.add(new ResumoMensalRepository.Delta(
+                            rs.getObject("avaliacao_id", UUID.class),
+                            rs.getObject("questao_id", UUID.class),
+                            rs.getObject("aluno_id", UUID.class),
+                            1,
+                            rs.getBoolean("contada") ? 1 : 0,
+                            rs.getBigDecimal("nota")));
+                }
+            }
+        }
+        return removidas;
+    }
+
+    // Recalcula tudo a partir de respostas_alunos; deve rodar dentro de uma transação
+    public int reconstruir() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+                Statement st = conn.createStatement()) {
+            // Bloqueia novas respostas e correções enquanto a tabela é refeita
+            st.execute("LOCK TABLE respostas_alunos IN SHARE MODE");
+            st.executeUpdate("DELETE FROM notas_avaliacao_aluno");
+            return st.executeUpdate("""
+                    INSERT INTO notas_avaliacao_aluno (avaliacao_id, aluno_id, respostas, corrigidas, soma_notas)
+                    SELECT avaliacao_id,
+                           aluno_id,
+                           COUNT(*),
+                           COUNT(*) FILTER (WHERE corrigido = TRUE AND nota IS NOT NULL),
+                           COALESCE(SUM(nota) FILTER (WHERE corrigido = TRUE AND nota IS NOT NULL), 0)
+                      FROM respostas_alunos
+                  GROUP BY avaliacao_id, aluno_id
+                  """);
+        }
+    }
+
+    public record Delta(
+            UUID avaliacaoId,
+            UUID alunoId,
+            int respostas,
+            int corrigidas,
+            BigDecimal somaNotas) {
+    }
+
+    public record Totais(UUID avaliacaoId, UUID alunoId, int corrigidas, BigDecimal somaNotas) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.uel.repository;
+
+import com.uel.dto.Pagina;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Paginação por chave (keyset): o cursor carrega os valores da ordenação da última linha
+// entregue, e a próxima página começa logo depois deles usando o mesmo índice, sem OFFSET.
+public final class Paginacao {
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    @FunctionalInterface
+    public interface Leitor<T> {
+        T ler(ResultSet rs) throws SQLException;
+    }
+
+    private Paginacao() {
+    }
+
+    public static int limite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return limite;
+    }
+
+    // Cada parte vai em Base64 separada, para textos da chave (e-mail, área) não colidirem com o separador
+    public static String codificar(Object... partes) {
+        StringBuilder cursor = new StringBuilder();
+        for (Object parte : partes) {
+            if (cursor.length() > 0) {
+                cursor.append('.');
+            }
+            cursor.append(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(parte).getBytes(StandardCharsets.UTF_8)));
+        }
+        return cursor.toString();
+    }
+
+    public static Object[] decodificar(String cursor, int partes, Function<String[], Object[]> conversor) {
+        String[] codificadas = cursor.split("\\.", -1);
+        if (codificadas.length != partes) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            String[] valores = new String[partes];
+            for (int i = 0; i < partes; i++) {
+                valores[i] = new String(Base64.getUrlDecoder().decode(codificadas[i]), StandardCharsets.UTF_8);
+            }
+            return conversor.apply(valores);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    // A consulta pede limite + 1 linhas: a sobra só indica que existe próxima página
+    public static <T> Pagina<T> ler(ResultSet rs, int limite, Leitor<T> leitor, Leitor<String> chave)
+            throws SQLException {
+        List<T> itens = new ArrayList<>();
+        String ultimaChave = null;
+        while (rs.next()) {
+            if (itens.size() == limite) {
+                return new Pagina<>(itens, ultimaChave);
+            }
+            itens.add(leitor.ler(rs));
+            ultimaChave = chave.ler(rs);
+        }
+        return new Pagina<>(itens, null);
+    }
+}
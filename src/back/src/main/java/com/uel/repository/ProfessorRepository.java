@@ -1,13 +1,13 @@
 package com.uel.repository;
 
+import com.uel.dto.Pagina;
+import com.uel.dto.ProvaTutorDTO;
 import com.uel.entity.Professor;
 import com.uel.entity.Usuario;
-import com.uel.dto.ProvaTutorDTO;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -60,30 +60,43 @@ public class ProfessorRepository {
         return null;
     }
 
-    public List<Professor> listarTodos() throws SQLException {
+    // Ordem de área com id para desempatar; o filtro de área usa o mesmo índice (area, id)
+    public Pagina<Professor> listar(String area, String cursor, int limite) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder filtro = new StringBuilder("TRUE");
+        if (area != null) {
+            filtro.append(" AND p.area = ?");
+            params.add(area);
+        }
+        if (cursor != null) {
+            filtro.append(" AND (p.area, p.id) > (?, ?)");
+            params.addAll(List.of(Paginacao.decodificar(cursor, 2, chave -> new Object[] {
+                    chave[0], UUID.fromString(chave[1])})));
+        }
+        params.add(limite + 1);
+
         String sql = """
                   SELECT p.id,
                          p.area,
                          p.usuario_id,
-                         u.email        AS usuario_email,
-                         u.salt         AS usuario_salt,
-                         u.hash_senha   AS usuario_hash
+                         u.email        AS usuario_email
                     FROM professores p
                     JOIN usuarios u ON u.id = p.usuario_id
-                ORDER BY p.area
-                  """;
-        List<Professor> professores = new ArrayList<>();
+                   WHERE %s
+                ORDER BY p.area, p.id
+                   LIMIT ?
+                """.formatted(filtro);
 
-        try (
-                Connection conn = dataSource.getConnection();
-                Statement st = conn.createStatement();
-                ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) {
-                professores.add(map(rs));
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                pst.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pst.executeQuery()) {
+                return Paginacao.ler(rs, limite, linha -> map(linha, false), linha -> Paginacao.codificar(
+                        linha.getString("area"),
+                        linha.getObject("id", UUID.class)));
             }
         }
-
-        return professores;
     }
 
     public void atualizar(Professor professor) throws SQLException {
@@ -159,13 +172,6 @@ public class ProfessorRepository {
 
     public List<ProvaTutorDTO> listarProvasComTutor(UUID alunoId) throws SQLException {
         String sql = """
-                WITH responsavel AS (
-                    SELECT aq.avaliacao_id,
-                           q.professor_id,
-                           ROW_NUMBER() OVER (PARTITION BY aq.avaliacao_id ORDER BY aq.ordem) AS rn
-                      FROM avaliacao_questoes aq
-                      JOIN questoes q ON q.questao_id = aq.questao_id
-                )
                 SELECT a.id               AS avaliacao_id,
                        a.descricao        AS avaliacao_descricao,
                        a.data             AS avaliacao_data,
@@ -178,8 +184,7 @@ public class ProfessorRepository {
                        COUNT(DISTINCT CASE WHEN ra.id IS NOT NULL THEN ra.questao_id END) AS respondidas
                   FROM avaliacao_alunos aa
                   JOIN avaliacoes a ON a.id = aa.avaliacao_id
-                  JOIN responsavel r ON r.avaliacao_id = a.id AND r.rn = 1
-                  JOIN professores p ON p.id = r.professor_id
+                  JOIN professores p ON p.id = a.professor_id
                   JOIN usuarios u ON u.id = p.usuario_id
              LEFT JOIN avaliacao_questoes aq ON aq.avaliacao_id = a.id
              LEFT JOIN questoes q ON q.questao_id = aq.questao_id
@@ -217,6 +222,11 @@ public class ProfessorRepository {
     }
 
     private Professor map(ResultSet rs) throws SQLException {
+        return map(rs, true);
+    }
+
+    // listar() não traz salt nem hash_senha
+    private Professor map(ResultSet rs, boolean comCredenciais) throws SQLException {
         UUID id = rs.getObject("id", UUID.class);
         String area = rs.getString("area");
         UUID usuarioId = rs.getObject("usuario_id", UUID.class);
@@ -224,8 +234,8 @@ public class ProfessorRepository {
         Usuario usuario = null;
         if (usuarioId != null) {
             String email = rs.getString("usuario_email");
-            String salt = rs.getString("usuario_salt");
-            String hashSenha = rs.getString("usuario_hash");
+            String salt = comCredenciais ? rs.getString("usuario_salt") : null;
+            String hashSenha = comCredenciais ? rs.getString("usuario_hash") : null;
             usuario = new Usuario(usuarioId, email, salt, hashSenha);
         }
 
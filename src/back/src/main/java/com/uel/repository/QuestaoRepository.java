@@ -1,5 +1,7 @@
 package com.uel.repository;
 
+import com.uel.dto.Pagina;
+import com.uel.dto.QuestaoBuscaDTO;
 import com.uel.entity.Questao;
 import com.uel.enums.Dificuldade;
 import com.uel.enums.TipoQuestao;
@@ -8,6 +10,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -64,24 +67,180 @@ public class QuestaoRepository {
         return null;
     }
 
-    public List<Questao> listarTodas() throws SQLException {
+    // Mais recentes primeiro; questao_id desempata questões criadas na mesma transação.
+    // Cada filtro tem índice (filtro, criado_em, questao_id), então a página custa ~limite linhas.
+    public Pagina<Questao> listar(
+            UUID professorId,
+            TipoQuestao tipo,
+            Dificuldade dificuldade,
+            String tema,
+            String cursor,
+            int limite) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder filtro = new StringBuilder("TRUE");
+        if (professorId != null) {
+            filtro.append(" AND professor_id = ?");
+            params.add(professorId);
+        }
+        if (tipo != null) {
+            filtro.append(" AND tipo = ?");
+            params.add(tipo.name());
+        }
+        if (dificuldade != null) {
+            filtro.append(" AND dificuldade = ?");
+            params.add(dificuldade.name());
+        }
+        if (tema != null) {
+            filtro.append(" AND tema = ?");
+            params.add(tema);
+        }
+        if (cursor != null) {
+            filtro.append(" AND (criado_em, questao_id) < (?, ?)");
+            params.addAll(List.of(Paginacao.decodificar(cursor, 2, chave -> new Object[] {
+                    LocalDateTime.parse(chave[0]), UUID.fromString(chave[1])})));
+        }
+        params.add(limite + 1);
+
         String sql = """
-                  SELECT questao_id, enunciado, tema, tipo, dificuldade, resposta_esperada, professor_id
+                  SELECT questao_id, enunciado, tema, tipo, dificuldade, resposta_esperada, professor_id, criado_em
                   FROM questoes
-                  ORDER BY criado_em DESC
-                """;
+                  WHERE %s
+                  ORDER BY criado_em DESC, questao_id DESC
+                  LIMIT ?
+                """.formatted(filtro);
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
 
-        List<Questao> questoes = new ArrayList<>();
+            for (int i = 0; i < params.size(); i++) {
+                pst.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pst.executeQuery()) {
+                return Paginacao.ler(rs, limite, this::mapearQuestao, linha -> Paginacao.codificar(
+                        linha.getObject("criado_em", LocalDateTime.class),
+                        linha.getObject("questao_id", UUID.class)));
+            }
+        }
+    }
+
+    // Busca textual na coluna gerada `busca` (índice GIN), ordenada por relevância e questao_id.
+    // websearch_to_tsquery aceita a entrada do usuário como está ("aspas", -exclusão, or).
+    public Pagina<QuestaoBuscaDTO> buscar(
+            String termos,
+            UUID professorId,
+            TipoQuestao tipo,
+            Dificuldade dificuldade,
+            String cursor,
+            int limite) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        params.add(termos);
+        StringBuilder filtro = new StringBuilder("q.busca @@ c.consulta");
+        if (professorId != null) {
+            filtro.append(" AND q.professor_id = ?");
+            params.add(professorId);
+        }
+        if (tipo != null) {
+            filtro.append(" AND q.tipo = ?");
+            params.add(tipo.name());
+        }
+        if (dificuldade != null) {
+            filtro.append(" AND q.dificuldade = ?");
+            params.add(dificuldade.name());
+        }
+        String apos = "TRUE";
+        if (cursor != null) {
+            apos = "(relevancia, questao_id) < (?, ?)";
+            params.addAll(List.of(Paginacao.decodificar(cursor, 2, chave -> new Object[] {
+                    Float.parseFloat(chave[0]), UUID.fromString(chave[1])})));
+        }
+        params.add(limite + 1);
+
+        String sql = """
+                  SELECT *
+                  FROM (SELECT q.questao_id, q.enunciado, q.tema, q.tipo, q.dificuldade, q.resposta_esperada,
+                               q.professor_id, ts_rank(q.busca, c.consulta) AS relevancia
+                        FROM questoes q,
+                             websearch_to_tsquery('portugues_sem_acento', ?) AS c(consulta)
+                        WHERE %s) r
+                  WHERE %s
+                  ORDER BY relevancia DESC, questao_id DESC
+                  LIMIT ?
+                """.formatted(filtro, apos);
 
         try (Connection conn = dataSource.getConnection();
-                Statement st = conn.createStatement();
-                ResultSet rs = st.executeQuery(sql)) {
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pst.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pst.executeQuery()) {
+                return Paginacao.ler(rs, limite, linha -> {
+                    Questao questao = mapearQuestao(linha);
+                    return new QuestaoBuscaDTO(
+                            questao.getId(),
+                            questao.getEnunciado(),
+                            questao.getTema(),
+                            questao.getTipo(),
+                            questao.getDificuldade(),
+                            questao.getRespostaEsperada(),
+                            questao.getProfessorId(),
+                            linha.getFloat("relevancia"));
+                }, linha -> Paginacao.codificar(
+                        linha.getFloat("relevancia"),
+                        linha.getObject("questao_id", UUID.class)));
+            }
+        }
+    }
+
+    // Carga completa do índice de temas (autocompletar); professor nulo entra só no total
+    // Contagem e instantâneo (pg_current_snapshot) da mesma leitura: quem recarrega o índice de temas
+    // sabe quais transações já estão na contagem
+    public ContagemTemas contarTemasPorProfessor() throws SQLException {
+        String sql = """
+                  SELECT professor_id, tema, COUNT(*) AS questoes
+                  FROM questoes
+                  GROUP BY professor_id, tema
+                """;
 
-            while (rs.next()) {
-                questoes.add(mapearQuestao(rs));
+        List<TemaProfessor> temas = new ArrayList<>();
+        String instantaneo;
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement st = conn.createStatement()) {
+                try (ResultSet rs = st.executeQuery("SELECT pg_current_snapshot()::text")) {
+                    rs.next();
+                    instantaneo = rs.getString(1);
+                }
+                try (ResultSet rs = st.executeQuery(sql)) {
+                    while (rs.next()) {
+                        temas.add(new TemaProfessor(
+                                rs.getObject("professor_id", UUID.class),
+                                rs.getString("tema"),
+                                rs.getInt("questoes")));
+                    }
+                }
+            } finally {
+                // Só leitura: encerra a transação sem gravar nada
+                conn.rollback();
+                conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                conn.setAutoCommit(true);
             }
         }
-        return questoes;
+        return new ContagemTemas(instantaneo, temas);
+    }
+
+    // Id da transação corrente (atribuído na primeira escrita), comparado com o instantâneo acima
+    public long transacaoAtual() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+                Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT pg_current_xact_id()::text")) {
+            rs.next();
+            return Long.parseLong(rs.getString(1));
+        }
     }
 
     public void atualizar(Questao questao) throws SQLException {
@@ -127,4 +286,10 @@ public class QuestaoRepository {
         questao.setProfessorId(rs.getObject("professor_id", UUID.class));
         return questao;
     }
+
+    public record TemaProfessor(UUID professorId, String tema, int questoes) {
+    }
+
+    public record ContagemTemas(String instantaneo, List<TemaProfessor> temas) {
+    }
 }
@@ -1,5 +1,6 @@
 package com.uel.repository;
 
+import com.uel.dto.DesempenhoMensalDTO;
 import com.uel.dto.DistribuicaoDificuldadeDTO;
 import com.uel.enums.Dificuldade;
 import java.math.BigDecimal;
@@ -7,6 +8,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -26,20 +28,12 @@ public class RelatorioAlunoRepository {
             Integer meses,
             UUID professorId) throws SQLException {
         StringBuilder sql = new StringBuilder("""
-                WITH responsavel AS (
-                    SELECT aq.avaliacao_id,
-                           q.professor_id,
-                           ROW_NUMBER() OVER (PARTITION BY aq.avaliacao_id ORDER BY aq.ordem) AS rn
-                      FROM avaliacao_questoes aq
-                      JOIN questoes q ON q.questao_id = aq.questao_id
-                )
                 SELECT q.dificuldade,
                        COUNT(*) AS total_questoes,
                        COUNT(ra.id) AS respondidas,
                        AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END) AS media_nota
                   FROM avaliacao_alunos aa
                   JOIN avaliacoes a ON a.id = aa.avaliacao_id
-                  JOIN responsavel r ON r.avaliacao_id = a.id AND r.rn = 1
                   JOIN avaliacao_questoes aq ON aq.avaliacao_id = a.id
                   JOIN questoes q ON q.questao_id = aq.questao_id
              LEFT JOIN respostas_alunos ra
@@ -53,12 +47,12 @@ public class RelatorioAlunoRepository {
         parametros.add(alunoId);
 
         if (meses != null && meses > 0) {
-            sql.append(" AND a.data >= CURRENT_DATE - make_interval(months => ?)");
+            sql.append(" AND a.data >= " + RelatorioProfessorRepository.INICIO_JANELA);
             parametros.add(meses);
         }
 
         if (professorId != null) {
-            sql.append(" AND r.professor_id = ?");
+            sql.append(" AND a.professor_id = ?");
             parametros.add(professorId);
         }
 
@@ -95,4 +89,43 @@ public class RelatorioAlunoRepository {
             return resultado;
         }
     }
+
+    // Um bucket de resumo_mensal_aluno por mês, sem varrer respostas_alunos
+    public List<DesempenhoMensalDTO> listarDesempenhoMensal(UUID alunoId, Integer meses) throws SQLException {
+        StringBuilder sql = new StringBuilder("""
+                SELECT mes,
+                       respostas,
+                       corrigidas,
+                       ROUND(soma_notas * 10 / NULLIF(corrigidas, 0), 2) AS media_nota
+                  FROM resumo_mensal_aluno
+                 WHERE aluno_id = ?
+                   AND respostas > 0
+                """);
+        boolean comJanela = meses != null && meses > 0;
+        if (comJanela) {
+            sql.append(" AND mes >= ").append(RelatorioProfessorRepository.INICIO_JANELA);
+        }
+        sql.append(" ORDER BY mes");
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            pst.setObject(1, alunoId);
+            if (comJanela) {
+                pst.setInt(2, meses);
+            }
+
+            List<DesempenhoMensalDTO> resultado = new ArrayList<>();
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal mediaNota = rs.getBigDecimal("media_nota");
+                    resultado.add(new DesempenhoMensalDTO(
+                            rs.getObject("mes", LocalDate.class),
+                            rs.getInt("respostas"),
+                            rs.getInt("corrigidas"),
+                            mediaNota != null ? mediaNota.doubleValue() : null));
+                }
+            }
+            return resultado;
+        }
+    }
 }
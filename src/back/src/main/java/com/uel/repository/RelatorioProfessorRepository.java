@@ -15,95 +15,38 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class RelatorioProfessorRepository {
+    // Janela de "meses" de todos os relatórios: começa no primeiro dia do mês do corte, que é
+    // onde começam os resumos mensais; seções sobre avaliações usam o mesmo corte em a.data
+    static final String INICIO_JANELA = "date_trunc('month', CURRENT_DATE - make_interval(months => ?))::date";
+
     private final DataSource dataSource;
+    // Seção abandonada pelo serviço não deve continuar segurando a conexão
+    private final int tempoLimiteSegundos;
 
-    public RelatorioProfessorRepository(DataSource dataSource) {
+    public RelatorioProfessorRepository(
+            DataSource dataSource,
+            @Value("${notaki.relatorios.tempo-limite-ms:5000}") long tempoLimiteMs) {
         this.dataSource = dataSource;
+        this.tempoLimiteSegundos = (int) Math.max(1, (tempoLimiteMs + 999) / 1000);
     }
 
-    public ResumoProfessorDTO buscarResumo(UUID professorId, Integer meses) throws SQLException {
-        StringBuilder sql = new StringBuilder("""
-                WITH avaliacoes_prof AS (
-                    SELECT DISTINCT aq.avaliacao_id
-                      FROM avaliacao_questoes aq
-                      JOIN questoes q ON q.questao_id = aq.questao_id
-                     WHERE q.professor_id = ?
-                ),
-                avaliacoes_filtradas AS (
-                    SELECT a.id, a.data
-                      FROM avaliacoes a
-                      JOIN avaliacoes_prof ap ON ap.avaliacao_id = a.id
-                """);
-        List<Object> params = new ArrayList<>();
-        params.add(professorId);
-
-        if (meses != null && meses > 0) {
-            sql.append(" WHERE a.data >= CURRENT_DATE - make_interval(months => ?)");
-            params.add(meses);
-        }
-
-        sql.append("""
-                ),
-                notas AS (
-                    SELECT ra.avaliacao_id,
-                           ra.aluno_id,
-                           AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END) AS nota
-                      FROM respostas_alunos ra
-                      JOIN avaliacoes_filtradas af ON af.id = ra.avaliacao_id
-                  GROUP BY ra.avaliacao_id, ra.aluno_id
-                ),
-                respostas_prof AS (
-                    SELECT ra.id, ra.corrigido
-                      FROM respostas_alunos ra
-                      JOIN questoes q ON q.questao_id = ra.questao_id
-                      JOIN avaliacao_questoes aq ON aq.questao_id = q.questao_id AND aq.avaliacao_id = ra.avaliacao_id
-                      JOIN avaliacoes_filtradas af ON af.id = ra.avaliacao_id
-                     WHERE q.professor_id = ?
-                )
-                SELECT (SELECT COUNT(*) FROM avaliacoes_filtradas) AS total_avaliacoes,
-                       (SELECT COUNT(DISTINCT aluno_id) FROM avaliacao_alunos aa WHERE aa.avaliacao_id IN (SELECT id FROM avaliacoes_filtradas)) AS total_alunos,
-                       ROUND(COALESCE(AVG(nota), 0), 2) AS media_geral,
-                       COALESCE(MAX(nota), 0) AS melhor_nota,
-                       COALESCE(MIN(nota), 0) AS pior_nota,
-                       (SELECT COUNT(*) FROM respostas_prof WHERE corrigido = TRUE) AS respostas_corrigidas
-                  FROM notas
-                """);
-
-        params.add(professorId);
-
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement pst = conn.prepareStatement(sql.toString())) {
-            preencherParametros(pst, params);
-            try (ResultSet rs = pst.executeQuery()) {
-                if (rs.next()) {
-                    return new ResumoProfessorDTO(
-                            rs.getInt("total_avaliacoes"),
-                            rs.getInt("total_alunos"),
-                            rs.getDouble("media_geral"),
-                            rs.getDouble("melhor_nota"),
-                            rs.getDouble("pior_nota"),
-                            rs.getInt("respostas_corrigidas"));
-                }
-            }
-        }
-
-        return new ResumoProfessorDTO(0, 0, 0d, 0d, 0d, 0);
-    }
-
-    public List<AvaliacaoDesempenhoDTO> listarDesempenhoAvaliacoes(UUID professorId, Integer meses, int limite)
+    // Resumo, desempenho por avaliação e ranking de alunos saem da mesma base (avaliações do
+    // professor e suas notas), calculada uma vez; cada linha traz a seção em "secao"
+    public PainelBase buscarPainelBase(UUID professorId, Integer meses, int limiteAvaliacoes, int limiteAlunos)
             throws SQLException {
         StringBuilder sql = new StringBuilder("""
-                WITH avaliacoes_prof AS (
+                WITH avaliacoes_prof AS MATERIALIZED (
                     SELECT DISTINCT aq.avaliacao_id
                       FROM avaliacao_questoes aq
                       JOIN questoes q ON q.questao_id = aq.questao_id
                      WHERE q.professor_id = ?
                 ),
-                avaliacoes_filtradas AS (
+                avaliacoes_filtradas AS MATERIALIZED (
                     SELECT a.id, a.descricao, a.data
                       FROM avaliacoes a
                       JOIN avaliacoes_prof ap ON ap.avaliacao_id = a.id
@@ -112,171 +55,168 @@ public class RelatorioProfessorRepository {
         params.add(professorId);
 
         if (meses != null && meses > 0) {
-            sql.append(" WHERE a.data >= CURRENT_DATE - make_interval(months => ?)");
+            sql.append(" WHERE a.data >= " + INICIO_JANELA);
             params.add(meses);
         }
 
         sql.append("""
                 ),
-                notas AS (
-                    SELECT ra.avaliacao_id,
-                           ra.aluno_id,
-                           AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END) AS nota
-                      FROM respostas_alunos ra
-                      JOIN avaliacoes_filtradas af ON af.id = ra.avaliacao_id
-                  GROUP BY ra.avaliacao_id, ra.aluno_id
-                )
-                SELECT af.id,
-                       af.descricao,
-                       af.data,
-                       ROUND(COALESCE(AVG(n.nota), 0), 2) AS media_nota,
-                       COALESCE(MAX(n.nota), 0) AS maior_nota,
-                       COALESCE(MIN(n.nota), 0) AS menor_nota,
-                       COUNT(DISTINCT n.aluno_id) AS respondentes
-                  FROM avaliacoes_filtradas af
-             LEFT JOIN notas n ON n.avaliacao_id = af.id
-              GROUP BY af.id, af.descricao, af.data
-              ORDER BY af.data DESC
-                 LIMIT ?
-                """);
-
-        params.add(limite);
-
-        List<AvaliacaoDesempenhoDTO> resultados = new ArrayList<>();
-
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement pst = conn.prepareStatement(sql.toString())) {
-            preencherParametros(pst, params);
-            try (ResultSet rs = pst.executeQuery()) {
-                while (rs.next()) {
-                    resultados.add(new AvaliacaoDesempenhoDTO(
-                            rs.getObject("id", UUID.class),
-                            rs.getString("descricao"),
-                            rs.getObject("data", LocalDate.class),
-                            rs.getDouble("media_nota"),
-                            rs.getDouble("maior_nota"),
-                            rs.getDouble("menor_nota"),
-                            rs.getInt("respondentes")));
-                }
-            }
-        }
-
-        return resultados;
-    }
-
-    public List<AlunoComparativoDTO> rankingAlunos(UUID professorId, Integer meses, int limite) throws SQLException {
-        StringBuilder sql = new StringBuilder("""
-                WITH avaliacoes_prof AS (
-                    SELECT DISTINCT aq.avaliacao_id
-                      FROM avaliacao_questoes aq
-                      JOIN questoes q ON q.questao_id = aq.questao_id
-                     WHERE q.professor_id = ?
-                ),
-                avaliacoes_filtradas AS (
-                    SELECT a.id
-                      FROM avaliacoes a
-                      JOIN avaliacoes_prof ap ON ap.avaliacao_id = a.id
-                """);
-        List<Object> params = new ArrayList<>();
-        params.add(professorId);
-
-        if (meses != null && meses > 0) {
-            sql.append(" WHERE a.data >= CURRENT_DATE - make_interval(months => ?)");
-            params.add(meses);
-        }
-
-        sql.append("""
+                notas AS MATERIALIZED (
+                    SELECT n.avaliacao_id,
+                           n.aluno_id,
+                           n.nota
+                      FROM notas_avaliacao_aluno n
+                      JOIN avaliacoes_filtradas af ON af.id = n.avaliacao_id
+                     WHERE n.respostas > 0
                 ),
-                notas AS (
-                    SELECT ra.avaliacao_id,
-                           ra.aluno_id,
-                           AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END) AS nota
-                      FROM respostas_alunos ra
-                      JOIN avaliacoes_filtradas af ON af.id = ra.avaliacao_id
-                  GROUP BY ra.avaliacao_id, ra.aluno_id
+                por_avaliacao AS (
+                    SELECT af.id,
+                           af.descricao,
+                           af.data,
+                           AVG(n.nota) AS media,
+                           MAX(n.nota) AS maior,
+                           MIN(n.nota) AS menor,
+                           COUNT(n.aluno_id) AS respondentes,
+                           ROW_NUMBER() OVER (ORDER BY af.data DESC) AS posicao
+                      FROM avaliacoes_filtradas af
+                 LEFT JOIN notas n ON n.avaliacao_id = af.id
+                  GROUP BY af.id, af.descricao, af.data
                 ),
-                agrupado AS (
+                por_aluno AS (
                     SELECT aluno_id,
                            AVG(nota) AS media,
-                           MAX(nota) AS melhor,
-                           MIN(nota) AS pior,
-                           COUNT(DISTINCT avaliacao_id) AS provas
+                           MAX(nota) AS maior,
+                           MIN(nota) AS menor,
+                           COUNT(*) AS provas,
+                           ROW_NUMBER() OVER (ORDER BY AVG(nota) DESC NULLS LAST, COUNT(*) DESC) AS posicao
                       FROM notas
                   GROUP BY aluno_id
                 )
-                SELECT ag.aluno_id,
-                       al.matricula,
-                       u.email,
-                       ROUND(COALESCE(ag.media, 0), 2) AS media,
-                       COALESCE(ag.melhor, 0) AS melhor_nota,
-                       COALESCE(ag.pior, 0) AS pior_nota,
-                       ag.provas
-                  FROM agrupado ag
-                  JOIN alunos al ON al.id = ag.aluno_id
+                SELECT 'R' AS secao,
+                       0::bigint AS posicao,
+                       NULL::uuid AS id,
+                       NULL::text AS descricao,
+                       NULL::date AS data,
+                       NULL::text AS matricula,
+                       NULL::text AS email,
+                       ROUND(COALESCE(AVG(nota), 0), 2) AS media,
+                       COALESCE(MAX(nota), 0) AS maior,
+                       COALESCE(MIN(nota), 0) AS menor,
+                       (SELECT COUNT(*) FROM avaliacoes_filtradas) AS total_avaliacoes,
+                       (SELECT COUNT(DISTINCT aa.aluno_id)
+                          FROM avaliacao_alunos aa
+                          JOIN avaliacoes_filtradas af ON af.id = aa.avaliacao_id) AS total,
+                       (SELECT COUNT(*)
+                          FROM respostas_alunos ra
+                          JOIN questoes q ON q.questao_id = ra.questao_id
+                          JOIN avaliacao_questoes aq ON aq.questao_id = ra.questao_id AND aq.avaliacao_id = ra.avaliacao_id
+                          JOIN avaliacoes_filtradas af ON af.id = ra.avaliacao_id
+                         WHERE q.professor_id = ?
+                           AND ra.corrigido = TRUE) AS respostas_corrigidas,
+                       ARRAY(SELECT avaliacao_id FROM avaliacoes_prof) AS avaliacao_ids
+                  FROM notas
+                UNION ALL
+                SELECT 'A', pa.posicao, pa.id, pa.descricao, pa.data, NULL, NULL,
+                       ROUND(COALESCE(pa.media, 0), 2), COALESCE(pa.maior, 0), COALESCE(pa.menor, 0),
+                       NULL, pa.respondentes, NULL, NULL
+                  FROM por_avaliacao pa
+                 WHERE pa.posicao <= ?
+                UNION ALL
+                SELECT 'L', pl.posicao, pl.aluno_id, NULL, NULL, al.matricula, u.email,
+                       ROUND(COALESCE(pl.media, 0), 2), COALESCE(pl.maior, 0), COALESCE(pl.menor, 0),
+                       NULL, pl.provas, NULL, NULL
+                  FROM por_aluno pl
+                  JOIN alunos al ON al.id = pl.aluno_id
                   JOIN usuarios u ON u.id = al.usuario_id
-              ORDER BY ag.media DESC NULLS LAST, ag.provas DESC
-                 LIMIT ?
+                 WHERE pl.posicao <= ?
+              ORDER BY secao DESC, posicao
                 """);
 
-        params.add(limite);
+        params.add(professorId);
+        params.add(limiteAvaliacoes);
+        params.add(limiteAlunos);
 
-        List<AlunoComparativoDTO> resultados = new ArrayList<>();
+        ResumoProfessorDTO resumo = new ResumoProfessorDTO(0, 0, 0d, 0d, 0d, 0);
+        List<AvaliacaoDesempenhoDTO> avaliacoes = new ArrayList<>();
+        List<AlunoComparativoDTO> alunos = new ArrayList<>();
+        List<UUID> avaliacaoIds = new ArrayList<>();
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            pst.setQueryTimeout(tempoLimiteSegundos);
             preencherParametros(pst, params);
             try (ResultSet rs = pst.executeQuery()) {
                 while (rs.next()) {
-                    resultados.add(new AlunoComparativoDTO(
-                            rs.getObject("aluno_id", UUID.class),
-                            rs.getString("matricula"),
-                            rs.getString("email"),
-                            rs.getDouble("media"),
-                            rs.getDouble("melhor_nota"),
-                            rs.getDouble("pior_nota"),
-                            rs.getInt("provas")));
+                    switch (rs.getString("secao")) {
+                        case "R" -> {
+                            resumo = new ResumoProfessorDTO(
+                                    rs.getInt("total_avaliacoes"),
+                                    rs.getInt("total"),
+                                    rs.getDouble("media"),
+                                    rs.getDouble("maior"),
+                                    rs.getDouble("menor"),
+                                    rs.getInt("respostas_corrigidas"));
+                            avaliacaoIds.addAll(List.of((UUID[]) rs.getArray("avaliacao_ids").getArray()));
+                        }
+                        case "A" -> avaliacoes.add(new AvaliacaoDesempenhoDTO(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("descricao"),
+                                rs.getObject("data", LocalDate.class),
+                                rs.getDouble("media"),
+                                rs.getDouble("maior"),
+                                rs.getDouble("menor"),
+                                rs.getInt("total")));
+                        case "L" -> alunos.add(new AlunoComparativoDTO(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("matricula"),
+                                rs.getString("email"),
+                                rs.getDouble("media"),
+                                rs.getDouble("maior"),
+                                rs.getDouble("menor"),
+                                rs.getInt("total")));
+                        default -> throw new IllegalStateException("Seção desconhecida no painel");
+                    }
                 }
             }
         }
 
-        return resultados;
+        return new PainelBase(resumo, avaliacoes, alunos, avaliacaoIds);
     }
 
     public List<QuestaoDesafioDTO> listarQuestoesDificeis(UUID professorId, Integer meses, int limite)
             throws SQLException {
-        StringBuilder sql = new StringBuilder("""
+        List<Object> params = new ArrayList<>();
+        // Sem janela entram também as questões nunca respondidas
+        String juncao = "LEFT JOIN resumo_mensal_questao r ON r.questao_id = q.questao_id";
+        if (meses != null && meses > 0) {
+            juncao = "JOIN resumo_mensal_questao r ON r.questao_id = q.questao_id AND r.mes >= " + INICIO_JANELA;
+            params.add(meses);
+        }
+        params.add(professorId);
+
+        String sql = """
                 SELECT q.questao_id,
                        q.enunciado,
                        q.tema,
                        q.dificuldade,
-                       ROUND(AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END), 2) AS media,
-                       COUNT(ra.id) AS total_respostas,
-                       ROUND(AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota END) * 100, 2) AS percentual_acerto
+                       ROUND(SUM(r.soma_notas) * 10 / NULLIF(SUM(r.corrigidas), 0), 2) AS media,
+                       COALESCE(SUM(r.respostas), 0) AS total_respostas,
+                       ROUND(SUM(r.soma_notas) * 100 / NULLIF(SUM(r.corrigidas), 0), 2) AS percentual_acerto
                   FROM questoes q
-             LEFT JOIN respostas_alunos ra ON ra.questao_id = q.questao_id
-             LEFT JOIN avaliacoes a ON a.id = ra.avaliacao_id
+                  %s
                  WHERE q.professor_id = ?
-                """);
-        List<Object> params = new ArrayList<>();
-        params.add(professorId);
-
-        if (meses != null && meses > 0) {
-            sql.append("   AND a.data >= CURRENT_DATE - make_interval(months => ?)");
-            params.add(meses);
-        }
-
-        sql.append("""
               GROUP BY q.questao_id, q.enunciado, q.tema, q.dificuldade
               ORDER BY media ASC NULLS LAST, total_respostas DESC
                  LIMIT ?
-                """);
+              """.formatted(juncao);
 
         params.add(limite);
 
         List<QuestaoDesafioDTO> resultados = new ArrayList<>();
 
         try (Connection conn = dataSource.getConnection();
-                PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setQueryTimeout(tempoLimiteSegundos);
             preencherParametros(pst, params);
             try (ResultSet rs = pst.executeQuery()) {
                 while (rs.next()) {
@@ -298,23 +238,21 @@ public class RelatorioProfessorRepository {
     public List<RankingProfessorDTO> rankingProfessores(Integer meses, int limite) throws SQLException {
         StringBuilder sql = new StringBuilder("""
                 WITH respostas AS (
-                    SELECT q.professor_id,
-                           AVG(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota * 10 END) AS media,
-                           COUNT(CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN 1 END) AS corrigidas
-                      FROM questoes q
-                 LEFT JOIN respostas_alunos ra ON ra.questao_id = q.questao_id
-                 LEFT JOIN avaliacoes a ON a.id = ra.avaliacao_id
-                     WHERE 1=1
+                    SELECT professor_id,
+                           SUM(soma_notas) * 10 / NULLIF(SUM(corrigidas), 0) AS media,
+                           SUM(corrigidas) AS corrigidas
+                      FROM resumo_mensal_professor
                 """);
         List<Object> params = new ArrayList<>();
 
         if (meses != null && meses > 0) {
-            sql.append("   AND a.data >= CURRENT_DATE - make_interval(months => ?)");
+            sql.append("     WHERE mes >= " + INICIO_JANELA);
             params.add(meses);
         }
 
         sql.append("""
-                  GROUP BY q.professor_id
+
+                  GROUP BY professor_id
                 )
                 SELECT p.id,
                        u.email AS nome,
@@ -335,6 +273,7 @@ public class RelatorioProfessorRepository {
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            pst.setQueryTimeout(tempoLimiteSegundos);
             preencherParametros(pst, params);
             try (ResultSet rs = pst.executeQuery()) {
                 while (rs.next()) {
@@ -366,4 +305,12 @@ public class RelatorioProfessorRepository {
             }
         }
     }
+
+    public record PainelBase(
+            ResumoProfessorDTO resumo,
+            List<AvaliacaoDesempenhoDTO> avaliacoes,
+            List<AlunoComparativoDTO> alunos,
+            // Todas as avaliações com questões do professor, inclusive fora da janela
+            List<UUID> avaliacaoIds) {
+    }
 }
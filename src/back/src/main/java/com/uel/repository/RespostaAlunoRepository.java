@@ -7,7 +7,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.springframework.stereotype.Repository;
@@ -20,32 +22,69 @@ public class RespostaAlunoRepository {
         this.dataSource = dataSource;
     }
 
-    public void criar(RespostaAluno resposta) throws SQLException {
+    public RespostaAluno criarOuObter(RespostaAluno resposta) throws SQLException {
         String sql = """
                   INSERT INTO respostas_alunos
                   (id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
                    vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em)
                   VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                  ON CONFLICT (avaliacao_id, aluno_id, questao_id) DO NOTHING
+                  RETURNING id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
+                            vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em
                 """;
 
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                preencherInsercao(pst, 0, resposta);
+
+                try (ResultSet rs = pst.executeQuery()) {
+                    if (rs.next()) {
+                        return mapearResposta(rs);
+                    }
+                }
+            }
+            // Reenvio: devolve a resposta já gravada para a mesma questão
+            return buscarPorChave(conn, resposta.getAvaliacaoId(), resposta.getAlunoId(), resposta.getQuestaoId());
+        }
+    }
+
+    public List<RespostaAluno> criarEmLote(List<RespostaAluno> respostas) throws SQLException {
+        String sql = """
+                  INSERT INTO respostas_alunos
+                  (id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
+                   vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em)
+                  VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                  ON CONFLICT (avaliacao_id, aluno_id, questao_id) DO NOTHING
+                """;
+
+        if (respostas.isEmpty()) {
+            return respostas;
+        }
+
+        List<RespostaAluno> gravadas = new ArrayList<>();
+
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pst = conn.prepareStatement(sql)) {
+            for (RespostaAluno resposta : respostas) {
+                preencherInsercao(pst, 0, resposta);
+                pst.addBatch();
+            }
+            int[] inseridas = pst.executeBatch();
 
-            pst.setObject(1, resposta.getId());
-            pst.setObject(2, resposta.getAvaliacaoId());
-            pst.setObject(3, resposta.getAlunoId());
-            pst.setObject(4, resposta.getQuestaoId());
-            pst.setObject(5, resposta.getAlternativaEscolhidaId());
-            pst.setObject(6, resposta.getVoufItemId());
-            pst.setObject(7, resposta.getVoufResposta());
-            pst.setString(8, resposta.getRespostaTexto());
-            pst.setBigDecimal(9, resposta.getNota());
-            pst.setBoolean(10, resposta.getCorrigido() != null ? resposta.getCorrigido() : false);
-            pst.setTimestamp(11, resposta.getRespondidoEm() != null ? Timestamp.valueOf(resposta.getRespondidoEm())
-                    : new Timestamp(System.currentTimeMillis()));
+            List<RespostaAluno> conflitos = new ArrayList<>();
+            for (int i = 0; i < respostas.size(); i++) {
+                if (inseridas[i] == 0) {
+                    conflitos.add(respostas.get(i));
+                }
+            }
+            // Reenvios: as respostas já gravadas vêm numa consulta só, não uma por linha
+            Map<List<UUID>, RespostaAluno> existentes = buscarPorChaves(conn, conflitos);
 
-            pst.executeUpdate();
+            for (int i = 0; i < respostas.size(); i++) {
+                gravadas.add(inseridas[i] == 0 ? existentes.get(chave(respostas.get(i))) : respostas.get(i));
+            }
         }
+        return gravadas;
     }
 
     public List<RespostaAluno> buscarPorAvaliacaoEAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
@@ -74,13 +113,56 @@ public class RespostaAlunoRepository {
         return respostas;
     }
 
+    // Um único INSERT com várias linhas; usado pela fila de ingestão assíncrona.
+    // Devolve os ids realmente inseridos (reenvios ficam de fora)
+    public List<UUID> inserirIgnorandoDuplicadas(List<RespostaAluno> respostas) throws SQLException {
+        List<UUID> inseridas = new ArrayList<>();
+        if (respostas.isEmpty()) {
+            return inseridas;
+        }
+
+        StringBuilder sql = new StringBuilder("""
+                  INSERT INTO respostas_alunos
+                  (id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
+                   vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em)
+                  VALUES
+                """);
+        for (int i = 0; i < respostas.size(); i++) {
+            sql.append(i == 0 ? "" : ",\n").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        sql.append("\nON CONFLICT (avaliacao_id, aluno_id, questao_id) DO NOTHING RETURNING id");
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < respostas.size(); i++) {
+                preencherInsercao(pst, i * 11, respostas.get(i));
+            }
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    inseridas.add(rs.getObject("id", UUID.class));
+                }
+            }
+        }
+        return inseridas;
+    }
+
     public RespostaAluno buscarPorId(UUID id) throws SQLException {
+        return buscarPorId(id, "");
+    }
+
+    // Trava a linha até o fim da transação: correções concorrentes da mesma resposta leem
+    // o estado anterior uma de cada vez, e o delta das notas agregadas não conta em dobro
+    public RespostaAluno buscarPorIdParaAtualizar(UUID id) throws SQLException {
+        return buscarPorId(id, " FOR UPDATE");
+    }
+
+    private RespostaAluno buscarPorId(UUID id, String trava) throws SQLException {
         String sql = """
                   SELECT id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
                          vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em
                   FROM respostas_alunos
                   WHERE id = ?
-                """;
+                """ + trava;
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement pst = conn.prepareStatement(sql)) {
@@ -119,29 +201,6 @@ public class RespostaAlunoRepository {
         }
     }
 
-    public boolean jaRespondeu(UUID avaliacaoId, UUID alunoId, UUID questaoId) throws SQLException {
-        String sql = """
-                  SELECT COUNT(*)
-                  FROM respostas_alunos
-                  WHERE avaliacao_id = ? AND aluno_id = ? AND questao_id = ?
-                """;
-
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement pst = conn.prepareStatement(sql)) {
-
-            pst.setObject(1, avaliacaoId);
-            pst.setObject(2, alunoId);
-            pst.setObject(3, questaoId);
-
-            try (ResultSet rs = pst.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        }
-        return false;
-    }
-
     public List<com.uel.dto.CorrecaoDissertativaDTO> listarParaCorrecao(UUID professorId, Boolean corrigido)
             throws SQLException {
         StringBuilder sql = new StringBuilder("""
@@ -217,6 +276,82 @@ public class RespostaAlunoRepository {
         return resultados;
     }
 
+    private RespostaAluno buscarPorChave(Connection conn, UUID avaliacaoId, UUID alunoId, UUID questaoId)
+            throws SQLException {
+        String sql = """
+                  SELECT id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
+                         vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em
+                  FROM respostas_alunos
+                  WHERE avaliacao_id = ? AND aluno_id = ? AND questao_id = ?
+                """;
+
+        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setObject(1, avaliacaoId);
+            pst.setObject(2, alunoId);
+            pst.setObject(3, questaoId);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                if (rs.next()) {
+                    return mapearResposta(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Map<List<UUID>, RespostaAluno> buscarPorChaves(Connection conn, List<RespostaAluno> respostas)
+            throws SQLException {
+        Map<List<UUID>, RespostaAluno> encontradas = new HashMap<>();
+        if (respostas.isEmpty()) {
+            return encontradas;
+        }
+
+        String sql = """
+                  SELECT id, avaliacao_id, aluno_id, questao_id, alternativa_escolhida_id,
+                         vouf_item_id, vouf_resposta, resposta_texto, nota, corrigido, respondido_em
+                  FROM respostas_alunos
+                  WHERE (avaliacao_id, aluno_id, questao_id) IN (
+                      SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::uuid[]))
+                """;
+
+        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setArray(1, conn.createArrayOf("uuid",
+                    respostas.stream().map(RespostaAluno::getAvaliacaoId).toArray()));
+            pst.setArray(2, conn.createArrayOf("uuid",
+                    respostas.stream().map(RespostaAluno::getAlunoId).toArray()));
+            pst.setArray(3, conn.createArrayOf("uuid",
+                    respostas.stream().map(RespostaAluno::getQuestaoId).toArray()));
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    RespostaAluno resposta = mapearResposta(rs);
+                    encontradas.put(chave(resposta), resposta);
+                }
+            }
+        }
+        return encontradas;
+    }
+
+    private static List<UUID> chave(RespostaAluno resposta) {
+        return List.of(resposta.getAvaliacaoId(), resposta.getAlunoId(), resposta.getQuestaoId());
+    }
+
+    private void preencherInsercao(PreparedStatement pst, int inicio, RespostaAluno resposta) throws SQLException {
+        pst.setObject(inicio + 1, resposta.getId());
+        pst.setObject(inicio + 2, resposta.getAvaliacaoId());
+        pst.setObject(inicio + 3, resposta.getAlunoId());
+        pst.setObject(inicio + 4, resposta.getQuestaoId());
+        pst.setObject(inicio + 5, resposta.getAlternativaEscolhidaId());
+        pst.setObject(inicio + 6, resposta.getVoufItemId());
+        pst.setObject(inicio + 7, resposta.getVoufResposta());
+        pst.setString(inicio + 8, resposta.getRespostaTexto());
+        pst.setBigDecimal(inicio + 9, resposta.getNota());
+        pst.setBoolean(inicio + 10, resposta.getCorrigido() != null ? resposta.getCorrigido() : false);
+        pst.setTimestamp(inicio + 11, resposta.getRespondidoEm() != null
+                ? Timestamp.valueOf(resposta.getRespondidoEm())
+                : new Timestamp(System.currentTimeMillis()));
+    }
+
     private RespostaAluno mapearResposta(ResultSet rs) throws SQLException {
         RespostaAluno resposta = new RespostaAluno();
         resposta.setId(rs.getObject("id", UUID.class));
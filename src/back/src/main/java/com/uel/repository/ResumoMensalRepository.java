@@ -0,0 +1,157 @@
+package com.uel.repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Repository;
+
+// resumo_mensal_questao/professor/aluno: mesmos deltas de notas_avaliacao_aluno, agrupados pelo
+// mês da avaliação. Tabelas sempre na mesma ordem e linhas ordenadas pela chave, para que
+// transações concorrentes travem os buckets na mesma sequência.
+@Repository
+public class ResumoMensalRepository {
+    private static final List<String> CHAVES = List.of("questao_id", "professor_id", "aluno_id");
+
+    private static final String DELTAS = """
+            SELECT d.questao_id,
+                   q.professor_id,
+                   d.aluno_id,
+                   date_trunc('month', a.data)::date AS mes,
+                   d.respostas,
+                   d.corrigidas,
+                   d.soma_notas
+              FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::int[], ?::int[], ?::numeric[])
+                   AS d(avaliacao_id, questao_id, aluno_id, respostas, corrigidas, soma_notas)
+              JOIN avaliacoes a ON a.id = d.avaliacao_id
+              JOIN questoes q ON q.questao_id = d.questao_id
+            """;
+
+    private static final String RESPOSTAS = """
+            SELECT ra.questao_id,
+                   q.professor_id,
+                   ra.aluno_id,
+                   date_trunc('month', a.data)::date AS mes,
+                   1 AS respostas,
+                   CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN 1 ELSE 0 END AS corrigidas,
+                   CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN ra.nota ELSE 0 END AS soma_notas
+              FROM respostas_alunos ra
+              JOIN avaliacoes a ON a.id = ra.avaliacao_id
+              JOIN questoes q ON q.questao_id = ra.questao_id
+            """;
+
+    // Respostas de uma avaliação fora do mês atual (-1) e dentro do mês da nova data (+1)
+    private static final String MUDANCA_DE_MES = """
+            SELECT ra.questao_id,
+                   q.professor_id,
+                   ra.aluno_id,
+                   m.mes,
+                   m.sinal AS respostas,
+                   CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN m.sinal ELSE 0 END AS corrigidas,
+                   CASE WHEN ra.corrigido = TRUE AND ra.nota IS NOT NULL THEN m.sinal * ra.nota ELSE 0 END AS soma_notas
+              FROM respostas_alunos ra
+              JOIN avaliacoes a ON a.id = ra.avaliacao_id
+              JOIN questoes q ON q.questao_id = ra.questao_id
+             CROSS JOIN LATERAL (VALUES (date_trunc('month', a.data)::date, -1),
+                                        (date_trunc('month', ?::date)::date, 1)) AS m(mes, sinal)
+             WHERE ra.avaliacao_id = ?
+            """;
+
+    private final DataSource dataSource;
+
+    public ResumoMensalRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void aplicarDeltas(Collection<Delta> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            Array avaliacoes = conn.createArrayOf("uuid", deltas.stream().map(Delta::avaliacaoId).toArray());
+            Array questoes = conn.createArrayOf("uuid", deltas.stream().map(Delta::questaoId).toArray());
+            Array alunos = conn.createArrayOf("uuid", deltas.stream().map(Delta::alunoId).toArray());
+            Array respostas = conn.createArrayOf("integer", deltas.stream().map(Delta::respostas).toArray());
+            Array corrigidas = conn.createArrayOf("integer", deltas.stream().map(Delta::corrigidas).toArray());
+            Array somas = conn.createArrayOf("numeric", deltas.stream().map(Delta::somaNotas).toArray());
+
+            for (String chave : CHAVES) {
+                try (PreparedStatement pst = conn.prepareStatement(somarEmBuckets(chave, DELTAS))) {
+                    pst.setArray(1, avaliacoes);
+                    pst.setArray(2, questoes);
+                    pst.setArray(3, alunos);
+                    pst.setArray(4, respostas);
+                    pst.setArray(5, corrigidas);
+                    pst.setArray(6, somas);
+                    pst.executeUpdate();
+                }
+            }
+        }
+    }
+
+    // Deve rodar antes do UPDATE da data em avaliacoes, enquanto a.data ainda é a antiga
+    public void moverAvaliacao(UUID avaliacaoId, LocalDate novaData) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            for (String chave : CHAVES) {
+                try (PreparedStatement pst = conn.prepareStatement(somarEmBuckets(chave, MUDANCA_DE_MES))) {
+                    pst.setObject(1, novaData);
+                    pst.setObject(2, avaliacaoId);
+                    pst.executeUpdate();
+                }
+            }
+        }
+    }
+
+    // Recalcula tudo a partir de respostas_alunos; deve rodar na mesma transação e depois de
+    // NotaAvaliacaoAlunoRepository.reconstruir(), que já travou respostas_alunos
+    public void reconstruir() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+                Statement st = conn.createStatement()) {
+            for (String chave : CHAVES) {
+                st.executeUpdate("DELETE FROM " + tabela(chave));
+                st.executeUpdate(somarEmBuckets(chave, RESPOSTAS));
+            }
+        }
+    }
+
+    private String somarEmBuckets(String chave, String origem) {
+        return """
+                INSERT INTO %1$s (%2$s, mes, respostas, corrigidas, soma_notas)
+                SELECT %2$s, mes, SUM(respostas), SUM(corrigidas), SUM(soma_notas)
+                  FROM (%3$s) d
+                 WHERE %2$s IS NOT NULL
+              GROUP BY %2$s, mes
+              ORDER BY %2$s, mes
+                ON CONFLICT (%2$s, mes) DO UPDATE SET
+                    respostas = %1$s.respostas + EXCLUDED.respostas,
+                    corrigidas = %1$s.corrigidas + EXCLUDED.corrigidas,
+                    soma_notas = %1$s.soma_notas + EXCLUDED.soma_notas
+              """.formatted(tabela(chave), chave, origem);
+    }
+
+    private String tabela(String chave) {
+        return "resumo_mensal_" + chave.substring(0, chave.length() - "_id".length());
+    }
+
+    // Contribuição de um grupo de respostas de um aluno numa questão de uma avaliação
+    public record Delta(
+            UUID avaliacaoId,
+            UUID questaoId,
+            UUID alunoId,
+            int respostas,
+            int corrigidas,
+            BigDecimal somaNotas) {
+
+        public Delta negativo() {
+            return new Delta(avaliacaoId, questaoId, alunoId, -respostas, -corrigidas, somaNotas.negate());
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.uel.repository;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Usuario;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.springframework.stereotype.Repository;
@@ -60,7 +58,9 @@ public class UsuarioRepository {
     return null;
   }
 
-  public List<Usuario> listarTodos() throws SQLException {
+  // Ordem de e-mail (único): o próprio índice da restrição UNIQUE serve a paginação
+  public Pagina<Usuario> listar(String cursor, int limite) throws SQLException {
+    String apos = cursor == null ? null : (String) Paginacao.decodificar(cursor, 1, chave -> new Object[] {chave[0]})[0];
     String sql = """
           SELECT u.id,
                  u.email,
@@ -71,20 +71,48 @@ public class UsuarioRepository {
             FROM usuarios u
             LEFT JOIN alunos a ON a.usuario_id = u.id
             LEFT JOIN professores p ON p.usuario_id = u.id
+           WHERE %s
         ORDER BY u.email
-          """;
-    List<Usuario> usuarios = new ArrayList<>();
-
-    try (
-        Connection conn = dataSource.getConnection();
-        Statement st = conn.createStatement();
-        ResultSet rs = st.executeQuery(sql)) {
-      while (rs.next()) {
-        usuarios.add(mapper(rs));
+           LIMIT ?
+        """.formatted(apos == null ? "TRUE" : "u.email > ?");
+
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      int i = 1;
+      if (apos != null) {
+        pst.setString(i++, apos);
+      }
+      pst.setInt(i, limite + 1);
+      try (ResultSet rs = pst.executeQuery()) {
+        return Paginacao.ler(rs, limite, this::mapper, linha -> Paginacao.codificar(linha.getString("email")));
       }
     }
+  }
 
-    return usuarios;
+  public Usuario buscarPorEmail(String email) throws SQLException {
+    String sql = """
+        SELECT u.id,
+               u.email,
+               u.salt,
+               u.hash_senha,
+               a.id AS aluno_id,
+               p.id AS professor_id
+          FROM usuarios u
+          LEFT JOIN alunos a ON a.usuario_id = u.id
+          LEFT JOIN professores p ON p.usuario_id = u.id
+         WHERE u.email = ?
+        """;
+
+    try (Connection conn = dataSource.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+      pst.setString(1, email);
+
+      try (ResultSet rs = pst.executeQuery()) {
+        if (rs.next()) {
+          return mapper(rs);
+        }
+      }
+    }
+
+    return null;
   }
 
   public void atualizar(Usuario usuario) throws SQLException {
@@ -6,6 +6,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import javax.sql.DataSource;
@@ -61,6 +62,33 @@ public class VoufRepository {
         return itens;
     }
 
+    public List<Vouf> buscarPorQuestaoIds(Collection<UUID> questaoIds) throws SQLException {
+        String sql = """
+                  SELECT id, item, verdadeiro, questao_id
+                  FROM vouf
+                  WHERE questao_id = ANY(?)
+                  ORDER BY questao_id, criado_em
+                """;
+
+        List<Vouf> itens = new ArrayList<>();
+        if (questaoIds.isEmpty()) {
+            return itens;
+        }
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement pst = conn.prepareStatement(sql)) {
+
+            pst.setArray(1, conn.createArrayOf("uuid", questaoIds.toArray()));
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    itens.add(mapearVouf(rs));
+                }
+            }
+        }
+        return itens;
+    }
+
     public Vouf buscarPorId(UUID id) throws SQLException {
         String sql = """
                   SELECT id, item, verdadeiro, questao_id
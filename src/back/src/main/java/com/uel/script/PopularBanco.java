@@ -1,5 +1,7 @@
 package com.uel.script;
 
+import com.uel.analise.AnaliseItensJob;
+import com.uel.cache.RankingProfessoresCache;
 import com.uel.controller.QuestaoController.AlternativaRequest;
 import com.uel.controller.QuestaoController.VoufRequest;
 import com.uel.entity.Alternativa;
@@ -15,6 +17,7 @@ import com.uel.enums.Dificuldade;
 import com.uel.enums.TipoQuestao;
 import com.uel.repository.AlternativaRepository;
 import com.uel.repository.VoufRepository;
+import com.uel.service.AgregacaoNotasService;
 import com.uel.service.AlunoService;
 import com.uel.service.AvaliacaoQuestaoService;
 import com.uel.service.AvaliacaoService;
@@ -59,6 +62,9 @@ public class PopularBanco {
       AvaliacaoService avaliacaoService,
       AvaliacaoQuestaoService avaliacaoQuestaoService,
       RespostaAlunoService respostaAlunoService,
+      AgregacaoNotasService agregacaoNotasService,
+      RankingProfessoresCache rankingProfessoresCache,
+      AnaliseItensJob analiseItensJob,
       AlternativaRepository alternativaRepository,
       VoufRepository voufRepository,
       DataSource dataSource) {
@@ -533,7 +539,7 @@ public class PopularBanco {
         // Avaliação 1 respostas
         respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(0).getId(), q1.getId(), alternativaCorreta(alternativas.get(q1)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(0).getId(), q3.getId(), null, itensVouf.get(q3).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(0).getId(), q5.getId(), null, null, null, "Normaliza até remover dependências transitivas."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(0).getId(), q5.getId(), null, null, null, "Normaliza até remover dependências transitivas.").resposta());
 
         respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(1).getId(), q1.getId(), alternativaErrada(alternativas.get(q1)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(1).getId(), q2.getId(), alternativaCorreta(alternativas.get(q2)), null, null, null);
@@ -547,15 +553,15 @@ public class PopularBanco {
         respostaAlunoService.responderQuestao(avaliacao1.getId(), alunos.get(4).getId(), q2.getId(), alternativaCorreta(alternativas.get(q2)), null, null, null);
 
         // Avaliação 2 respostas
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(0).getId(), q6.getId(), null, null, null, "Permite colaboração segura e histórico de mudanças."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(0).getId(), q6.getId(), null, null, null, "Permite colaboração segura e histórico de mudanças.").resposta());
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(0).getId(), q7.getId(), alternativaCorreta(alternativas.get(q7)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(0).getId(), q9.getId(), null, itensVouf.get(q9).getFirst().getId(), true, null);
 
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(1).getId(), q7.getId(), alternativaErrada(alternativas.get(q7)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(1).getId(), q8.getId(), alternativaCorreta(alternativas.get(q8)), null, null, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(1).getId(), q10.getId(), null, null, null, "Quando consultas usam várias colunas juntas com frequência."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(1).getId(), q10.getId(), null, null, null, "Quando consultas usam várias colunas juntas com frequência.").resposta());
 
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(2).getId(), q6.getId(), null, null, null, "Mantém histórico e facilita rollback."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(2).getId(), q6.getId(), null, null, null, "Mantém histórico e facilita rollback.").resposta());
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(2).getId(), q9.getId(), null, itensVouf.get(q9).getFirst().getId(), true, null);
 
         respostaAlunoService.responderQuestao(avaliacao2.getId(), alunos.get(3).getId(), q7.getId(), alternativaCorreta(alternativas.get(q7)), null, null, null);
@@ -566,7 +572,7 @@ public class PopularBanco {
         // Avaliação 3 respostas
         respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q11.getId(), alternativaCorreta(alternativas.get(q11)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q12.getId(), null, itensVouf.get(q12).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q13.getId(), null, null, null, "ACID garante atomicidade, consistência, isolamento e durabilidade."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q13.getId(), null, null, null, "ACID garante atomicidade, consistência, isolamento e durabilidade.").resposta());
         respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q14.getId(), alternativaCorreta(alternativas.get(q14)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao3.getId(), alunos.get(0).getId(), q15.getId(), null, itensVouf.get(q15).getFirst().getId(), false, null);
 
@@ -575,7 +581,7 @@ public class PopularBanco {
 
         // Avaliação 4 respostas
         respostaAlunoService.responderQuestao(avaliacao4.getId(), alunos.get(1).getId(), q1.getId(), alternativaCorreta(alternativas.get(q1)), null, null, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao4.getId(), alunos.get(1).getId(), q6.getId(), null, null, null, "Controle de versão guarda histórico e facilita auditoria."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao4.getId(), alunos.get(1).getId(), q6.getId(), null, null, null, "Controle de versão guarda histórico e facilita auditoria.").resposta());
         respostaAlunoService.responderQuestao(avaliacao4.getId(), alunos.get(1).getId(), q12.getId(), null, itensVouf.get(q12).getFirst().getId(), true, null);
 
         respostaAlunoService.responderQuestao(avaliacao4.getId(), alunos.get(2).getId(), q8.getId(), alternativaCorreta(alternativas.get(q8)), null, null, null);
@@ -584,7 +590,7 @@ public class PopularBanco {
         // Avaliação 5 respostas
         respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(2).getId(), q2.getId(), alternativaCorreta(alternativas.get(q2)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(2).getId(), q3.getId(), null, itensVouf.get(q3).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(2).getId(), q5.getId(), null, null, null, "Elimina dependências transitivas e redundâncias."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(2).getId(), q5.getId(), null, null, null, "Elimina dependências transitivas e redundâncias.").resposta());
 
         respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(3).getId(), q7.getId(), alternativaErrada(alternativas.get(q7)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao5.getId(), alunos.get(3).getId(), q11.getId(), alternativaCorreta(alternativas.get(q11)), null, null, null);
@@ -592,18 +598,18 @@ public class PopularBanco {
         // Avaliação 6 respostas
         respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(0).getId(), q16.getId(), alternativaCorreta(alternativas.get(q16)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(0).getId(), q17.getId(), null, itensVouf.get(q17).getFirst().getId(), false, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Usar quando eventos precisam sair em prioridade."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Usar quando eventos precisam sair em prioridade.").resposta());
 
         respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(1).getId(), q16.getId(), alternativaErrada(alternativas.get(q16)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(1).getId(), q20.getId(), null, itensVouf.get(q20).getFirst().getId(), true, null);
 
         respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(2).getId(), q17.getId(), null, itensVouf.get(q17).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(2).getId(), q10.getId(), null, null, null, "Índices compostos quando filtros combinam colunas."));
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(2).getId(), q18.getId(), null, null, null, "Fila de prioridade para escalonar jobs críticos."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(2).getId(), q10.getId(), null, null, null, "Índices compostos quando filtros combinam colunas.").resposta());
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao6.getId(), alunos.get(2).getId(), q18.getId(), null, null, null, "Fila de prioridade para escalonar jobs críticos.").resposta());
 
         // Avaliação 7 respostas
         respostaAlunoService.responderQuestao(avaliacao7.getId(), alunos.get(0).getId(), q14.getId(), alternativaCorreta(alternativas.get(q14)), null, null, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao7.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Usar fila de prioridade para eventos urgentes."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao7.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Usar fila de prioridade para eventos urgentes.").resposta());
         respostaAlunoService.responderQuestao(avaliacao7.getId(), alunos.get(0).getId(), q20.getId(), null, itensVouf.get(q20).getFirst().getId(), true, null);
 
         respostaAlunoService.responderQuestao(avaliacao7.getId(), alunos.get(3).getId(), q14.getId(), alternativaCorreta(alternativas.get(q14)), null, null, null);
@@ -621,7 +627,7 @@ public class PopularBanco {
         // Avaliação 9 respostas
         respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(0).getId(), q1.getId(), alternativaCorreta(alternativas.get(q1)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(0).getId(), q4.getId(), null, itensVouf.get(q4).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Fila de prioridade para escalonar builds."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(0).getId(), q18.getId(), null, null, null, "Fila de prioridade para escalonar builds.").resposta());
 
         respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(2).getId(), q16.getId(), alternativaCorreta(alternativas.get(q16)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao9.getId(), alunos.get(2).getId(), q4.getId(), null, itensVouf.get(q4).getFirst().getId(), true, null);
@@ -629,7 +635,7 @@ public class PopularBanco {
         // Avaliação 10 respostas
         respostaAlunoService.responderQuestao(avaliacao10.getId(), alunos.get(3).getId(), q7.getId(), alternativaCorreta(alternativas.get(q7)), null, null, null);
         respostaAlunoService.responderQuestao(avaliacao10.getId(), alunos.get(3).getId(), q12.getId(), null, itensVouf.get(q12).getFirst().getId(), true, null);
-        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao10.getId(), alunos.get(3).getId(), q13.getId(), null, null, null, "ACID protege consistência mesmo em falhas."));
+        dissertativasParaCorrigir.add(respostaAlunoService.responderQuestao(avaliacao10.getId(), alunos.get(3).getId(), q13.getId(), null, null, null, "ACID protege consistência mesmo em falhas.").resposta());
         respostaAlunoService.responderQuestao(avaliacao10.getId(), alunos.get(3).getId(), q19.getId(), alternativaCorreta(alternativas.get(q19)), null, null, null);
 
         // Corrige ~80% das dissertativas com notas variadas
@@ -658,6 +664,12 @@ public class PopularBanco {
           marcarComoNaoCorrigida(conn, q4.getId());  // VOUF
           marcarComoNaoCorrigida(conn, q5.getId());  // dissertativa
         }
+        // marcarComoNaoCorrigida altera respostas por fora dos serviços
+        agregacaoNotasService.reconstruir();
+        // O primeiro snapshot do ranking pode ter sido tirado com o banco ainda vazio;
+        // a análise de itens também só rodaria na próxima rodada agendada
+        rankingProfessoresCache.atualizar();
+        analiseItensJob.executar();
 
         System.out.println("\n=== População concluída com sucesso! ===");
         System.out.println("Credenciais de teste:");
@@ -717,10 +729,7 @@ public class PopularBanco {
   }
 
   private Usuario getOrCreateUsuario(UsuarioService usuarioService, String email, String senha) throws SQLException {
-    Usuario existente = usuarioService.listarTodos().stream()
-        .filter(u -> email.equalsIgnoreCase(u.getEmail()))
-        .findFirst()
-        .orElse(null);
+    Usuario existente = usuarioService.buscarPorEmail(email);
     if (existente != null) {
       return existente;
     }
@@ -728,10 +737,7 @@ public class PopularBanco {
   }
 
   private Professor getOrCreateProfessor(ProfessorService professorService, Usuario usuario, String area) throws SQLException {
-    Professor existente = professorService.listarTodos().stream()
-        .filter(p -> usuario.getId().equals(p.getUsuarioId()))
-        .findFirst()
-        .orElse(null);
+    Professor existente = professorService.buscarPorUsuarioId(usuario.getId());
     if (existente != null) {
       return existente;
     }
@@ -740,10 +746,7 @@ public class PopularBanco {
 
   private Aluno getOrCreateAluno(AlunoService alunoService, UsuarioService usuarioService, String matricula, String email) throws SQLException {
     Usuario usuario = getOrCreateUsuario(usuarioService, email, "senha");
-    Aluno existente = alunoService.listarTodos().stream()
-        .filter(a -> matricula.equalsIgnoreCase(a.getMatricula()) || usuario.getId().equals(a.getUsuarioId()))
-        .findFirst()
-        .orElse(null);
+    Aluno existente = alunoService.buscarPorUsuarioId(usuario.getId());
     if (existente != null) {
       return existente;
     }
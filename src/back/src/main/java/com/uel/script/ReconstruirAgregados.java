@@ -0,0 +1,50 @@
+package com.uel.script;
+
+import com.uel.repository.AvaliacaoRepository;
+import com.uel.repository.NotaAvaliacaoAlunoRepository;
+import com.uel.repository.ResumoMensalRepository;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Refaz notas_avaliacao_aluno e os resumos mensais a partir de respostas_alunos, e o professor responsável
+// de cada avaliação a partir de avaliacao_questoes (backfill ou correção de divergência).
+// Não sobe o contexto Spring: usa as mesmas variáveis DB_* da API e só o repositório.
+public class ReconstruirAgregados {
+
+  public static void main(String[] args) throws SQLException {
+    String url = "jdbc:postgresql://" + System.getenv("DB_HOST") + ":" + System.getenv("DB_PORT")
+        + "/" + System.getenv("DB_NAME");
+    DataSource dataSource = new TransactionAwareDataSourceProxy(
+        new DriverManagerDataSource(url, System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD")));
+    TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository = new NotaAvaliacaoAlunoRepository(dataSource);
+    ResumoMensalRepository resumoMensalRepository = new ResumoMensalRepository(dataSource);
+    AvaliacaoRepository avaliacaoRepository = new AvaliacaoRepository(dataSource);
+
+    System.out.println("=== Reconstruindo notas agregadas ===");
+    Integer linhas = transacao.execute(status -> {
+      try {
+        int total = notaAvaliacaoAlunoRepository.reconstruir();
+        resumoMensalRepository.reconstruir();
+        return total;
+      } catch (SQLException e) {
+        throw new IllegalStateException("Erro ao reconstruir notas agregadas", e);
+      }
+    });
+    System.out.println("notas_avaliacao_aluno: " + linhas + " linhas");
+
+    System.out.println("=== Reconstruindo professor responsável das avaliações ===");
+    Integer avaliacoes = transacao.execute(status -> {
+      try {
+        return avaliacaoRepository.reconstruirProfessoresResponsaveis();
+      } catch (SQLException e) {
+        throw new IllegalStateException("Erro ao reconstruir professor responsável", e);
+      }
+    });
+    System.out.println("avaliacoes: " + avaliacoes + " linhas");
+  }
+}
@@ -0,0 +1,149 @@
+package com.uel.service;
+
+import com.uel.cache.DistribuicaoNotasCache;
+import com.uel.cache.HistogramaNotas;
+import com.uel.cache.PainelProfessorCache;
+import com.uel.entity.RespostaAluno;
+import com.uel.repository.NotaAvaliacaoAlunoRepository;
+import com.uel.repository.NotaAvaliacaoAlunoRepository.Delta;
+import com.uel.repository.NotaAvaliacaoAlunoRepository.Totais;
+import com.uel.repository.ResumoMensalRepository;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Ponto único de manutenção de notas_avaliacao_aluno e dos resumos mensais; chamado na mesma
+// transação da escrita
+@Service
+public class AgregacaoNotasService {
+    private final NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final PainelProfessorCache painelCache;
+    private final DistribuicaoNotasCache distribuicaoCache;
+
+    public AgregacaoNotasService(
+            NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository,
+            ResumoMensalRepository resumoMensalRepository,
+            PainelProfessorCache painelCache,
+            DistribuicaoNotasCache distribuicaoCache) {
+        this.notaAvaliacaoAlunoRepository = notaAvaliacaoAlunoRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.painelCache = painelCache;
+        this.distribuicaoCache = distribuicaoCache;
+    }
+
+    // Respostas efetivamente inseridas (reenvios que caíram no ON CONFLICT não entram)
+    public void registrarInclusao(List<RespostaAluno> inseridas) throws SQLException {
+        Map<List<UUID>, Delta> deltas = new LinkedHashMap<>();
+        List<ResumoMensalRepository.Delta> mensais = new ArrayList<>();
+        for (RespostaAluno resposta : inseridas) {
+            boolean corrigida = contaComoCorrigida(resposta.getCorrigido(), resposta.getNota());
+            mensais.add(new ResumoMensalRepository.Delta(
+                    resposta.getAvaliacaoId(), resposta.getQuestaoId(), resposta.getAlunoId(), 1,
+                    corrigida ? 1 : 0,
+                    corrigida ? resposta.getNota() : BigDecimal.ZERO));
+            deltas.merge(
+                    List.of(resposta.getAvaliacaoId(), resposta.getAlunoId()),
+                    new Delta(resposta.getAvaliacaoId(), resposta.getAlunoId(), 1,
+                            corrigida ? 1 : 0,
+                            corrigida ? resposta.getNota() : BigDecimal.ZERO),
+                    (a, b) -> new Delta(a.avaliacaoId(), a.alunoId(), a.respostas() + b.respostas(),
+                            a.corrigidas() + b.corrigidas(), a.somaNotas().add(b.somaNotas())));
+        }
+        registrarDistribuicao(deltas, notaAvaliacaoAlunoRepository.aplicarDeltas(deltas.values()));
+        resumoMensalRepository.aplicarDeltas(mensais);
+        painelCache.invalidarAvaliacoes(deltas.values().stream().map(Delta::avaliacaoId).toList());
+    }
+
+    // Chamado depois de alterar nota/corrigido da resposta, com os valores anteriores
+    public void registrarCorrecao(RespostaAluno resposta, Boolean corrigidoAntes, BigDecimal notaAntes)
+            throws SQLException {
+        boolean antes = contaComoCorrigida(corrigidoAntes, notaAntes);
+        boolean depois = contaComoCorrigida(resposta.getCorrigido(), resposta.getNota());
+
+        BigDecimal soma = (depois ? resposta.getNota() : BigDecimal.ZERO)
+                .subtract(antes ? notaAntes : BigDecimal.ZERO);
+        int corrigidas = (depois ? 1 : 0) - (antes ? 1 : 0);
+
+        if (corrigidas == 0 && soma.signum() == 0) {
+            return;
+        }
+        Delta delta = new Delta(resposta.getAvaliacaoId(), resposta.getAlunoId(), 0, corrigidas, soma);
+        registrarDistribuicao(
+                Map.of(List.of(delta.avaliacaoId(), delta.alunoId()), delta),
+                notaAvaliacaoAlunoRepository.aplicarDeltas(List.of(delta)));
+        resumoMensalRepository.aplicarDeltas(List.of(new ResumoMensalRepository.Delta(
+                resposta.getAvaliacaoId(), resposta.getQuestaoId(), resposta.getAlunoId(), 0, corrigidas, soma)));
+        painelCache.invalidarAvaliacoes(List.of(resposta.getAvaliacaoId()));
+    }
+
+    // Chamado antes de gravar a nova data da avaliação: os resumos mensais seguem o mês dela
+    public void registrarMudancaDeData(UUID avaliacaoId, LocalDate dataAntes, LocalDate novaData)
+            throws SQLException {
+        if (YearMonth.from(dataAntes).equals(YearMonth.from(novaData))) {
+            return;
+        }
+        resumoMensalRepository.moverAvaliacao(avaliacaoId, novaData);
+        painelCache.invalidarAvaliacoes(List.of(avaliacaoId));
+    }
+
+    // As remoções abaixo rodam antes de qualquer DELETE que apague respostas por CASCADE
+    public void removerRespostasDaQuestao(UUID questaoId) throws SQLException {
+        descontar(notaAvaliacaoAlunoRepository.removerRespostasDaQuestao(questaoId));
+    }
+
+    public void removerRespostasDaQuestaoNaAvaliacao(UUID avaliacaoId, UUID questaoId) throws SQLException {
+        descontar(notaAvaliacaoAlunoRepository.removerRespostasDaQuestaoNaAvaliacao(avaliacaoId, questaoId));
+    }
+
+    public void removerRespostasDaAvaliacao(UUID avaliacaoId) throws SQLException {
+        descontar(notaAvaliacaoAlunoRepository.removerRespostasDaAvaliacao(avaliacaoId));
+    }
+
+    public void removerRespostasDoAlunoNaAvaliacao(UUID avaliacaoId, UUID alunoId) throws SQLException {
+        descontar(notaAvaliacaoAlunoRepository.removerRespostasDoAlunoNaAvaliacao(avaliacaoId, alunoId));
+    }
+
+    public void removerRespostasDoAluno(UUID alunoId) throws SQLException {
+        descontar(notaAvaliacaoAlunoRepository.removerRespostasDoAluno(alunoId));
+    }
+
+    @Transactional
+    public int reconstruir() throws SQLException {
+        int linhas = notaAvaliacaoAlunoRepository.reconstruir();
+        resumoMensalRepository.reconstruir();
+        painelCache.limpar();
+        distribuicaoCache.limpar();
+        return linhas;
+    }
+
+    private void descontar(List<ResumoMensalRepository.Delta> removidas) throws SQLException {
+        resumoMensalRepository.aplicarDeltas(removidas.stream().map(ResumoMensalRepository.Delta::negativo).toList());
+        List<UUID> avaliacoes = removidas.stream().map(ResumoMensalRepository.Delta::avaliacaoId).distinct().toList();
+        painelCache.invalidarAvaliacoes(avaliacoes);
+        distribuicaoCache.invalidar(avaliacoes);
+    }
+
+    // Totais depois do delta menos o próprio delta dão a nota anterior de cada aluno
+    private void registrarDistribuicao(Map<List<UUID>, Delta> deltas, List<Totais> totais) {
+        for (Totais atual : totais) {
+            Delta delta = deltas.get(List.of(atual.avaliacaoId(), atual.alunoId()));
+            int antes = HistogramaNotas.faixa(
+                    atual.somaNotas().subtract(delta.somaNotas()), atual.corrigidas() - delta.corrigidas());
+            int depois = HistogramaNotas.faixa(atual.somaNotas(), atual.corrigidas());
+            distribuicaoCache.registrarMudanca(atual.avaliacaoId(), antes, depois);
+        }
+    }
+
+    private boolean contaComoCorrigida(Boolean corrigido, BigDecimal nota) {
+        return Boolean.TRUE.equals(corrigido) && nota != null;
+    }
+}
@@ -1,26 +1,34 @@
 package com.uel.service;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.entity.Usuario;
 import com.uel.repository.AlunoRepository;
+import com.uel.repository.Paginacao;
 import com.uel.repository.UsuarioRepository;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
   public class AlunoService {
   private final AlunoRepository repository;
   private final UsuarioRepository usuarioRepository;
+  private final AgregacaoNotasService agregacaoNotasService;
 
-  public AlunoService(AlunoRepository repository, UsuarioRepository usuarioRepository) {
+  public AlunoService(
+      AlunoRepository repository,
+      UsuarioRepository usuarioRepository,
+      AgregacaoNotasService agregacaoNotasService) {
     this.repository = repository;
     this.usuarioRepository = usuarioRepository;
+    this.agregacaoNotasService = agregacaoNotasService;
   }
 
+  @Transactional
   public Aluno criar(String matricula, LocalDate dataInicio, LocalDate dataConclusao, UUID usuarioId) throws SQLException {
     Usuario usuario = usuarioRepository.buscarPorId(usuarioId);
     if (usuario == null) {
@@ -37,14 +45,22 @@ import org.springframework.stereotype.Service;
     return aluno;
   }
 
-  public List<Aluno> listarTodos() throws SQLException {
-    return repository.listarTodos();
+  public Pagina<Aluno> listar(LocalDate de, LocalDate ate, String cursor, Integer limite) throws SQLException {
+    if (de != null && ate != null && de.isAfter(ate)) {
+      throw new IllegalArgumentException("Data inicial posterior à data final");
+    }
+    return repository.listar(de, ate, cursor, Paginacao.limite(limite));
+  }
+
+  public Aluno buscarPorUsuarioId(UUID usuarioId) throws SQLException {
+    return repository.buscarPorUsuarioId(usuarioId);
   }
 
   public Aluno buscarPorId(UUID id) throws SQLException {
     return repository.buscarPorId(id);
   }
 
+  @Transactional
   public Aluno atualizar(UUID id, String matricula, LocalDate dataInicio, LocalDate dataConclusao) throws SQLException {
     Aluno existente = repository.buscarPorId(id);
     if (existente == null) {
@@ -63,12 +79,15 @@ import org.springframework.stereotype.Service;
     return existente;
   }
 
+  @Transactional
   public void deletar(UUID id) throws SQLException {
     Aluno existente = repository.buscarPorId(id);
     if (existente == null) {
       throw new IllegalArgumentException("Aluno não encontrado");
     }
 
+    // Respostas saem antes do CASCADE para descontar dos resumos mensais
+    agregacaoNotasService.removerRespostasDoAluno(id);
     boolean removido = repository.deletar(id);
     if (removido && existente.getUsuarioId() != null) {
       usuarioRepository.deletar(existente.getUsuarioId());
@@ -1,5 +1,8 @@
 package com.uel.service;
 
+import com.uel.cache.GabaritoCache;
+import com.uel.cache.PainelProfessorCache;
+import com.uel.cache.ProvaCache;
 import com.uel.entity.Questao;
 import com.uel.repository.AvaliacaoQuestaoRepository;
 import com.uel.repository.AvaliacaoRepository;
@@ -16,14 +19,26 @@ public class AvaliacaoQuestaoService {
     private final AvaliacaoQuestaoRepository avaliacaoQuestaoRepository;
     private final AvaliacaoRepository avaliacaoRepository;
     private final QuestaoRepository questaoRepository;
+    private final GabaritoCache gabaritoCache;
+    private final ProvaCache provaCache;
+    private final PainelProfessorCache painelCache;
+    private final AgregacaoNotasService agregacaoNotasService;
 
     public AvaliacaoQuestaoService(
             AvaliacaoQuestaoRepository avaliacaoQuestaoRepository,
             AvaliacaoRepository avaliacaoRepository,
-            QuestaoRepository questaoRepository) {
+            QuestaoRepository questaoRepository,
+            GabaritoCache gabaritoCache,
+            ProvaCache provaCache,
+            PainelProfessorCache painelCache,
+            AgregacaoNotasService agregacaoNotasService) {
         this.avaliacaoQuestaoRepository = avaliacaoQuestaoRepository;
         this.avaliacaoRepository = avaliacaoRepository;
         this.questaoRepository = questaoRepository;
+        this.gabaritoCache = gabaritoCache;
+        this.provaCache = provaCache;
+        this.painelCache = painelCache;
+        this.agregacaoNotasService = agregacaoNotasService;
     }
 
     @Transactional
@@ -32,11 +47,12 @@ public class AvaliacaoQuestaoService {
             UUID questaoId,
             BigDecimal peso,
             Integer ordem) throws SQLException {
-        if (avaliacaoRepository.buscarPorId(avaliacaoId) == null) {
+        if (!avaliacaoRepository.existe(avaliacaoId)) {
             throw new IllegalArgumentException("Avaliação não encontrada");
         }
 
-        if (questaoRepository.buscarPorId(questaoId) == null) {
+        Questao questao = questaoRepository.buscarPorId(questaoId);
+        if (questao == null) {
             throw new IllegalArgumentException("Questão não encontrada");
         }
 
@@ -54,19 +70,26 @@ public class AvaliacaoQuestaoService {
         }
 
         avaliacaoQuestaoRepository.adicionar(avaliacaoId, questaoId, peso, ordem);
+        avaliacaoRepository.atualizarProfessorResponsavel(List.of(avaliacaoId));
+        provaCache.invalidar(avaliacaoId);
+        // A avaliação passa a contar no painel do autor da questão
+        painelCache.invalidarProfessor(questao.getProfessorId());
     }
 
     public List<Questao> listarQuestoes(UUID avaliacaoId) throws SQLException {
-        if (avaliacaoRepository.buscarPorId(avaliacaoId) == null) {
+        if (!avaliacaoRepository.existe(avaliacaoId)) {
             throw new IllegalArgumentException("Avaliação não encontrada");
         }
 
-        return avaliacaoQuestaoRepository.listarQuestoesPorAvaliacao(avaliacaoId);
+        List<Questao> questoes = avaliacaoQuestaoRepository.listarQuestoesPorAvaliacao(avaliacaoId);
+        // Prova aberta: deixa os gabaritos prontos para as respostas que virão
+        gabaritoCache.precarregar(questoes);
+        return questoes;
     }
 
     @Transactional
     public void removerQuestao(UUID avaliacaoId, UUID questaoId) throws SQLException {
-        if (avaliacaoRepository.buscarPorId(avaliacaoId) == null) {
+        if (!avaliacaoRepository.existe(avaliacaoId)) {
             throw new IllegalArgumentException("Avaliação não encontrada");
         }
 
@@ -74,16 +97,24 @@ public class AvaliacaoQuestaoService {
             throw new IllegalArgumentException("Questão não está na avaliação");
         }
 
+        agregacaoNotasService.removerRespostasDaQuestaoNaAvaliacao(avaliacaoId, questaoId);
         avaliacaoQuestaoRepository.remover(avaliacaoId, questaoId);
+        avaliacaoRepository.atualizarProfessorResponsavel(List.of(avaliacaoId));
+        provaCache.invalidar(avaliacaoId);
+        painelCache.invalidarAvaliacoes(List.of(avaliacaoId));
     }
 
     @Transactional
     public void removerTodasQuestoes(UUID avaliacaoId) throws SQLException {
-        if (avaliacaoRepository.buscarPorId(avaliacaoId) == null) {
+        if (!avaliacaoRepository.existe(avaliacaoId)) {
             throw new IllegalArgumentException("Avaliação não encontrada");
         }
 
+        agregacaoNotasService.removerRespostasDaAvaliacao(avaliacaoId);
         avaliacaoQuestaoRepository.removerTodasPorAvaliacao(avaliacaoId);
+        avaliacaoRepository.atualizarProfessorResponsavel(List.of(avaliacaoId));
+        provaCache.invalidar(avaliacaoId);
+        painelCache.invalidarAvaliacoes(List.of(avaliacaoId));
     }
 
     public int contarQuestoes(UUID avaliacaoId) throws SQLException {
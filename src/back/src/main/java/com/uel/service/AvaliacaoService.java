@@ -1,32 +1,53 @@
 package com.uel.service;
 
+import com.uel.cache.PainelProfessorCache;
+import com.uel.cache.ProvaCache;
+import com.uel.dto.AvaliacaoResumoDTO;
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.entity.Avaliacao;
 import com.uel.entity.AvaliacaoParticipacao;
+import com.uel.enums.CampoAvaliacao;
 import com.uel.repository.AlunoRepository;
 import com.uel.repository.AvaliacaoRepository;
+import com.uel.repository.Paginacao;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AvaliacaoService {
   private final AvaliacaoRepository avaliacaoRepository;
   private final AlunoRepository alunoRepository;
-
-  public AvaliacaoService(AvaliacaoRepository avaliacaoRepository, AlunoRepository alunoRepository) {
+  private final ProvaCache provaCache;
+  private final PainelProfessorCache painelCache;
+  private final AgregacaoNotasService agregacaoNotasService;
+
+  public AvaliacaoService(
+      AvaliacaoRepository avaliacaoRepository,
+      AlunoRepository alunoRepository,
+      ProvaCache provaCache,
+      PainelProfessorCache painelCache,
+      AgregacaoNotasService agregacaoNotasService) {
     this.avaliacaoRepository = avaliacaoRepository;
     this.alunoRepository = alunoRepository;
+    this.provaCache = provaCache;
+    this.painelCache = painelCache;
+    this.agregacaoNotasService = agregacaoNotasService;
   }
 
+  @Transactional
   public Avaliacao criar(String descricao, LocalDate data, LocalTime horario, List<AvaliacaoParticipacao> participacoes)
       throws SQLException {
     Avaliacao avaliacao = new Avaliacao(UUID.randomUUID(), descricao, data, horario);
@@ -35,11 +56,15 @@ public class AvaliacaoService {
     return avaliacaoRepository.buscarPorId(avaliacao.getId());
   }
 
-  public List<Avaliacao> listarTodas() throws SQLException {
-    return avaliacaoRepository.listarTodas();
+  public Pagina<AvaliacaoResumoDTO> listar(UUID professorId, LocalDate de, LocalDate ate, String cursor, Integer limite)
+      throws SQLException {
+    if (de != null && ate != null && de.isAfter(ate)) {
+      throw new IllegalArgumentException("Data inicial posterior à data final");
+    }
+    return avaliacaoRepository.listar(professorId, de, ate, cursor, Paginacao.limite(limite));
   }
 
-  public List<Avaliacao> listarPorAluno(UUID alunoId) throws SQLException {
+  public List<AvaliacaoResumoDTO> listarPorAluno(UUID alunoId) throws SQLException {
     Aluno aluno = alunoRepository.buscarPorId(alunoId);
     if (aluno == null) {
       throw new IllegalArgumentException("Aluno não encontrado");
@@ -51,13 +76,33 @@ public class AvaliacaoService {
     return avaliacaoRepository.buscarPorId(id);
   }
 
+  // campos nulo mantém o detalhe completo; lista vazia devolve só os dados da avaliação
+  public Avaliacao buscarPorId(UUID id, List<String> campos) throws SQLException {
+    if (campos == null) {
+      return buscarPorId(id);
+    }
+    Set<CampoAvaliacao> selecionados = EnumSet.noneOf(CampoAvaliacao.class);
+    for (String campo : campos) {
+      if (campo.isBlank()) {
+        continue;
+      }
+      try {
+        selecionados.add(CampoAvaliacao.valueOf(campo.trim().toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Campo desconhecido: " + campo.trim());
+      }
+    }
+    return avaliacaoRepository.buscarPorId(id, selecionados);
+  }
+
+  @Transactional
   public Avaliacao atualizar(
       UUID id,
       String descricao,
       LocalDate data,
       LocalTime horario,
       List<AvaliacaoParticipacao> novasParticipacoes) throws SQLException {
-    Avaliacao existente = avaliacaoRepository.buscarPorId(id);
+    Avaliacao existente = avaliacaoRepository.buscarPorId(id, EnumSet.of(CampoAvaliacao.PARTICIPACOES));
     if (existente == null) {
       throw new IllegalArgumentException("Avaliação não encontrada");
     }
@@ -66,29 +111,49 @@ public class AvaliacaoService {
       existente.setDescricao(descricao);
     }
     if (data != null) {
+      agregacaoNotasService.registrarMudancaDeData(id, existente.getData(), data);
       existente.setData(data);
     }
     if (horario != null) {
       existente.setHorario(horario);
     }
+    avaliacaoRepository.atualizar(existente);
+
+    // Sem lista de participantes, as participações ficam como estão
     if (novasParticipacoes != null) {
-      existente.setParticipacoes(prepararParticipacoes(existente.getId(), novasParticipacoes));
+      List<AvaliacaoParticipacao> participacoes = prepararParticipacoes(id, novasParticipacoes);
+      Set<UUID> mantidos = new HashSet<>();
+      for (AvaliacaoParticipacao participacao : participacoes) {
+        mantidos.add(participacao.getAlunoId());
+      }
+      List<UUID> removidos = new ArrayList<>();
+      for (AvaliacaoParticipacao participacao : existente.getParticipacoes()) {
+        if (!mantidos.contains(participacao.getAlunoId())) {
+          agregacaoNotasService.removerRespostasDoAlunoNaAvaliacao(id, participacao.getAlunoId());
+          removidos.add(participacao.getAlunoId());
+        }
+      }
+      avaliacaoRepository.sincronizarParticipacoes(id, removidos, participacoes);
     }
-
-    avaliacaoRepository.atualizar(existente);
+    painelCache.invalidarAvaliacoes(List.of(id));
     return avaliacaoRepository.buscarPorId(id);
   }
 
+  @Transactional
   public void deletar(UUID id) throws SQLException {
+    agregacaoNotasService.removerRespostasDaAvaliacao(id);
     boolean removida = avaliacaoRepository.deletar(id);
     if (!removida) {
       throw new IllegalArgumentException("Avaliação não encontrada");
     }
+    provaCache.invalidar(id);
+    painelCache.removerAvaliacao(id);
   }
 
+  @Transactional
   public void associarAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
     // Verificar se avaliação existe
-    Avaliacao avaliacao = avaliacaoRepository.buscarPorId(avaliacaoId);
+    Avaliacao avaliacao = avaliacaoRepository.buscarPorId(avaliacaoId, EnumSet.of(CampoAvaliacao.PARTICIPACOES));
     if (avaliacao == null) {
       throw new IllegalArgumentException("Avaliação não encontrada");
     }
@@ -108,11 +173,13 @@ public class AvaliacaoService {
 
     // Associar
     avaliacaoRepository.associarAluno(avaliacaoId, alunoId);
+    painelCache.invalidarAvaliacoes(List.of(avaliacaoId));
   }
 
+  @Transactional
   public void desassociarAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
     // Verificar se avaliação existe
-    Avaliacao avaliacao = avaliacaoRepository.buscarPorId(avaliacaoId);
+    Avaliacao avaliacao = avaliacaoRepository.buscarPorId(avaliacaoId, EnumSet.of(CampoAvaliacao.PARTICIPACOES));
     if (avaliacao == null) {
       throw new IllegalArgumentException("Avaliação não encontrada");
     }
@@ -131,7 +198,9 @@ public class AvaliacaoService {
     }
 
     // Desassociar
+    agregacaoNotasService.removerRespostasDoAlunoNaAvaliacao(avaliacaoId, alunoId);
     avaliacaoRepository.desassociarAluno(avaliacaoId, alunoId);
+    painelCache.invalidarAvaliacoes(List.of(avaliacaoId));
   }
 
   private List<AvaliacaoParticipacao> prepararParticipacoes(UUID avaliacaoId, List<AvaliacaoParticipacao> participacoes)
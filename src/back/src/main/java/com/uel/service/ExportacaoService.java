@@ -0,0 +1,116 @@
+package com.uel.service;
+
+import com.uel.exportacao.EscritorLinhas;
+import com.uel.exportacao.ExportacaoOcupadaException;
+import com.uel.exportacao.FormatoExportacao;
+import com.uel.repository.ExportacaoRepository;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Cada exportação segura uma conexão do pool enquanto o cliente baixa; o semáforo limita quantas
+// podem fazer isso ao mesmo tempo (as demais recebem 503 antes de começar)
+@Service
+public class ExportacaoService {
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+
+    private final ExportacaoRepository exportacaoRepository;
+    private final Semaphore vagas;
+
+    public ExportacaoService(
+            ExportacaoRepository exportacaoRepository,
+            @Value("${notaki.exportacao.concorrencia:2}") int concorrencia) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.vagas = new Semaphore(concorrencia);
+    }
+
+    public StreamingResponseBody exportarRespostas(
+            UUID avaliacaoId, UUID professorId, Integer meses, FormatoExportacao formato) {
+        return exportar(formato, escritor ->
+                exportacaoRepository.exportarRespostas(avaliacaoId, professorId, meses, escritor));
+    }
+
+    public StreamingResponseBody exportarNotas(
+            UUID avaliacaoId, UUID professorId, Integer meses, FormatoExportacao formato) {
+        return exportar(formato, escritor ->
+                exportacaoRepository.exportarNotas(avaliacaoId, professorId, meses, escritor));
+    }
+
+    public StreamingResponseBody exportarDesempenhoAvaliacoes(
+            UUID professorId, Integer meses, FormatoExportacao formato) {
+        return exportar(formato, escritor ->
+                exportacaoRepository.exportarDesempenhoAvaliacoes(professorId, meses, escritor));
+    }
+
+    public StreamingResponseBody exportarDesempenhoAlunos(
+            UUID professorId, Integer meses, FormatoExportacao formato) {
+        return exportar(formato, escritor ->
+                exportacaoRepository.exportarDesempenhoAlunos(professorId, meses, escritor));
+    }
+
+    public StreamingResponseBody exportarDesempenhoQuestoes(
+            UUID professorId, Integer meses, FormatoExportacao formato) {
+        return exportar(formato, escritor ->
+                exportacaoRepository.exportarDesempenhoQuestoes(professorId, meses, escritor));
+    }
+
+    private StreamingResponseBody exportar(FormatoExportacao formato, Consulta consulta) {
+        if (!vagas.tryAcquire()) {
+            throw new ExportacaoOcupadaException("Muitas exportações em andamento, tente novamente em instantes");
+        }
+
+        // A vaga volta uma vez só: ao fim da escrita ou ao fim da requisição assíncrona, o que vier
+        // primeiro. Sem o segundo caminho, tarefa recusada pelo executor, tempo esgotado ou cliente
+        // que caiu antes do despacho nunca chegariam ao finally e a vaga se perderia
+        AtomicBoolean liberada = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberada.compareAndSet(false, true)) {
+                vagas.release();
+            }
+        };
+        registrarAoConcluir(liberar);
+
+        return saida -> {
+            try {
+                consulta.executar(formato.abrir(saida));
+            } catch (SQLException e) {
+                // Cabeçalhos já foram enviados: só resta interromper o download
+                log.warn("Erro ao exportar: {}", e.getMessage());
+                throw new IOException("Erro ao exportar", e);
+            } finally {
+                liberar.run();
+            }
+        };
+    }
+
+    private void registrarAoConcluir(Runnable acao) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(atributos.getRequest()).registerCallableInterceptor(acao,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> tarefa) {
+                        acao.run();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Consulta {
+        void executar(EscritorLinhas escritor) throws SQLException, IOException;
+    }
+}
@@ -1,8 +1,10 @@
 package com.uel.service;
 
+import com.uel.dto.Pagina;
 import com.uel.dto.ProvaTutorDTO;
 import com.uel.entity.Professor;
 import com.uel.entity.Usuario;
+import com.uel.repository.Paginacao;
 import com.uel.repository.ProfessorRepository;
 import com.uel.repository.UsuarioRepository;
 import java.sql.SQLException;
@@ -10,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProfessorService {
@@ -21,6 +24,7 @@ public class ProfessorService {
         this.usuarioRepository = usuarioRepository;
     }
 
+    @Transactional
     public Professor criar(String area, UUID usuarioId) throws SQLException {
         Usuario usuario = usuarioRepository.buscarPorId(usuarioId);
         if (usuario == null) {
@@ -37,8 +41,13 @@ public class ProfessorService {
         return professor;
     }
 
-    public List<Professor> listarTodos() throws SQLException {
-        return repository.listarTodos();
+    public Pagina<Professor> listar(String area, String cursor, Integer limite) throws SQLException {
+        String areaFiltro = area == null || area.isBlank() ? null : area.trim();
+        return repository.listar(areaFiltro, cursor, Paginacao.limite(limite));
+    }
+
+    public Professor buscarPorUsuarioId(UUID usuarioId) throws SQLException {
+        return repository.buscarPorUsuarioId(usuarioId);
     }
 
     public List<Professor> listarPorAluno(UUID alunoId) throws SQLException {
@@ -69,6 +78,7 @@ public class ProfessorService {
         return repository.buscarPorId(id);
     }
 
+    @Transactional
     public Professor atualizar(UUID id, String area) throws SQLException {
         Professor existente = repository.buscarPorId(id);
         if (existente == null) {
@@ -83,6 +93,7 @@ public class ProfessorService {
         return existente;
     }
 
+    @Transactional
     public void deletar(UUID id) throws SQLException {
         Professor existente = repository.buscarPorId(id);
         if (existente == null) {
@@ -0,0 +1,66 @@
+package com.uel.service;
+
+import com.uel.cache.GabaritoCache;
+import com.uel.cache.ProvaCache;
+import com.uel.cache.ProvaSerializada;
+import com.uel.dto.ProvaDTO;
+import com.uel.dto.ProvaQuestaoDTO;
+import com.uel.entity.Questao;
+import com.uel.repository.AvaliacaoQuestaoRepository;
+import com.uel.repository.AvaliacaoRepository;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ProvaService {
+    private final AvaliacaoQuestaoRepository avaliacaoQuestaoRepository;
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final GabaritoCache gabaritoCache;
+    private final ProvaCache provaCache;
+
+    public ProvaService(
+            AvaliacaoQuestaoRepository avaliacaoQuestaoRepository,
+            AvaliacaoRepository avaliacaoRepository,
+            GabaritoCache gabaritoCache,
+            ProvaCache provaCache) {
+        this.avaliacaoQuestaoRepository = avaliacaoQuestaoRepository;
+        this.avaliacaoRepository = avaliacaoRepository;
+        this.gabaritoCache = gabaritoCache;
+        this.provaCache = provaCache;
+    }
+
+    // Prova já serializada e comprimida; montada só na primeira abertura
+    public ProvaSerializada buscarProvaSerializada(UUID avaliacaoId) throws SQLException {
+        ProvaSerializada emCache = provaCache.obter(avaliacaoId);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        long geracao = provaCache.geracaoAtual();
+        return provaCache.guardar(montarProva(avaliacaoId), geracao);
+    }
+
+    public ProvaDTO montarProva(UUID avaliacaoId) throws SQLException {
+        List<ProvaQuestaoDTO> questoes = avaliacaoQuestaoRepository.listarProva(avaliacaoId);
+
+        // Sem linhas pode ser avaliação vazia ou inexistente
+        if (questoes.isEmpty() && !avaliacaoRepository.existe(avaliacaoId)) {
+            throw new IllegalArgumentException("Avaliação não encontrada");
+        }
+
+        // Prova aberta: deixa os gabaritos prontos para as respostas que virão
+        List<Questao> paraGabarito = new ArrayList<>();
+        for (ProvaQuestaoDTO questao : questoes) {
+            Questao q = new Questao();
+            q.setId(questao.questaoId());
+            q.setTipo(questao.tipo());
+            paraGabarito.add(q);
+        }
+        gabaritoCache.precarregar(paraGabarito);
+
+        return new ProvaDTO(avaliacaoId, questoes);
+    }
+}
@@ -1,9 +1,19 @@
 package com.uel.service;
 
+import com.uel.cache.GabaritoCache;
+import com.uel.cache.PainelProfessorCache;
+import com.uel.cache.ProvaCache;
+import com.uel.cache.TemaIndex;
+import com.uel.dto.Pagina;
+import com.uel.dto.QuestaoBuscaDTO;
+import com.uel.dto.TemaSugestaoDTO;
 import com.uel.entity.Questao;
 import com.uel.enums.Dificuldade;
 import com.uel.enums.TipoQuestao;
 import com.uel.repository.AlternativaRepository;
+import com.uel.repository.AvaliacaoQuestaoRepository;
+import com.uel.repository.AvaliacaoRepository;
+import com.uel.repository.Paginacao;
 import com.uel.repository.QuestaoRepository;
 import com.uel.repository.VoufRepository;
 import java.sql.SQLException;
@@ -16,17 +26,41 @@ import com.uel.controller.QuestaoController.VoufRequest;
 
 @Service
 public class QuestaoService {
+    private static final int SUGESTOES_PADRAO = 10;
+    private static final int SUGESTOES_MAXIMO = 50;
+
     private final QuestaoRepository questaoRepository;
     private final AlternativaRepository alternativaRepository;
     private final VoufRepository voufRepository;
+    private final AvaliacaoQuestaoRepository avaliacaoQuestaoRepository;
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final GabaritoCache gabaritoCache;
+    private final ProvaCache provaCache;
+    private final PainelProfessorCache painelCache;
+    private final TemaIndex temaIndex;
+    private final AgregacaoNotasService agregacaoNotasService;
 
     public QuestaoService(
             QuestaoRepository questaoRepository,
             AlternativaRepository alternativaRepository,
-            VoufRepository voufRepository) {
+            VoufRepository voufRepository,
+            AvaliacaoQuestaoRepository avaliacaoQuestaoRepository,
+            AvaliacaoRepository avaliacaoRepository,
+            GabaritoCache gabaritoCache,
+            ProvaCache provaCache,
+            PainelProfessorCache painelCache,
+            TemaIndex temaIndex,
+            AgregacaoNotasService agregacaoNotasService) {
         this.questaoRepository = questaoRepository;
         this.alternativaRepository = alternativaRepository;
         this.voufRepository = voufRepository;
+        this.avaliacaoQuestaoRepository = avaliacaoQuestaoRepository;
+        this.avaliacaoRepository = avaliacaoRepository;
+        this.gabaritoCache = gabaritoCache;
+        this.provaCache = provaCache;
+        this.painelCache = painelCache;
+        this.temaIndex = temaIndex;
+        this.agregacaoNotasService = agregacaoNotasService;
     }
 
     @Transactional
@@ -67,11 +101,42 @@ public class QuestaoService {
                 break;
         }
 
+        temaIndex.registrar(professorId, null, tema);
         return questao;
     }
 
-    public List<Questao> listarTodas() throws SQLException {
-        return questaoRepository.listarTodas();
+    public Pagina<Questao> listar(
+            UUID professorId,
+            TipoQuestao tipo,
+            Dificuldade dificuldade,
+            String tema,
+            String cursor,
+            Integer limite) throws SQLException {
+        String temaFiltro = tema == null || tema.isBlank() ? null : tema.trim();
+        return questaoRepository.listar(
+                professorId, tipo, dificuldade, temaFiltro, cursor, Paginacao.limite(limite));
+    }
+
+    public Pagina<QuestaoBuscaDTO> buscar(
+            String termos,
+            UUID professorId,
+            TipoQuestao tipo,
+            Dificuldade dificuldade,
+            String cursor,
+            Integer limite) throws SQLException {
+        if (termos == null || termos.isBlank()) {
+            throw new IllegalArgumentException("Informe os termos da busca");
+        }
+        return questaoRepository.buscar(
+                termos.trim(), professorId, tipo, dificuldade, cursor, Paginacao.limite(limite));
+    }
+
+    // Respondido pelo índice em memória, sem consulta ao banco
+    public List<TemaSugestaoDTO> sugerirTemas(String prefixo, UUID professorId, Integer limite) {
+        if (limite != null && (limite < 1 || limite > SUGESTOES_MAXIMO)) {
+            throw new IllegalArgumentException("limite deve estar entre 1 e " + SUGESTOES_MAXIMO);
+        }
+        return temaIndex.sugerir(prefixo, professorId, limite == null ? SUGESTOES_PADRAO : limite);
     }
 
     public Questao buscarPorId(UUID id) throws SQLException {
@@ -113,6 +178,8 @@ public class QuestaoService {
             throw new IllegalArgumentException("Questão não encontrada");
         }
 
+        String temaAnterior = existente.getTema();
+
         // Atualizar campos da questão
         if (enunciado != null && !enunciado.isBlank()) {
             existente.setEnunciado(enunciado);
@@ -137,6 +204,10 @@ public class QuestaoService {
         }
 
         questaoRepository.atualizar(existente);
+        temaIndex.registrar(existente.getProfessorId(), temaAnterior, existente.getTema());
+        gabaritoCache.invalidar(id);
+        provaCache.invalidarQuestao(id);
+        painelCache.invalidarProfessor(existente.getProfessorId());
 
         // Se alterou itens, recriar
         if (alternativasRequest != null || itensVoufRequest != null) {
@@ -174,11 +245,21 @@ public class QuestaoService {
             throw new IllegalArgumentException("Questão não encontrada");
         }
 
+        // Respostas saem antes para descontar das notas agregadas
+        agregacaoNotasService.removerRespostasDaQuestao(id);
+        // O CASCADE tira a questão das avaliações; o responsável delas pode mudar
+        List<UUID> avaliacoes = avaliacaoQuestaoRepository.listarAvaliacoesComQuestao(id);
+
         // Alternativas e itens VOUF são deletados automaticamente pelo CASCADE
         boolean removido = questaoRepository.deletar(id);
         if (!removido) {
             throw new IllegalArgumentException("Questão não encontrada");
         }
+        avaliacaoRepository.atualizarProfessorResponsavel(avaliacoes);
+        temaIndex.registrar(existente.getProfessorId(), existente.getTema(), null);
+        gabaritoCache.invalidar(id);
+        provaCache.invalidarQuestao(id);
+        painelCache.invalidarProfessor(existente.getProfessorId());
     }
 
     private void criarAlternativas(UUID questaoId, List<AlternativaRequest> alternativas) throws SQLException {
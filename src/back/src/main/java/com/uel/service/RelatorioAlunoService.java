@@ -1,5 +1,6 @@
 package com.uel.service;
 
+import com.uel.dto.DesempenhoMensalDTO;
 import com.uel.dto.DistribuicaoDificuldadeDTO;
 import com.uel.repository.RelatorioAlunoRepository;
 import java.sql.SQLException;
@@ -21,4 +22,8 @@ public class RelatorioAlunoService {
             UUID professorId) throws SQLException {
         return repository.buscarDistribuicaoPorDificuldade(alunoId, meses, professorId);
     }
+
+    public List<DesempenhoMensalDTO> listarDesempenhoMensal(UUID alunoId, Integer meses) throws SQLException {
+        return repository.listarDesempenhoMensal(alunoId, meses);
+    }
 }
@@ -0,0 +1,105 @@
+package com.uel.service;
+
+import com.uel.cache.DistribuicaoNotasCache;
+import com.uel.cache.HistogramaNotas;
+import com.uel.dto.DistribuicaoNotasDTO;
+import com.uel.dto.FaixaNotaDTO;
+import com.uel.dto.PercentilAlunoDTO;
+import com.uel.repository.AvaliacaoRepository;
+import com.uel.repository.NotaAvaliacaoAlunoRepository;
+import com.uel.repository.NotaAvaliacaoAlunoRepository.Totais;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RelatorioAvaliacaoService {
+    // Faixas de 1 ponto no histograma devolvido; a última inclui o 10
+    private static final int FAIXAS_HISTOGRAMA = 10;
+
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository;
+    private final DistribuicaoNotasCache distribuicaoCache;
+
+    public RelatorioAvaliacaoService(
+            AvaliacaoRepository avaliacaoRepository,
+            NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository,
+            DistribuicaoNotasCache distribuicaoCache) {
+        this.avaliacaoRepository = avaliacaoRepository;
+        this.notaAvaliacaoAlunoRepository = notaAvaliacaoAlunoRepository;
+        this.distribuicaoCache = distribuicaoCache;
+    }
+
+    public DistribuicaoNotasDTO distribuicao(UUID avaliacaoId) throws SQLException {
+        if (!avaliacaoRepository.existe(avaliacaoId)) {
+            throw new IllegalArgumentException("Avaliação não encontrada");
+        }
+        return montar(distribuicaoCache.obter(avaliacaoId));
+    }
+
+    // Visão de várias avaliações (turma, disciplina): os histogramas somados
+    public DistribuicaoNotasDTO distribuicaoCombinada(Collection<UUID> avaliacaoIds) throws SQLException {
+        Set<UUID> ids = new LinkedHashSet<>(avaliacaoIds);
+        List<UUID> inexistentes = avaliacaoRepository.inexistentes(ids);
+        if (!inexistentes.isEmpty()) {
+            throw new IllegalArgumentException("Avaliação não encontrada: " + inexistentes.get(0));
+        }
+
+        HistogramaNotas combinado = new HistogramaNotas();
+        for (UUID avaliacaoId : ids) {
+            combinado.somar(distribuicaoCache.obter(avaliacaoId));
+        }
+        return montar(combinado);
+    }
+
+    public PercentilAlunoDTO percentilAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
+        Totais totais = notaAvaliacaoAlunoRepository.buscarTotais(avaliacaoId, alunoId);
+        if (totais == null || totais.corrigidas() == 0) {
+            throw new IllegalArgumentException("Aluno sem nota nesta avaliação");
+        }
+
+        HistogramaNotas histograma = distribuicaoCache.obter(avaliacaoId);
+        Double nota = totais.somaNotas()
+                .multiply(BigDecimal.TEN)
+                .divide(BigDecimal.valueOf(totais.corrigidas()), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+        return new PercentilAlunoDTO(
+                avaliacaoId,
+                alunoId,
+                nota,
+                arredondar(histograma.percentil(HistogramaNotas.faixa(totais.somaNotas(), totais.corrigidas()))));
+    }
+
+    private DistribuicaoNotasDTO montar(HistogramaNotas histograma) {
+        long[] porPonto = new long[FAIXAS_HISTOGRAMA];
+        for (int faixa = 0; faixa < HistogramaNotas.FAIXAS; faixa++) {
+            porPonto[Math.min(faixa / 10, FAIXAS_HISTOGRAMA - 1)] += histograma.alunosNaFaixa(faixa);
+        }
+
+        List<FaixaNotaDTO> faixas = new ArrayList<>();
+        for (int i = 0; i < FAIXAS_HISTOGRAMA; i++) {
+            faixas.add(new FaixaNotaDTO(i, i + 1, porPonto[i]));
+        }
+
+        return new DistribuicaoNotasDTO(
+                histograma.getTotal(),
+                arredondar(histograma.media()),
+                histograma.quantil(0),
+                histograma.quantil(0.25),
+                histograma.quantil(0.5),
+                histograma.quantil(0.75),
+                histograma.quantil(1),
+                faixas);
+    }
+
+    private Double arredondar(Double valor) {
+        return valor == null ? null : Math.round(valor * 100) / 100.0;
+    }
+}
@@ -1,25 +1,132 @@
 package com.uel.service;
 
+import com.uel.cache.PainelProfessorCache;
+import com.uel.cache.PainelProfessorCache.PainelCarregado;
+import com.uel.cache.RankingProfessoresCache;
+import com.uel.cache.RankingProfessoresCache.Ranking;
+import com.uel.dto.EstatisticaQuestaoDTO;
 import com.uel.dto.RelatorioProfessorDTO;
+import com.uel.dto.ResumoProfessorDTO;
+import com.uel.repository.EstatisticaQuestaoRepository;
 import com.uel.repository.RelatorioProfessorRepository;
+import com.uel.repository.RelatorioProfessorRepository.PainelBase;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class RelatorioProfessorService {
+    private static final Logger log = LoggerFactory.getLogger(RelatorioProfessorService.class);
+    private static final PainelBase BASE_VAZIA =
+            new PainelBase(new ResumoProfessorDTO(0, 0, 0d, 0d, 0d, 0), List.of(), List.of(), List.of());
+    private static final Ranking RANKING_VAZIO = new Ranking(List.of(), null);
+
     private final RelatorioProfessorRepository repository;
+    private final PainelProfessorCache painelCache;
+    private final RankingProfessoresCache rankingCache;
+    private final EstatisticaQuestaoRepository estatisticaQuestaoRepository;
+    private final Executor executor;
+    private final long tempoLimiteMs;
 
-    public RelatorioProfessorService(RelatorioProfessorRepository repository) {
+    public RelatorioProfessorService(
+            RelatorioProfessorRepository repository,
+            PainelProfessorCache painelCache,
+            RankingProfessoresCache rankingCache,
+            EstatisticaQuestaoRepository estatisticaQuestaoRepository,
+            @Qualifier("relatorioExecutor") Executor executor,
+            @Value("${notaki.relatorios.tempo-limite-ms:5000}") long tempoLimiteMs) {
         this.repository = repository;
+        this.painelCache = painelCache;
+        this.rankingCache = rankingCache;
+        this.estatisticaQuestaoRepository = estatisticaQuestaoRepository;
+        this.executor = executor;
+        this.tempoLimiteMs = tempoLimiteMs;
+    }
+
+    public RelatorioProfessorDTO montarPainel(UUID professorId, Integer meses) {
+        return painelCache.obter(professorId, meses, () -> carregarPainel(professorId, meses));
+    }
+
+    // Resultado da última rodada do AnaliseItensJob; nada é calculado na requisição
+    public List<EstatisticaQuestaoDTO> listarAnaliseItens(UUID professorId) throws SQLException {
+        return estatisticaQuestaoRepository.listarPorProfessor(professorId);
+    }
+
+    private PainelCarregado carregarPainel(UUID professorId, Integer meses) {
+        // As consultas são independentes e rodam em paralelo; uma que falha ou passa do
+        // tempo limite volta vazia e o painel sai marcado como parcial
+        var base = consultar(() -> repository.buscarPainelBase(professorId, meses, 12, 8));
+        var questoes = consultar(() -> repository.listarQuestoesDificeis(professorId, meses, 6));
+        // Janelas padrão vêm do snapshot periódico; as demais ainda consultam o banco
+        var ranking = rankingCache.obter(meses, 5)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> consultar(
+                        () -> new Ranking(repository.rankingProfessores(meses, 5), LocalDateTime.now())));
+
+        List<String> indisponiveis = new ArrayList<>();
+        var baseDTO = aguardar(List.of("resumo", "avaliacoes", "alunos"), base, BASE_VAZIA, indisponiveis);
+        var questoesDTO = aguardar(List.of("questoesCriticas"), questoes, List.of(), indisponiveis);
+        var rankingDTO = aguardar(List.of("rankingProfessores"), ranking, RANKING_VAZIO, indisponiveis);
+
+        RelatorioProfessorDTO painel = new RelatorioProfessorDTO(
+                baseDTO.resumo(),
+                baseDTO.avaliacoes(),
+                baseDTO.alunos(),
+                questoesDTO,
+                rankingDTO.professores(),
+                rankingDTO.atualizadoEm(),
+                !indisponiveis.isEmpty(),
+                List.copyOf(indisponiveis));
+        return new PainelCarregado(painel, baseDTO.avaliacaoIds());
+    }
+
+    private <T> CompletableFuture<T> consultar(Consulta<T> consulta) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                // Seção que esperou na fila além do tempo limite não chega a ir ao banco
+                if (futuro.isDone()) {
+                    return;
+                }
+                try {
+                    futuro.complete(consulta.executar());
+                } catch (SQLException | RuntimeException e) {
+                    futuro.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            futuro.completeExceptionally(e);
+        }
+        return futuro.orTimeout(tempoLimiteMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T aguardar(
+            List<String> secoes, CompletableFuture<T> futuro, T padrao, List<String> indisponiveis) {
+        try {
+            return futuro.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            log.warn("Seções {} do painel indisponíveis: {}", secoes, causa.toString());
+            indisponiveis.addAll(secoes);
+            return padrao;
+        }
     }
 
-    public RelatorioProfessorDTO montarPainel(UUID professorId, Integer meses) throws SQLException {
-        return new RelatorioProfessorDTO(
-                repository.buscarResumo(professorId, meses),
-                repository.listarDesempenhoAvaliacoes(professorId, meses, 12),
-                repository.rankingAlunos(professorId, meses, 8),
-                repository.listarQuestoesDificeis(professorId, meses, 6),
-                repository.rankingProfessores(meses, 5));
+    @FunctionalInterface
+    private interface Consulta<T> {
+        T executar() throws SQLException;
     }
 }
@@ -1,19 +1,27 @@
 package com.uel.service;
 
-import com.uel.entity.Alternativa;
+import com.uel.cache.Gabarito;
+import com.uel.cache.GabaritoCache;
+import com.uel.controller.RespostaAlunoController.RespostaLoteRequest;
 import com.uel.entity.Questao;
 import com.uel.entity.RespostaAluno;
-import com.uel.entity.Vouf;
 import com.uel.enums.TipoQuestao;
 import com.uel.dto.CorrecaoDissertativaDTO;
-import com.uel.repository.AlternativaRepository;
+import com.uel.ingestao.FilaRespostas;
+import com.uel.repository.AvaliacaoQuestaoRepository;
+import com.uel.repository.AvaliacaoRepository;
 import com.uel.repository.QuestaoRepository;
 import com.uel.repository.RespostaAlunoRepository;
-import com.uel.repository.VoufRepository;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,22 +30,35 @@ import org.springframework.transaction.annotation.Transactional;
 public class RespostaAlunoService {
     private final RespostaAlunoRepository respostaAlunoRepository;
     private final QuestaoRepository questaoRepository;
-    private final AlternativaRepository alternativaRepository;
-    private final VoufRepository voufRepository;
+    private final AvaliacaoQuestaoRepository avaliacaoQuestaoRepository;
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final GabaritoCache gabaritoCache;
+    private final FilaRespostas filaRespostas;
+    private final AgregacaoNotasService agregacaoNotasService;
 
     public RespostaAlunoService(
             RespostaAlunoRepository respostaAlunoRepository,
             QuestaoRepository questaoRepository,
-            AlternativaRepository alternativaRepository,
-            VoufRepository voufRepository) {
+            AvaliacaoQuestaoRepository avaliacaoQuestaoRepository,
+            AvaliacaoRepository avaliacaoRepository,
+            GabaritoCache gabaritoCache,
+            FilaRespostas filaRespostas,
+            AgregacaoNotasService agregacaoNotasService) {
         this.respostaAlunoRepository = respostaAlunoRepository;
         this.questaoRepository = questaoRepository;
-        this.alternativaRepository = alternativaRepository;
-        this.voufRepository = voufRepository;
+        this.avaliacaoQuestaoRepository = avaliacaoQuestaoRepository;
+        this.avaliacaoRepository = avaliacaoRepository;
+        this.gabaritoCache = gabaritoCache;
+        this.filaRespostas = filaRespostas;
+        this.agregacaoNotasService = agregacaoNotasService;
+    }
+
+    public boolean ingestaoAssincrona() {
+        return filaRespostas.habilitada();
     }
 
     @Transactional
-    public RespostaAluno responderQuestao(
+    public EnvioResposta responderQuestao(
             UUID avaliacaoId,
             UUID alunoId,
             UUID questaoId,
@@ -45,14 +66,50 @@ public class RespostaAlunoService {
             UUID voufItemId,
             Boolean voufResposta,
             String respostaTexto) throws SQLException {
-        if (respostaAlunoRepository.jaRespondeu(avaliacaoId, alunoId, questaoId)) {
-            throw new IllegalArgumentException("Questão já foi respondida");
+        RespostaAluno resposta = montarResposta(avaliacaoId, alunoId, questaoId, alternativaEscolhidaId,
+                voufItemId, voufResposta, respostaTexto);
+
+        // Reenvio da mesma questão devolve a resposta já gravada
+        RespostaAluno gravada = respostaAlunoRepository.criarOuObter(resposta);
+        if (!gravada.getId().equals(resposta.getId())) {
+            validarReenvio(gravada, resposta);
+            return new EnvioResposta(gravada, false);
         }
+        agregacaoNotasService.registrarInclusao(List.of(gravada));
+        return new EnvioResposta(gravada, true);
+    }
+
+    // Modo assíncrono: corrige e confirma na fila; a gravação acontece em lote depois
+    public RespostaAluno enfileirarQuestao(
+            UUID avaliacaoId,
+            UUID alunoId,
+            UUID questaoId,
+            UUID alternativaEscolhidaId,
+            UUID voufItemId,
+            Boolean voufResposta,
+            String respostaTexto) throws SQLException {
+        RespostaAluno resposta = montarResposta(avaliacaoId, alunoId, questaoId, alternativaEscolhidaId,
+                voufItemId, voufResposta, respostaTexto);
+        filaRespostas.enfileirar(List.of(resposta));
+        return resposta;
+    }
 
+    private RespostaAluno montarResposta(
+            UUID avaliacaoId,
+            UUID alunoId,
+            UUID questaoId,
+            UUID alternativaEscolhidaId,
+            UUID voufItemId,
+            Boolean voufResposta,
+            String respostaTexto) throws SQLException {
         Questao questao = questaoRepository.buscarPorId(questaoId);
         if (questao == null) {
             throw new IllegalArgumentException("Questão não encontrada");
         }
+        if (!avaliacaoQuestaoRepository.questaoJaAdicionada(avaliacaoId, questaoId)) {
+            throw new IllegalArgumentException("Questão não pertence à avaliação: " + questaoId);
+        }
+        validarParticipacao(avaliacaoId, alunoId);
 
         RespostaAluno resposta = new RespostaAluno();
         resposta.setId(UUID.randomUUID());
@@ -62,78 +119,138 @@ public class RespostaAlunoService {
         resposta.setRespondidoEm(LocalDateTime.now());
         resposta.setCorrigido(false);
 
-        switch (questao.getTipo()) {
-            case MULTIPLA_ESCOLHA:
-                if (alternativaEscolhidaId == null) {
-                    throw new IllegalArgumentException("Alternativa deve ser informada para múltipla escolha");
-                }
-                resposta.setAlternativaEscolhidaId(alternativaEscolhidaId);
-                break;
-
-            case VOUF:
-                if (voufItemId == null || voufResposta == null) {
-                    throw new IllegalArgumentException("Item e resposta devem ser informados para V/F");
-                }
-                resposta.setVoufItemId(voufItemId);
-                resposta.setVoufResposta(voufResposta);
-                break;
-
-            case DISSERTATIVA:
-                if (respostaTexto == null || respostaTexto.isBlank()) {
-                    throw new IllegalArgumentException("Resposta em texto deve ser informada para dissertativa");
-                }
-                resposta.setRespostaTexto(respostaTexto);
-                break;
-        }
-
-        respostaAlunoRepository.criar(resposta);
+        preencherConteudo(resposta, questao, alternativaEscolhidaId, voufItemId, voufResposta, respostaTexto);
 
+        // Objetivas já são gravadas corrigidas, sem o UPDATE posterior
         if (questao.getTipo() == TipoQuestao.MULTIPLA_ESCOLHA ||
                 questao.getTipo() == TipoQuestao.VOUF) {
-            corrigirAutomaticamente(resposta, questao);
+            resposta.setNota(gabaritoCache.obter(questao).corrigir(resposta));
+            resposta.setCorrigido(true);
         }
-
         return resposta;
     }
 
     @Transactional
     public void corrigirAutomaticamente(RespostaAluno resposta, Questao questao) throws SQLException {
-        BigDecimal nota = BigDecimal.ZERO;
+        if (questao.getTipo() == TipoQuestao.DISSERTATIVA) {
+            return;
+        }
 
-        switch (questao.getTipo()) {
-            case MULTIPLA_ESCOLHA:
-                List<Alternativa> alternativas = alternativaRepository.buscarPorQuestaoId(questao.getId());
-                Alternativa escolhida = alternativas.stream()
-                        .filter(alt -> alt.getId().equals(resposta.getAlternativaEscolhidaId()))
-                        .findFirst()
-                        .orElse(null);
-
-                if (escolhida != null && escolhida.getVerdadeiro()) {
-                    nota = BigDecimal.ONE;
-                }
-                break;
+        // Estado anterior lido da linha travada, não do objeto recebido
+        RespostaAluno gravada = respostaAlunoRepository.buscarPorIdParaAtualizar(resposta.getId());
+        if (gravada == null) {
+            throw new IllegalArgumentException("Resposta não encontrada");
+        }
+        Boolean corrigidoAntes = gravada.getCorrigido();
+        BigDecimal notaAntes = gravada.getNota();
 
-            case VOUF:
-                Vouf itemCorreto = voufRepository.buscarPorId(resposta.getVoufItemId());
+        resposta.setNota(gabaritoCache.obter(questao).corrigir(resposta));
+        resposta.setCorrigido(true);
+        respostaAlunoRepository.atualizar(resposta);
+        agregacaoNotasService.registrarCorrecao(resposta, corrigidoAntes, notaAntes);
+    }
 
-                if (itemCorreto != null &&
-                        itemCorreto.getVerdadeiro().equals(resposta.getVoufResposta())) {
-                    nota = BigDecimal.ONE;
-                }
-                break;
+    @Transactional
+    public EnvioLote responderLote(
+            UUID avaliacaoId,
+            UUID alunoId,
+            List<RespostaLoteRequest> itens) throws SQLException {
+        List<RespostaAluno> respostas = montarLote(avaliacaoId, alunoId, itens);
+
+        // Questões já respondidas (reenvio do lote) voltam com a resposta gravada
+        List<RespostaAluno> gravadas = respostaAlunoRepository.criarEmLote(respostas);
+
+        List<RespostaAluno> inseridas = new ArrayList<>();
+        for (int i = 0; i < respostas.size(); i++) {
+            if (gravadas.get(i) == respostas.get(i)) {
+                inseridas.add(respostas.get(i));
+            } else {
+                // Desfaz o lote inteiro: o cliente reenvia sem a questão divergente
+                validarReenvio(gravadas.get(i), respostas.get(i));
+            }
+        }
+        agregacaoNotasService.registrarInclusao(inseridas);
+        return new EnvioLote(gravadas, !inseridas.isEmpty());
+    }
 
-            case DISSERTATIVA:
-                return;
+    private void validarReenvio(RespostaAluno gravada, RespostaAluno reenviada) {
+        if (!Objects.equals(gravada.getAlternativaEscolhidaId(), reenviada.getAlternativaEscolhidaId())
+                || !Objects.equals(gravada.getVoufItemId(), reenviada.getVoufItemId())
+                || !Objects.equals(gravada.getVoufResposta(), reenviada.getVoufResposta())
+                || !Objects.equals(gravada.getRespostaTexto(), reenviada.getRespostaTexto())) {
+            throw new RespostaDivergenteException(
+                    "Questão já respondida com outro conteúdo: " + gravada.getQuestaoId());
         }
+    }
 
-        resposta.setNota(nota);
-        resposta.setCorrigido(true);
-        respostaAlunoRepository.atualizar(resposta);
+    public List<RespostaAluno> enfileirarLote(
+            UUID avaliacaoId,
+            UUID alunoId,
+            List<RespostaLoteRequest> itens) throws SQLException {
+        List<RespostaAluno> respostas = montarLote(avaliacaoId, alunoId, itens);
+        filaRespostas.enfileirar(respostas);
+        return respostas;
+    }
+
+    private List<RespostaAluno> montarLote(
+            UUID avaliacaoId,
+            UUID alunoId,
+            List<RespostaLoteRequest> itens) throws SQLException {
+        validarParticipacao(avaliacaoId, alunoId);
+
+        Map<UUID, Questao> questoes = new HashMap<>();
+        for (Questao questao : avaliacaoQuestaoRepository.listarQuestoesPorAvaliacao(avaliacaoId)) {
+            questoes.put(questao.getId(), questao);
+        }
+
+        Set<UUID> noLote = new HashSet<>();
+        for (RespostaLoteRequest item : itens) {
+            if (!questoes.containsKey(item.questaoId())) {
+                throw new IllegalArgumentException("Questão não pertence à avaliação: " + item.questaoId());
+            }
+            if (!noLote.add(item.questaoId())) {
+                throw new IllegalArgumentException("Questão repetida no lote: " + item.questaoId());
+            }
+        }
+
+        Map<UUID, Gabarito> gabaritos = gabaritoCache.obterTodos(
+                noLote.stream().map(questoes::get).toList());
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<RespostaAluno> respostas = new ArrayList<>();
+        for (RespostaLoteRequest item : itens) {
+            Questao questao = questoes.get(item.questaoId());
+
+            RespostaAluno resposta = new RespostaAluno();
+            resposta.setId(UUID.randomUUID());
+            resposta.setAvaliacaoId(avaliacaoId);
+            resposta.setAlunoId(alunoId);
+            resposta.setQuestaoId(questao.getId());
+            resposta.setRespondidoEm(agora);
+            resposta.setCorrigido(false);
+
+            preencherConteudo(resposta, questao, item.alternativaEscolhidaId(), item.voufItemId(),
+                    item.voufResposta(), item.respostaTexto());
+
+            if (questao.getTipo() != TipoQuestao.DISSERTATIVA) {
+                resposta.setNota(gabaritos.get(questao.getId()).corrigir(resposta));
+                resposta.setCorrigido(true);
+            }
+            respostas.add(resposta);
+        }
+        return respostas;
+    }
+
+    // Checado antes de gravar ou enfileirar: no modo assíncrono a FK só falharia depois do 202
+    private void validarParticipacao(UUID avaliacaoId, UUID alunoId) throws SQLException {
+        if (!avaliacaoRepository.alunoParticipa(avaliacaoId, alunoId)) {
+            throw new IllegalArgumentException("Aluno não participa da avaliação");
+        }
     }
 
     @Transactional
     public void corrigirDissertativa(UUID respostaId, BigDecimal nota) throws SQLException {
-        RespostaAluno resposta = respostaAlunoRepository.buscarPorId(respostaId);
+        RespostaAluno resposta = respostaAlunoRepository.buscarPorIdParaAtualizar(respostaId);
 
         if (resposta == null) {
             throw new IllegalArgumentException("Resposta não encontrada");
@@ -148,9 +265,13 @@ public class RespostaAlunoService {
             throw new IllegalArgumentException("Nota deve estar entre 0 e 1");
         }
 
+        Boolean corrigidoAntes = resposta.getCorrigido();
+        BigDecimal notaAntes = resposta.getNota();
+
         resposta.setNota(nota);
         resposta.setCorrigido(true);
         respostaAlunoRepository.atualizar(resposta);
+        agregacaoNotasService.registrarCorrecao(resposta, corrigidoAntes, notaAntes);
     }
 
     public List<RespostaAluno> listarRespostasAluno(UUID avaliacaoId, UUID alunoId) throws SQLException {
@@ -189,6 +310,7 @@ public class RespostaAlunoService {
         return respostaAlunoRepository.listarParaCorrecao(professorId, corrigido);
     }
 
+    @Transactional
     public void corrigirDissertativaComoProfessor(UUID respostaId, UUID professorId, BigDecimal notaDeZeroADez)
             throws SQLException {
         if (notaDeZeroADez == null ||
@@ -197,7 +319,7 @@ public class RespostaAlunoService {
             throw new IllegalArgumentException("Nota deve estar entre 0 e 10");
         }
 
-        RespostaAluno resposta = respostaAlunoRepository.buscarPorId(respostaId);
+        RespostaAluno resposta = respostaAlunoRepository.buscarPorIdParaAtualizar(respostaId);
 
         if (resposta == null) {
             throw new IllegalArgumentException("Resposta não encontrada");
@@ -211,9 +333,52 @@ public class RespostaAlunoService {
             throw new IllegalArgumentException("Resposta não pertence às suas questões");
         }
 
+        Boolean corrigidoAntes = resposta.getCorrigido();
+        BigDecimal notaAntes = resposta.getNota();
+
         BigDecimal notaNormalizada = notaDeZeroADez.divide(BigDecimal.TEN, 2, java.math.RoundingMode.HALF_UP);
         resposta.setNota(notaNormalizada);
         resposta.setCorrigido(true);
         respostaAlunoRepository.atualizar(resposta);
+        agregacaoNotasService.registrarCorrecao(resposta, corrigidoAntes, notaAntes);
+    }
+
+    private void preencherConteudo(
+            RespostaAluno resposta,
+            Questao questao,
+            UUID alternativaEscolhidaId,
+            UUID voufItemId,
+            Boolean voufResposta,
+            String respostaTexto) {
+        switch (questao.getTipo()) {
+            case MULTIPLA_ESCOLHA:
+                if (alternativaEscolhidaId == null) {
+                    throw new IllegalArgumentException("Alternativa deve ser informada para múltipla escolha");
+                }
+                resposta.setAlternativaEscolhidaId(alternativaEscolhidaId);
+                break;
+
+            case VOUF:
+                if (voufItemId == null || voufResposta == null) {
+                    throw new IllegalArgumentException("Item e resposta devem ser informados para V/F");
+                }
+                resposta.setVoufItemId(voufItemId);
+                resposta.setVoufResposta(voufResposta);
+                break;
+
+            case DISSERTATIVA:
+                if (respostaTexto == null || respostaTexto.isBlank()) {
+                    throw new IllegalArgumentException("Resposta em texto deve ser informada para dissertativa");
+                }
+                resposta.setRespostaTexto(respostaTexto);
+                break;
+        }
+    }
+
+    // nova/algumaNova: false quando tudo já estava gravado com o mesmo conteúdo (reenvio)
+    public record EnvioResposta(RespostaAluno resposta, boolean nova) {
+    }
+
+    public record EnvioLote(List<RespostaAluno> respostas, boolean algumaNova) {
     }
 }
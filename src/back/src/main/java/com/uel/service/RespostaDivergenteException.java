@@ -0,0 +1,10 @@
+package com.uel.service;
+
+// Reenvio de uma questão já respondida com conteúdo diferente (o controller responde 409)
+public class RespostaDivergenteException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RespostaDivergenteException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,27 +1,35 @@
 package com.uel.service;
 
+import com.uel.dto.Pagina;
 import com.uel.entity.Aluno;
 import com.uel.entity.Usuario;
 import com.uel.repository.UsuarioRepository;
 import com.uel.repository.AlunoRepository;
+import com.uel.repository.Paginacao;
 import java.security.SecureRandom;
 import java.sql.SQLException;
 import java.util.Base64;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UsuarioService {
   private final UsuarioRepository repository;
   private final AlunoRepository alunoRepository;
+  private final AgregacaoNotasService agregacaoNotasService;
   private final BCryptPasswordEncoder encoder;
   private final SecureRandom secureRandom = new SecureRandom();
 
-  public UsuarioService(UsuarioRepository repository, AlunoRepository alunoRepository, BCryptPasswordEncoder encoder) {
+  public UsuarioService(
+      UsuarioRepository repository,
+      AlunoRepository alunoRepository,
+      AgregacaoNotasService agregacaoNotasService,
+      BCryptPasswordEncoder encoder) {
     this.repository = repository;
     this.alunoRepository = alunoRepository;
+    this.agregacaoNotasService = agregacaoNotasService;
     this.encoder = encoder;
   }
 
@@ -31,14 +39,19 @@ public class UsuarioService {
     return usuario;
   }
 
-  public List<Usuario> listarTodos() throws SQLException {
-    return repository.listarTodos();
+  public Pagina<Usuario> listar(String cursor, Integer limite) throws SQLException {
+    return repository.listar(cursor, Paginacao.limite(limite));
+  }
+
+  public Usuario buscarPorEmail(String email) throws SQLException {
+    return repository.buscarPorEmail(email);
   }
 
   public Usuario buscarPorId(UUID id) throws SQLException {
     return repository.buscarPorId(id);
   }
 
+  @Transactional
   public Usuario atualizar(UUID id, String novoEmail, String novaSenha) throws SQLException {
     Usuario existente = repository.buscarPorId(id);
     if (existente == null) {
@@ -59,9 +72,11 @@ public class UsuarioService {
     return existente;
   }
 
+  @Transactional
   public void deletar(UUID id) throws SQLException {
     Aluno aluno = alunoRepository.buscarPorUsuarioId(id);
     if (aluno != null) {
+      agregacaoNotasService.removerRespostasDoAluno(aluno.getId());
       alunoRepository.deletar(aluno.getId());
     }
     boolean removido = repository.deletar(id);
@@ -0,0 +1,98 @@
+package com.uel.analise;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AcumuladorItemTest {
+    private static final double DELTA = 1e-9;
+
+    private final UUID certa = UUID.randomUUID();
+    private final UUID errada1 = UUID.randomUUID();
+    private final UUID errada2 = UUID.randomUUID();
+
+    // Quatro alunos: (x = nota na questão, y = resto da prova)
+    //   certa (1, 8), certa (1, 6), errada1 (0, 4), errada2 (0, 2)
+    // Média do resto: acertaram 7, erraram 3; desvio populacional do resto = raiz(5); p = q = 1/2
+    //   ponto-bisserial = (7 - 3) / raiz(5) * raiz(1/2 * 1/2) = 2 / raiz(5)
+    private AcumuladorItem exemplo() {
+        AcumuladorItem item = new AcumuladorItem();
+        item.registrar(certa, 1, 8.5, 8.0);
+        item.registrar(certa, 1, 6.5, 6.0);
+        item.registrar(errada1, 0, 3.0, 4.0);
+        item.registrar(errada2, 0, 1.5, 2.0);
+        return item;
+    }
+
+    @Test
+    void dificuldadeEDiscriminacaoItemResto() {
+        AcumuladorItem item = exemplo();
+
+        assertEquals(4, item.respostas);
+        assertEquals(0.5, item.indiceDificuldade(), DELTA);
+        assertEquals(2 / Math.sqrt(5), item.discriminacao(), DELTA);
+    }
+
+    @Test
+    void discriminacaoPorAlternativa() {
+        AcumuladorItem item = exemplo();
+
+        // Alternativa certa escolhida pelos mesmos dois alunos que acertaram
+        assertEquals(2 / Math.sqrt(5), item.discriminacao(item.opcoes.get(certa)), DELTA);
+        // Indicador (0, 0, 1, 0): cov = 4 * 4 - 1 * 20 = -4; var(x) = 4 - 1 = 3; var(y) = 4 * 120 - 400 = 80
+        assertEquals(-4 / Math.sqrt(3 * 80), item.discriminacao(item.opcoes.get(errada1)), DELTA);
+        // Indicador (0, 0, 0, 1): cov = 4 * 2 - 1 * 20 = -12
+        assertEquals(-12 / Math.sqrt(3 * 80), item.discriminacao(item.opcoes.get(errada2)), DELTA);
+
+        assertEquals(2, item.opcoes.get(certa).escolhas);
+        assertEquals(15.0, item.opcoes.get(certa).somaNotaProva, DELTA);
+    }
+
+    @Test
+    void combinarEquivaleARegistrarTudoJunto() {
+        AcumuladorItem primeira = new AcumuladorItem();
+        primeira.registrar(certa, 1, 8.5, 8.0);
+        primeira.registrar(errada1, 0, 3.0, 4.0);
+        AcumuladorItem segunda = new AcumuladorItem();
+        segunda.registrar(certa, 1, 6.5, 6.0);
+        segunda.registrar(errada2, 0, 1.5, 2.0);
+
+        primeira.combinar(segunda);
+        AcumuladorItem junto = exemplo();
+
+        assertEquals(junto.respostas, primeira.respostas);
+        assertEquals(junto.indiceDificuldade(), primeira.indiceDificuldade(), DELTA);
+        assertEquals(junto.discriminacao(), primeira.discriminacao(), DELTA);
+        for (UUID alternativa : junto.opcoes.keySet()) {
+            assertEquals(junto.opcoes.get(alternativa).escolhas, primeira.opcoes.get(alternativa).escolhas);
+            assertEquals(junto.discriminacao(junto.opcoes.get(alternativa)),
+                    primeira.discriminacao(primeira.opcoes.get(alternativa)), DELTA);
+        }
+    }
+
+    @Test
+    void alunoSemRestoDaProvaContaSoNaDificuldade() {
+        AcumuladorItem item = exemplo();
+        item.registrar(errada1, 0, 0, null);
+
+        assertEquals(5, item.respostas);
+        assertEquals(0.4, item.indiceDificuldade(), DELTA);
+        assertEquals(4, item.pares);
+        assertEquals(2 / Math.sqrt(5), item.discriminacao(), DELTA);
+        assertEquals(2, item.opcoes.get(errada1).escolhas);
+    }
+
+    @Test
+    void semVariacaoNaoHaDiscriminacao() {
+        AcumuladorItem todosAcertaram = new AcumuladorItem();
+        todosAcertaram.registrar(certa, 1, 9, 8.0);
+        todosAcertaram.registrar(certa, 1, 7, 6.0);
+        assertNull(todosAcertaram.discriminacao());
+
+        AcumuladorItem umAluno = new AcumuladorItem();
+        umAluno.registrar(certa, 1, 9, 8.0);
+        assertNull(umAluno.discriminacao());
+    }
+}
@@ -0,0 +1,110 @@
+package com.uel.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class HistogramaNotasTest {
+    private static final double DELTA = 1e-9;
+
+    // Notas 5,0 / 7,0 / 7,0 / 9,0
+    private HistogramaNotas exemplo() {
+        HistogramaNotas histograma = new HistogramaNotas();
+        histograma.mover(-1, 50);
+        histograma.mover(-1, 70);
+        histograma.mover(-1, 70);
+        histograma.mover(-1, 90);
+        return histograma;
+    }
+
+    @Test
+    void faixaEmDecimosDePonto() {
+        assertEquals(-1, HistogramaNotas.faixa(BigDecimal.ZERO, 0));
+        assertEquals(0, HistogramaNotas.faixa(BigDecimal.ZERO, 3));
+        // 2,5 de 3 questões = 8,33 -> faixa 83
+        assertEquals(83, HistogramaNotas.faixa(new BigDecimal("2.5"), 3));
+        // 0,125 de 1 = 1,25 -> arredonda para 1,3
+        assertEquals(13, HistogramaNotas.faixa(new BigDecimal("0.125"), 1));
+        assertEquals(100, HistogramaNotas.faixa(new BigDecimal("2"), 1));
+    }
+
+    @Test
+    void quantis() {
+        HistogramaNotas histograma = exemplo();
+
+        assertEquals(4, histograma.getTotal());
+        assertEquals(5.0, histograma.quantil(0), DELTA);
+        assertEquals(5.0, histograma.quantil(0.25), DELTA);
+        assertEquals(7.0, histograma.quantil(0.5), DELTA);
+        assertEquals(7.0, histograma.quantil(0.75), DELTA);
+        assertEquals(9.0, histograma.quantil(1), DELTA);
+        assertEquals(7.0, histograma.media(), DELTA);
+    }
+
+    @Test
+    void percentilContaMetadeDosEmpatados() {
+        HistogramaNotas histograma = exemplo();
+
+        assertEquals(12.5, histograma.percentil(50), DELTA);
+        assertEquals(50.0, histograma.percentil(70), DELTA);
+        assertEquals(87.5, histograma.percentil(90), DELTA);
+        assertEquals(100.0, histograma.percentil(100), DELTA);
+        assertNull(histograma.percentil(-1));
+    }
+
+    @Test
+    void moverTrocaAFaixaSemMudarOTotal() {
+        HistogramaNotas histograma = exemplo();
+
+        histograma.mover(70, 80);
+        assertEquals(4, histograma.getTotal());
+        assertEquals(1, histograma.alunosNaFaixa(70));
+        assertEquals(1, histograma.alunosNaFaixa(80));
+        assertEquals(62.5, histograma.percentil(80), DELTA);
+        assertEquals(7.25, histograma.media(), DELTA);
+
+        histograma.mover(80, 80);
+        assertEquals(1, histograma.alunosNaFaixa(80));
+
+        // Faixa -1: nota ainda sem correção, ou aluno que saiu da avaliação
+        histograma.mover(90, -1);
+        assertEquals(3, histograma.getTotal());
+        assertEquals(0, histograma.alunosNaFaixa(90));
+        assertEquals(8.0, histograma.quantil(1), DELTA);
+    }
+
+    @Test
+    void somarJuntaAsFaixasECopiaEhIndependente() {
+        HistogramaNotas outro = new HistogramaNotas();
+        outro.mover(-1, 70);
+        outro.mover(-1, 100);
+
+        HistogramaNotas combinado = exemplo().copia();
+        combinado.somar(outro);
+
+        assertEquals(6, combinado.getTotal());
+        assertEquals(3, combinado.alunosNaFaixa(70));
+        assertEquals(7.0, combinado.quantil(0.5), DELTA);
+        assertEquals(10.0, combinado.quantil(1), DELTA);
+        // 1 abaixo + 3 empatados / 2 = 2,5 de 6
+        assertEquals(2.5 * 100 / 6, combinado.percentil(70), DELTA);
+
+        HistogramaNotas original = exemplo();
+        HistogramaNotas copia = original.copia();
+        copia.mover(50, -1);
+        assertEquals(4, original.getTotal());
+        assertEquals(1, original.alunosNaFaixa(50));
+    }
+
+    @Test
+    void vazioNaoTemEstatisticas() {
+        HistogramaNotas histograma = new HistogramaNotas();
+
+        assertEquals(0, histograma.getTotal());
+        assertNull(histograma.quantil(0.5));
+        assertNull(histograma.percentil(50));
+        assertNull(histograma.media());
+    }
+}
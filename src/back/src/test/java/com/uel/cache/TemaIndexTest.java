@@ -0,0 +1,114 @@
+package com.uel.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.uel.dto.TemaSugestaoDTO;
+import com.uel.repository.QuestaoRepository;
+import com.uel.repository.QuestaoRepository.ContagemTemas;
+import com.uel.repository.QuestaoRepository.TemaProfessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TemaIndexTest {
+    private final UUID professorA = UUID.randomUUID();
+    private final UUID professorB = UUID.randomUUID();
+
+    private QuestaoRepository repository;
+    private TemaIndex indice;
+
+    @BeforeEach
+    void carregar() throws Exception {
+        repository = mock(QuestaoRepository.class);
+        // Recarga lida com xmin 100, xmax 105 e a transação 102 ainda em andamento
+        when(repository.contarTemasPorProfessor()).thenReturn(new ContagemTemas("100:105:102", List.of(
+                new TemaProfessor(professorA, "Árvores Binárias", 2),
+                new TemaProfessor(professorA, "Arquitetura", 1),
+                new TemaProfessor(professorB, "Arquitetura", 1),
+                new TemaProfessor(professorB, "Redes", 1))));
+        when(repository.transacaoAtual()).thenReturn(200L);
+        indice = new TemaIndex(repository, new SimpleMeterRegistry());
+        indice.recarregar();
+    }
+
+    private static List<String> temas(List<TemaSugestaoDTO> sugestoes) {
+        return sugestoes.stream().map(s -> s.tema() + "=" + s.questoes()).toList();
+    }
+
+    @Test
+    void prefixoSemAcentoNemCaixa() {
+        assertEquals(List.of("Arquitetura=2", "Árvores Binárias=2"), temas(indice.sugerir("ar", null, 10)));
+        assertEquals(List.of("Árvores Binárias=2"), temas(indice.sugerir("ÁRV", null, 10)));
+        assertEquals(List.of("Árvores Binárias=2"), temas(indice.sugerir("  arvores b", null, 10)));
+        assertEquals(List.of(), temas(indice.sugerir("x", null, 10)));
+    }
+
+    @Test
+    void porProfessorEOrdenadoPorQuantidade() {
+        assertEquals(List.of("Árvores Binárias=2", "Arquitetura=1"), temas(indice.sugerir("", professorA, 10)));
+        assertEquals(List.of("Arquitetura=1", "Redes=1"), temas(indice.sugerir(null, professorB, 10)));
+        assertEquals(List.of(), temas(indice.sugerir("", UUID.randomUUID(), 10)));
+        assertEquals(1, indice.sugerir("", professorA, 1).size());
+    }
+
+    @Test
+    void mudancasSomamESubtraem() throws Exception {
+        indice.registrar(professorA, null, "Redes");
+        assertEquals(List.of("Redes=2"), temas(indice.sugerir("re", null, 10)));
+        assertEquals(List.of("Redes=1"), temas(indice.sugerir("re", professorA, 10)));
+
+        // Tema alterado sai de um e entra no outro
+        indice.registrar(professorA, "Árvores Binárias", "Grafos");
+        assertEquals(List.of("Árvores Binárias=1"), temas(indice.sugerir("arv", professorA, 10)));
+        assertEquals(List.of("Grafos=1"), temas(indice.sugerir("gra", null, 10)));
+
+        // Tema sem questões some do índice; professor sem temas também
+        indice.registrar(professorB, "Redes", null);
+        indice.registrar(professorB, "Arquitetura", null);
+        assertEquals(List.of("Arquitetura=1"), temas(indice.sugerir("arq", null, 10)));
+        assertEquals(List.of(), temas(indice.sugerir("", professorB, 10)));
+
+        // Mesmo tema: nada muda
+        indice.registrar(professorA, "Grafos", "Grafos");
+        assertEquals(List.of("Grafos=1"), temas(indice.sugerir("gra", null, 10)));
+    }
+
+    @Test
+    void mudancaJaVistaPelaRecargaNaoContaDeNovo() throws Exception {
+        // Antes de xmin: confirmada antes da leitura, já está na contagem
+        when(repository.transacaoAtual()).thenReturn(99L);
+        indice.registrar(professorA, null, "Redes");
+        // Em andamento durante a leitura: a contagem não a viu
+        when(repository.transacaoAtual()).thenReturn(102L);
+        indice.registrar(professorA, null, "Redes");
+        // Depois de xmax
+        when(repository.transacaoAtual()).thenReturn(105L);
+        indice.registrar(professorA, null, "Redes");
+
+        assertEquals(List.of("Redes=3"), temas(indice.sugerir("redes", null, 10)));
+    }
+
+    @Test
+    void instantaneoDoPostgres() {
+        TemaIndex.Instantaneo instantaneo = TemaIndex.Instantaneo.de("100:105:101,103");
+        assertEquals(new TemaIndex.Instantaneo(100, 105, Set.of(101L, 103L)), instantaneo);
+        assertTrue(instantaneo.contem(99));
+        assertFalse(instantaneo.contem(101));
+        assertTrue(instantaneo.contem(102));
+        assertFalse(instantaneo.contem(103));
+        assertTrue(instantaneo.contem(104));
+        assertFalse(instantaneo.contem(105));
+
+        TemaIndex.Instantaneo semAndamento = TemaIndex.Instantaneo.de("7:7:");
+        assertTrue(semAndamento.emAndamento().isEmpty());
+        assertTrue(semAndamento.contem(6));
+        assertFalse(semAndamento.contem(7));
+    }
+}
@@ -0,0 +1,58 @@
+package com.uel.exportacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class EscritorCsvTest {
+
+    private static String escrever(Object... valores) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorCsv escritor = new EscritorCsv(saida);
+        escritor.linha(valores);
+        escritor.concluir();
+        String csv = saida.toString(StandardCharsets.UTF_8);
+        assertEquals('\uFEFF', csv.charAt(0));
+        return csv.substring(1);
+    }
+
+    @Test
+    void cabecalhoELinhasSeparadosPorCrlf() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorCsv escritor = new EscritorCsv(saida);
+        escritor.cabecalho(new String[] {"aluno", "nota"});
+        escritor.linha(new Object[] {"Ana", new BigDecimal("8.50")});
+        escritor.concluir();
+
+        assertEquals("\uFEFFaluno,nota\r\nAna,8.50\r\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void aspasSoQuandoPrecisa() throws IOException {
+        assertEquals("simples,\"com, vírgula\",\"diz \"\"oi\"\"\",\"duas\nlinhas\",\"fim\r\"\r\n",
+                escrever("simples", "com, vírgula", "diz \"oi\"", "duas\nlinhas", "fim\r"));
+    }
+
+    @Test
+    void nuloViraCampoVazio() throws IOException {
+        assertEquals(",meio,\r\n", escrever(null, "meio", null));
+    }
+
+    @Test
+    void numerosSemNotacaoCientificaNemEscape() throws IOException {
+        assertEquals("10,-3,2.5\r\n", escrever(new BigDecimal("1E+1"), -3, 2.5));
+    }
+
+    @Test
+    void textoQueViraFormulaGanhaApostrofo() throws IOException {
+        assertEquals("'=1+1,'+55 43,'-2,'@SOMA(A1),a=b\r\n",
+                escrever("=1+1", "+55 43", "-2", "@SOMA(A1)", "a=b"));
+        // Escapa antes de decidir as aspas: o apóstrofo fica dentro delas
+        assertEquals("\"'=HIPERLINK(\"\"http://x\"\",\"\"y\"\")\"\r\n",
+                escrever("=HIPERLINK(\"http://x\",\"y\")"));
+    }
+}
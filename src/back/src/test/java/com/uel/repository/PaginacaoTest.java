@@ -0,0 +1,98 @@
+package com.uel.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.uel.dto.Pagina;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PaginacaoTest {
+
+    @Test
+    void cursorIdaEVolta() {
+        LocalDateTime criadoEm = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+        UUID id = UUID.randomUUID();
+
+        String cursor = Paginacao.codificar(criadoEm, id);
+        Object[] chave = Paginacao.decodificar(cursor, 2,
+                partes -> new Object[] {LocalDateTime.parse(partes[0]), UUID.fromString(partes[1])});
+
+        assertArrayEquals(new Object[] {criadoEm, id}, chave);
+    }
+
+    @Test
+    void textoDaChaveNaoColideComOSeparador() {
+        String email = "ana.souza@uel.br";
+        String area = "Computação.Teórica";
+
+        String cursor = Paginacao.codificar(area, email);
+        Object[] chave = Paginacao.decodificar(cursor, 2, partes -> new Object[] {partes[0], partes[1]});
+
+        assertEquals(2, cursor.split("\\.").length);
+        assertArrayEquals(new Object[] {area, email}, chave);
+    }
+
+    @Test
+    void cursorInvalido() {
+        String valido = Paginacao.codificar("2025-03-14", UUID.randomUUID());
+
+        // Quantidade de partes diferente da ordenação do endpoint
+        assertThrows(IllegalArgumentException.class,
+                () -> Paginacao.decodificar(valido, 3, partes -> partes));
+        // Base64 quebrado
+        assertThrows(IllegalArgumentException.class,
+                () -> Paginacao.decodificar("@@@.###", 2, partes -> partes));
+        // Partes decodificáveis mas que não são a chave esperada
+        String outro = Paginacao.codificar("nao-e-data", "nao-e-uuid");
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> Paginacao.decodificar(outro, 2,
+                        partes -> new Object[] {LocalDateTime.parse(partes[0]), UUID.fromString(partes[1])}));
+        assertEquals("Cursor inválido", erro.getMessage());
+    }
+
+    @Test
+    void limite() {
+        assertEquals(Paginacao.LIMITE_PADRAO, Paginacao.limite(null));
+        assertEquals(1, Paginacao.limite(1));
+        assertEquals(Paginacao.LIMITE_MAXIMO, Paginacao.limite(Paginacao.LIMITE_MAXIMO));
+        assertThrows(IllegalArgumentException.class, () -> Paginacao.limite(0));
+        assertThrows(IllegalArgumentException.class, () -> Paginacao.limite(Paginacao.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    void linhaQueSobraSoIndicaProximaPagina() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getString("nome")).thenReturn("a", "b", "c");
+        when(rs.getString("id")).thenReturn("1", "2", "3");
+
+        Pagina<String> pagina = Paginacao.ler(rs, 2, linha -> linha.getString("nome"),
+                linha -> Paginacao.codificar(linha.getString("id")));
+
+        // O cursor é a chave da última linha entregue, não da que sobrou
+        assertEquals(List.of("a", "b"), pagina.itens());
+        assertEquals(Paginacao.codificar("2"), pagina.proximoCursor());
+    }
+
+    @Test
+    void ultimaPaginaNaoTemCursor() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString("nome")).thenReturn("a", "b");
+        when(rs.getString("id")).thenReturn("1", "2");
+
+        Pagina<String> pagina = Paginacao.ler(rs, 2, linha -> linha.getString("nome"),
+                linha -> Paginacao.codificar(linha.getString("id")));
+
+        assertEquals(List.of("a", "b"), pagina.itens());
+        assertNull(pagina.proximoCursor());
+    }
+}
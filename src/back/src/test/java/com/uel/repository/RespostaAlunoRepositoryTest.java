@@ -0,0 +1,106 @@
+package com.uel.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.uel.entity.RespostaAluno;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RespostaAlunoRepositoryTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static RespostaAlunoRepository repository;
+
+    private static final UUID AVALIACAO = UUID.randomUUID();
+    private static final UUID ALUNO = UUID.randomUUID();
+    private static final UUID QUESTAO_1 = UUID.randomUUID();
+    private static final UUID QUESTAO_2 = UUID.randomUUID();
+    private static final UUID QUESTAO_3 = UUID.randomUUID();
+
+    @BeforeAll
+    static void subirBanco() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        repository = new RespostaAlunoRepository(dataSource);
+
+        UUID usuario = UUID.randomUUID();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute(Files.readString(Path.of("init.sql")));
+            st.execute("INSERT INTO usuarios (id, email, salt, hash_senha) VALUES ('%s', 'aluno@uel.br', 's', 'h')"
+                    .formatted(usuario));
+            st.execute("INSERT INTO alunos (id, matricula, data_inicio, usuario_id) VALUES ('%s', '1', CURRENT_DATE, '%s')"
+                    .formatted(ALUNO, usuario));
+            st.execute("INSERT INTO avaliacoes (id, descricao, data, horario) VALUES ('%s', 'P1', CURRENT_DATE, '10:00')"
+                    .formatted(AVALIACAO));
+            st.execute("INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id) VALUES ('%s', '%s')"
+                    .formatted(AVALIACAO, ALUNO));
+            int ordem = 0;
+            for (UUID questao : List.of(QUESTAO_1, QUESTAO_2, QUESTAO_3)) {
+                st.execute("""
+                        INSERT INTO questoes (questao_id, enunciado, tema, tipo, dificuldade)
+                        VALUES ('%s', 'Explique', 'Redes', 'DISSERTATIVA', 'FACIL')
+                        """.formatted(questao));
+                st.execute("INSERT INTO avaliacao_questoes (avaliacao_id, questao_id, ordem) VALUES ('%s', '%s', %d)"
+                        .formatted(AVALIACAO, questao, ++ordem));
+            }
+        }
+    }
+
+    @AfterAll
+    static void derrubarBanco() throws Exception {
+        postgres.close();
+    }
+
+    private static RespostaAluno resposta(UUID questao, String texto) {
+        RespostaAluno resposta = new RespostaAluno(UUID.randomUUID(), AVALIACAO, ALUNO, questao);
+        resposta.setRespostaTexto(texto);
+        return resposta;
+    }
+
+    private static int gravadas(UUID questao) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM respostas_alunos WHERE questao_id = '%s'"
+                        .formatted(questao))) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void reenvioDevolveARespostaJaGravada() throws Exception {
+        RespostaAluno primeira = repository.criarOuObter(resposta(QUESTAO_1, "camadas"));
+        // Reenvio com outro id gerado no cliente
+        RespostaAluno reenvio = repository.criarOuObter(resposta(QUESTAO_1, "camadas"));
+
+        assertEquals(primeira.getId(), reenvio.getId());
+        assertEquals("camadas", reenvio.getRespostaTexto());
+        assertEquals(1, gravadas(QUESTAO_1));
+    }
+
+    @Test
+    void loteReenviadoDevolveOsMesmosIds() throws Exception {
+        RespostaAluno jaGravada = repository.criarOuObter(resposta(QUESTAO_2, "roteamento"));
+
+        List<RespostaAluno> lote = repository.criarEmLote(
+                List.of(resposta(QUESTAO_2, "roteamento"), resposta(QUESTAO_3, "enlace")));
+        List<RespostaAluno> reenvio = repository.criarEmLote(
+                List.of(resposta(QUESTAO_2, "roteamento"), resposta(QUESTAO_3, "enlace")));
+
+        assertEquals(jaGravada.getId(), lote.get(0).getId());
+        assertEquals(lote.stream().map(RespostaAluno::getId).toList(),
+                reenvio.stream().map(RespostaAluno::getId).toList());
+        assertEquals(1, gravadas(QUESTAO_2));
+        assertEquals(1, gravadas(QUESTAO_3));
+    }
+}
@@ -0,0 +1,296 @@
+package com.uel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.uel.cache.DistribuicaoNotasCache;
+import com.uel.cache.PainelProfessorCache;
+import com.uel.entity.RespostaAluno;
+import com.uel.repository.NotaAvaliacaoAlunoRepository;
+import com.uel.repository.ResumoMensalRepository;
+import com.uel.repository.RespostaAlunoRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Os agregados mantidos por delta têm de bater com o recálculo a partir de respostas_alunos
+class AgregacaoNotasServiceTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static RespostaAlunoRepository respostaAlunoRepository;
+    private static NotaAvaliacaoAlunoRepository notaAvaliacaoAlunoRepository;
+    private static AgregacaoNotasService service;
+
+    private static final UUID PROFESSOR = UUID.randomUUID();
+    private static final UUID MARCO = UUID.randomUUID();
+    private static final UUID ABRIL = UUID.randomUUID();
+    private static final UUID ANA = UUID.randomUUID();
+    private static final UUID BRUNO = UUID.randomUUID();
+    private static final UUID Q1 = UUID.randomUUID();
+    private static final UUID Q2 = UUID.randomUUID();
+    private static final UUID Q3 = UUID.randomUUID();
+
+    private static final String NOTAS_MANTIDAS = """
+            SELECT avaliacao_id, aluno_id, respostas, corrigidas, soma_notas
+              FROM notas_avaliacao_aluno
+             WHERE respostas <> 0 OR corrigidas <> 0 OR soma_notas <> 0
+            """;
+
+    private static final String NOTAS_RECALCULADAS = """
+            SELECT avaliacao_id, aluno_id, COUNT(*),
+                   COUNT(*) FILTER (WHERE corrigido = TRUE AND nota IS NOT NULL),
+                   COALESCE(SUM(nota) FILTER (WHERE corrigido = TRUE AND nota IS NOT NULL), 0)::numeric(12,2)
+              FROM respostas_alunos
+          GROUP BY avaliacao_id, aluno_id
+            """;
+
+    private static final String RESUMO_MANTIDO = """
+            SELECT %1$s, mes, respostas, corrigidas, soma_notas
+              FROM resumo_mensal_%2$s
+             WHERE respostas <> 0 OR corrigidas <> 0 OR soma_notas <> 0
+            """;
+
+    private static final String RESUMO_RECALCULADO = """
+            SELECT %1$s, date_trunc('month', a.data)::date, COUNT(*),
+                   COUNT(*) FILTER (WHERE ra.corrigido = TRUE AND ra.nota IS NOT NULL),
+                   COALESCE(SUM(ra.nota) FILTER (WHERE ra.corrigido = TRUE AND ra.nota IS NOT NULL), 0)::numeric(14,2)
+              FROM respostas_alunos ra
+              JOIN avaliacoes a ON a.id = ra.avaliacao_id
+              JOIN questoes q ON q.questao_id = ra.questao_id
+          GROUP BY 1, 2
+            """;
+
+    @BeforeAll
+    static void subirBanco() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        respostaAlunoRepository = new RespostaAlunoRepository(dataSource);
+        notaAvaliacaoAlunoRepository = new NotaAvaliacaoAlunoRepository(dataSource);
+        service = new AgregacaoNotasService(notaAvaliacaoAlunoRepository, new ResumoMensalRepository(dataSource),
+                mock(PainelProfessorCache.class), mock(DistribuicaoNotasCache.class));
+
+        UUID usuarioProfessor = UUID.randomUUID();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute(Files.readString(Path.of("init.sql")));
+            st.execute("INSERT INTO usuarios (id, email, salt, hash_senha) VALUES ('%s', 'prof@uel.br', 's', 'h')"
+                    .formatted(usuarioProfessor));
+            st.execute("INSERT INTO professores (id, area, usuario_id) VALUES ('%s', 'Redes', '%s')"
+                    .formatted(PROFESSOR, usuarioProfessor));
+            int matricula = 0;
+            for (UUID aluno : List.of(ANA, BRUNO)) {
+                UUID usuario = UUID.randomUUID();
+                st.execute("INSERT INTO usuarios (id, email, salt, hash_senha) VALUES ('%s', '%s@uel.br', 's', 'h')"
+                        .formatted(usuario, usuario));
+                st.execute("INSERT INTO alunos (id, matricula, data_inicio, usuario_id) VALUES ('%s', '%d', '2025-01-01', '%s')"
+                        .formatted(aluno, ++matricula, usuario));
+            }
+            for (UUID questao : List.of(Q1, Q2, Q3)) {
+                st.execute("""
+                        INSERT INTO questoes (questao_id, enunciado, tema, tipo, dificuldade, professor_id)
+                        VALUES ('%s', 'Explique', 'Redes', 'DISSERTATIVA', 'FACIL', '%s')
+                        """.formatted(questao, PROFESSOR));
+            }
+            for (UUID avaliacao : List.of(MARCO, ABRIL)) {
+                String data = avaliacao == MARCO ? "2025-03-10" : "2025-04-20";
+                st.execute("INSERT INTO avaliacoes (id, descricao, data, horario, professor_id) VALUES ('%s', 'P', '%s', '10:00', '%s')"
+                        .formatted(avaliacao, data, PROFESSOR));
+                int ordem = 0;
+                for (UUID questao : List.of(Q1, Q2, Q3)) {
+                    st.execute("INSERT INTO avaliacao_questoes (avaliacao_id, questao_id, ordem) VALUES ('%s', '%s', %d)"
+                            .formatted(avaliacao, questao, ++ordem));
+                }
+                for (UUID aluno : List.of(ANA, BRUNO)) {
+                    st.execute("INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id) VALUES ('%s', '%s')"
+                            .formatted(avaliacao, aluno));
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void derrubarBanco() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void limpar() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("TRUNCATE respostas_alunos, notas_avaliacao_aluno, resumo_mensal_questao, "
+                    + "resumo_mensal_professor, resumo_mensal_aluno");
+        }
+    }
+
+    private static RespostaAluno resposta(UUID avaliacao, UUID aluno, UUID questao, String nota) {
+        RespostaAluno resposta = new RespostaAluno(UUID.randomUUID(), avaliacao, aluno, questao);
+        resposta.setRespostaTexto("texto");
+        if (nota != null) {
+            resposta.setNota(new BigDecimal(nota));
+            resposta.setCorrigido(true);
+        }
+        return resposta;
+    }
+
+    // Ana e Bruno respondem as três questões das duas avaliações; parte já corrigida
+    private List<RespostaAluno> incluirTodas() throws SQLException {
+        List<RespostaAluno> respostas = new ArrayList<>();
+        String[] notas = {"1.00", null, "0.50", "0.25", "0.00", null};
+        int i = 0;
+        for (UUID avaliacao : List.of(MARCO, ABRIL)) {
+            for (UUID aluno : List.of(ANA, BRUNO)) {
+                for (UUID questao : List.of(Q1, Q2, Q3)) {
+                    respostas.add(resposta(avaliacao, aluno, questao, notas[i++ % notas.length]));
+                }
+            }
+        }
+        respostaAlunoRepository.criarEmLote(respostas);
+        service.registrarInclusao(respostas);
+        return respostas;
+    }
+
+    private static void corrigir(RespostaAluno resposta, String nota, boolean corrigido) throws SQLException {
+        Boolean corrigidoAntes = resposta.getCorrigido();
+        BigDecimal notaAntes = resposta.getNota();
+        resposta.setNota(nota == null ? null : new BigDecimal(nota));
+        resposta.setCorrigido(corrigido);
+        respostaAlunoRepository.atualizar(resposta);
+        service.registrarCorrecao(resposta, corrigidoAntes, notaAntes);
+    }
+
+    private static List<String> linhas(String sql) throws SQLException {
+        List<String> linhas = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery(sql + " ORDER BY 1, 2")) {
+            int colunas = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder linha = new StringBuilder();
+                for (int i = 1; i <= colunas; i++) {
+                    linha.append(rs.getString(i)).append('|');
+                }
+                linhas.add(linha.toString());
+            }
+        }
+        return linhas;
+    }
+
+    private static int respostasGravadas() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM respostas_alunos")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void agregadosBatemComRecalculo() throws SQLException {
+        assertEquals(linhas(NOTAS_RECALCULADAS), linhas(NOTAS_MANTIDAS));
+        for (String chave : List.of("questao", "professor", "aluno")) {
+            String coluna = (chave.equals("aluno") ? "ra." : "q.") + chave + "_id";
+            assertEquals(linhas(RESUMO_RECALCULADO.formatted(coluna)),
+                    linhas(RESUMO_MANTIDO.formatted(chave + "_id", chave)));
+        }
+    }
+
+    private static void mudarData(UUID avaliacao, String dataAntes, String novaData) throws SQLException {
+        service.registrarMudancaDeData(avaliacao, LocalDate.parse(dataAntes), LocalDate.parse(novaData));
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("UPDATE avaliacoes SET data = '%s' WHERE id = '%s'".formatted(novaData, avaliacao));
+        }
+    }
+
+    @Test
+    void inclusaoSomaPorAlunoEAvaliacao() throws Exception {
+        incluirTodas();
+
+        agregadosBatemComRecalculo();
+        // Ana em março: 1,00 + 0,50 em duas corrigidas; nota = soma * 10 / corrigidas
+        NotaAvaliacaoAlunoRepository.Totais ana = notaAvaliacaoAlunoRepository.buscarTotais(MARCO, ANA);
+        assertEquals(2, ana.corrigidas());
+        assertEquals(new BigDecimal("1.50"), ana.somaNotas());
+    }
+
+    @Test
+    void correcaoAplicaSoADiferenca() throws Exception {
+        List<RespostaAluno> respostas = incluirTodas();
+        RespostaAluno semNota = respostas.get(1);
+
+        corrigir(semNota, "0.75", true);
+        agregadosBatemComRecalculo();
+        assertEquals(new BigDecimal("2.25"), notaAvaliacaoAlunoRepository.buscarTotais(MARCO, ANA).somaNotas());
+
+        // Recorreção troca a nota sem contar a resposta de novo
+        corrigir(semNota, "0.25", true);
+        agregadosBatemComRecalculo();
+        assertEquals(3, notaAvaliacaoAlunoRepository.buscarTotais(MARCO, ANA).corrigidas());
+
+        // Volta para não corrigida: sai da soma e das corrigidas
+        corrigir(respostas.get(0), "1.00", false);
+        corrigir(semNota, null, false);
+        agregadosBatemComRecalculo();
+        assertEquals(1, notaAvaliacaoAlunoRepository.buscarTotais(MARCO, ANA).corrigidas());
+
+        // Mesmo estado: nada a aplicar
+        corrigir(semNota, null, false);
+        agregadosBatemComRecalculo();
+    }
+
+    @Test
+    void remocoesDescontamExatamenteAsRespostasApagadas() throws Exception {
+        incluirTodas();
+
+        service.removerRespostasDaQuestaoNaAvaliacao(MARCO, Q1);
+        assertEquals(10, respostasGravadas());
+        agregadosBatemComRecalculo();
+
+        service.removerRespostasDoAlunoNaAvaliacao(ABRIL, BRUNO);
+        assertEquals(7, respostasGravadas());
+        agregadosBatemComRecalculo();
+
+        service.removerRespostasDaQuestao(Q2);
+        assertEquals(4, respostasGravadas());
+        agregadosBatemComRecalculo();
+
+        service.removerRespostasDoAluno(ANA);
+        assertEquals(1, respostasGravadas());
+        agregadosBatemComRecalculo();
+
+        service.removerRespostasDaAvaliacao(MARCO);
+        assertEquals(0, respostasGravadas());
+        agregadosBatemComRecalculo();
+
+        // Nada a apagar: nada a descontar
+        service.removerRespostasDaAvaliacao(MARCO);
+        agregadosBatemComRecalculo();
+    }
+
+    @Test
+    void mudancaDeMesMoveAsRespostasDeBucket() throws Exception {
+        List<RespostaAluno> respostas = incluirTodas();
+
+        // Março passa para abril: o bucket de março esvazia e o de abril soma as duas avaliações
+        mudarData(MARCO, "2025-03-10", "2025-04-02");
+        agregadosBatemComRecalculo();
+        assertEquals(List.of(), linhas("SELECT questao_id, respostas FROM resumo_mensal_questao "
+                + "WHERE mes = '2025-03-01' AND respostas <> 0"));
+
+        // Mesmo mês: nada a mover
+        mudarData(MARCO, "2025-04-02", "2025-04-30");
+        agregadosBatemComRecalculo();
+
+        corrigir(respostas.get(1), "0.75", true);
+        mudarData(MARCO, "2025-04-30", "2025-03-10");
+        agregadosBatemComRecalculo();
+    }
+}
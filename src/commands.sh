@@ -123,6 +123,21 @@ populate_data() {
   "${COMPOSE_CMD[@]}" -f "${ROOT_DIR}/docker-compose.yml" run --rm --entrypoint java api -cp /app/app.jar com.uel.script.PopularBanco
 }
 
+rebuild_aggregates() {
+  echo "Rebuilding aggregated scores (com.uel.script.ReconstruirAgregados)..."
+  "${COMPOSE_CMD[@]}" -f "${ROOT_DIR}/docker-compose.yml" run --rm --entrypoint java api \
+    -Dloader.main=com.uel.script.ReconstruirAgregados -cp /app/app.jar \
+    org.springframework.boot.loader.launch.PropertiesLauncher
+}
+
+simulate() {
+  echo "Building api and simulator modules..."
+  (cd "${ROOT_DIR}" && mvn -q -DskipTests install)
+
+  echo "Running exam-day load simulation (embedded PostgreSQL)..."
+  java -jar "${ROOT_DIR}/simulador/target/simulador-0.0.1-SNAPSHOT.jar" "$@"
+}
+
 reset_all() {
   echo "Resetting everything (stopping front, removing containers/volumes, rebuilding)..."
   stop_frontend
@@ -138,11 +153,13 @@ reset_all() {
 
 usage() {
   cat <<EOF
-Usage: $(basename "$0") [run|stop|reset|populate]
+Usage: $(basename "$0") [run|stop|reset|populate|rebuild-aggregates|simulate]
   run   - start backend containers and frontend dev server
   stop  - stop backend containers and frontend dev server
   reset - stop everything and start again
   populate - rebuilds the api image and runs the seed script to populate the database
+  rebuild-aggregates - recomputes notas_avaliacao_aluno from respostas_alunos
+  simulate - runs the load simulator (e.g. simulate --simulador.alunos=500 --simulador.lote=false)
 EOF
 }
 
@@ -151,6 +168,8 @@ case "${1-}" in
   stop) stop_all ;;
   reset) reset_all ;;
   populate) populate_data ;;
+  rebuild-aggregates) rebuild_aggregates ;;
+  simulate) shift; simulate "$@" ;;
   test-login)
     wait_for_api || true
     login_smoke_test || true
@@ -0,0 +1,30 @@
+import { Button } from "@/components/ui/button";
+import { Loader2 } from "lucide-react";
+
+type CarregarMaisProps = {
+  temMais: boolean;
+  carregando: boolean;
+  onClick: () => void;
+};
+
+// Botão ao fim das listas paginadas; some quando não há próxima página
+export function CarregarMais({ temMais, carregando, onClick }: CarregarMaisProps) {
+  if (!temMais) {
+    return null;
+  }
+
+  return (
+    <div className="flex justify-center pt-4">
+      <Button type="button" variant="outline" size="sm" onClick={onClick} disabled={carregando}>
+        {carregando ? (
+          <>
+            <Loader2 className="h-4 w-4 mr-2 animate-spin" />
+            Carregando...
+          </>
+        ) : (
+          "Carregar mais"
+        )}
+      </Button>
+    </div>
+  );
+}
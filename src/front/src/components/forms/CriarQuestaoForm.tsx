@@ -1,11 +1,11 @@
-import { useState, type FormEvent } from "react";
+import { useState, useEffect, type FormEvent } from "react";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Input } from "@/components/ui/input";
 import { Label } from "@/components/ui/label";
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select";
 import { Textarea } from "@/components/ui/textarea";
-import { criarQuestao, type TipoQuestao, type Dificuldade, type AlternativaRequest, type VoufRequest } from "@/lib/apiprof";
+import { criarQuestao, sugerirTemas, type TemaSugestao, type TipoQuestao, type Dificuldade, type AlternativaRequest, type VoufRequest } from "@/lib/apiprof";
 import { Plus, Trash2 } from "lucide-react";
 
 type CriarQuestaoFormProps = {
@@ -17,6 +17,7 @@ type CriarQuestaoFormProps = {
 export function CriarQuestaoForm({ professorId, onSuccess, onError }: CriarQuestaoFormProps) {
   const [enunciado, setEnunciado] = useState("");
   const [tema, setTema] = useState("");
+  const [sugestoesTema, setSugestoesTema] = useState<TemaSugestao[]>([]);
   const [tipo, setTipo] = useState<TipoQuestao | "">("");
   const [dificuldade, setDificuldade] = useState<Dificuldade | "">("");
   const [respostaEsperada, setRespostaEsperada] = useState("");
@@ -34,6 +35,21 @@ export function CriarQuestaoForm({ professorId, onSuccess, onError }: CriarQuest
   
   const [isSubmitting, setIsSubmitting] = useState(false);
 
+  // Sugestões de tema conforme o professor digita; a resposta atrasada de um prefixo antigo é descartada
+  useEffect(() => {
+    let atual = true;
+    sugerirTemas(tema, professorId)
+      .then((sugestoes) => {
+        if (atual) setSugestoesTema(sugestoes);
+      })
+      .catch(() => {
+        if (atual) setSugestoesTema([]);
+      });
+    return () => {
+      atual = false;
+    };
+  }, [tema, professorId]);
+
   const handleSubmit = async (e: FormEvent<HTMLFormElement>) => {
     e.preventDefault();
     setIsSubmitting(true);
@@ -192,8 +208,15 @@ export function CriarQuestaoForm({ professorId, onSuccess, onError }: CriarQuest
               value={tema}
               onChange={(e) => setTema(e.target.value)}
               placeholder="Ex: Álgebra, História do Brasil, etc."
+              list="temas-sugeridos"
+              autoComplete="off"
               required
             />
+            <datalist id="temas-sugeridos">
+              {sugestoesTema.map((sugestao) => (
+                <option key={sugestao.tema} value={sugestao.tema} />
+              ))}
+            </datalist>
           </div>
 
           {/* Tipo de Questão */}
@@ -9,8 +9,10 @@ import {
 import { Input } from "@/components/ui/input";
 import { Button } from "@/components/ui/button";
 import { Loader2, Search, CheckCircle2, Circle } from "lucide-react";
-import { listarAlunos, associarAlunoAvaliacao, desassociarAlunoAvaliacao, buscarAvaliacaoPorId, type Aluno } from "@/lib/apiprof";
+import { listarAlunosPagina, associarAlunoAvaliacao, desassociarAlunoAvaliacao, buscarAvaliacaoPorId, type Aluno } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
 import { cn } from "@/lib/utils";
+import { CarregarMais } from "./CarregarMais";
 
 type DistribuirAvaliacaoModalProps = {
   avaliacaoId: string;
@@ -27,21 +29,29 @@ export function DistribuirAvaliacaoModal({
   onOpenChange,
   onError,
 }: DistribuirAvaliacaoModalProps) {
-  const [alunos, setAlunos] = useState<Aluno[]>([]);
   const [alunosVinculados, setAlunosVinculados] = useState<Set<string>>(new Set());
-  const [loading, setLoading] = useState(true);
+  const [loadingVinculos, setLoadingVinculos] = useState(true);
   const [busca, setBusca] = useState("");
   const [processandoIds, setProcessandoIds] = useState<Set<string>>(new Set());
 
-  const carregarAlunos = async () => {
+  // Alunos paginados; a busca filtra as páginas já carregadas
+  const {
+    itens: alunos,
+    carregando: loadingAlunos,
+    temMais,
+    carregarMais,
+  } = usePaginacao<Aluno>(
+    (cursor) => (open ? listarAlunosPagina({}, cursor) : Promise.resolve({ itens: [], proximoCursor: null })),
+    [open],
+    onError
+  );
+  const loading = loadingVinculos || (loadingAlunos && alunos.length === 0);
+
+  const carregarVinculos = async () => {
     try {
-      setLoading(true);
-      const [alunosData, avaliacaoData] = await Promise.all([
-        listarAlunos(),
-        buscarAvaliacaoPorId(avaliacaoId),
-      ]);
-      setAlunos(alunosData);
-      
+      setLoadingVinculos(true);
+      const avaliacaoData = await buscarAvaliacaoPorId(avaliacaoId, ["participacoes"]);
+
       // Carregar alunos já vinculados da avaliação
       const alunosVinculadosSet = new Set<string>();
       if (avaliacaoData.participacoes) {
@@ -54,13 +64,13 @@ export function DistribuirAvaliacaoModal({
       const errorMessage = error instanceof Error ? error.message : "Erro ao carregar alunos";
       onError?.(errorMessage);
     } finally {
-      setLoading(false);
+      setLoadingVinculos(false);
     }
   };
 
   useEffect(() => {
     if (open) {
-      carregarAlunos();
+      carregarVinculos();
       setBusca("");
     }
   }, [open]);
@@ -145,7 +155,11 @@ export function DistribuirAvaliacaoModal({
             ) : alunosFiltrados.length === 0 ? (
               <div className="text-center py-12">
                 <p className="text-muted-foreground">
-                  {busca ? "Nenhum aluno encontrado com essa busca." : "Nenhum aluno cadastrado."}
+                  {busca
+                    ? temMais
+                      ? "Nenhum aluno encontrado entre os carregados."
+                      : "Nenhum aluno encontrado com essa busca."
+                    : "Nenhum aluno cadastrado."}
                 </p>
               </div>
             ) : (
@@ -184,12 +198,13 @@ export function DistribuirAvaliacaoModal({
                 );
               })
             )}
+            {!loading && <CarregarMais temMais={temMais} carregando={loadingAlunos} onClick={carregarMais} />}
           </div>
 
           {/* Estatísticas */}
           {!loading && alunosFiltrados.length > 0 && (
             <div className="text-sm text-muted-foreground">
-              {alunosVinculados.size} de {alunosFiltrados.length} aluno{alunosFiltrados.length !== 1 ? "s" : ""} vinculado{alunosVinculados.size !== 1 ? "s" : ""}
+              {alunosVinculados.size} de {alunosFiltrados.length}{temMais ? "+" : ""} aluno{alunosFiltrados.length !== 1 ? "s" : ""} vinculado{alunosVinculados.size !== 1 ? "s" : ""}
             </div>
           )}
         </div>
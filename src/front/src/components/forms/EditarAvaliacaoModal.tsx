@@ -17,14 +17,16 @@ import {
   listarQuestoesAvaliacao,
   adicionarQuestaoAvaliacao,
   removerQuestaoAvaliacao,
-  listarQuestoes,
+  listarQuestoesPagina,
   type Questao,
   type TipoQuestao,
   type Dificuldade,
   type AvaliacaoRequest,
   type AdicionarQuestaoAvaliacaoRequest,
 } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
 import { Loader2 } from "lucide-react";
+import { CarregarMais } from "./CarregarMais";
 
 type QuestaoSelecionada = {
   questao: Questao;
@@ -50,7 +52,9 @@ export function EditarAvaliacaoModal({
   const [descricao, setDescricao] = useState("");
   const [data, setData] = useState("");
   const [horario, setHorario] = useState("");
-  const [questoes, setQuestoes] = useState<QuestaoSelecionada[]>([]);
+  const [questoesAvaliacao, setQuestoesAvaliacao] = useState<Questao[]>([]);
+  // Seleção guardada por id, fora da lista paginada: continua valendo ao carregar mais páginas
+  const [selecao, setSelecao] = useState<Record<string, QuestaoSelecionada>>({});
   const [questoesOriginaisIds, setQuestoesOriginaisIds] = useState<Set<string>>(new Set());
   const [isLoadingData, setIsLoadingData] = useState(false);
   const [isSubmitting, setIsSubmitting] = useState(false);
@@ -64,7 +68,8 @@ export function EditarAvaliacaoModal({
       setDescricao("");
       setData("");
       setHorario("");
-      setQuestoes([]);
+      setQuestoesAvaliacao([]);
+      setSelecao({});
       setQuestoesOriginaisIds(new Set());
     }
   }, [open, avaliacaoId]);
@@ -72,11 +77,10 @@ export function EditarAvaliacaoModal({
   const carregarDados = async () => {
     setIsLoadingData(true);
     try {
-      // Carregar avaliação, questões da avaliação e todas as questões em paralelo
-      const [avaliacao, questoesAvaliacao, todasQuestoes] = await Promise.all([
-        buscarAvaliacaoPorId(avaliacaoId),
+      // Carregar avaliação e suas questões em paralelo; as demais questões vêm paginadas
+      const [avaliacao, questoesDaAvaliacao] = await Promise.all([
+        buscarAvaliacaoPorId(avaliacaoId, []),
         listarQuestoesAvaliacao(avaliacaoId),
-        listarQuestoes(),
       ]);
 
       // Preencher dados básicos
@@ -85,16 +89,22 @@ export function EditarAvaliacaoModal({
       setHorario(avaliacao.horario);
 
       // Guardar IDs das questões originais para fazer diff depois
-      const idsOriginais = new Set(questoesAvaliacao.map((q) => q.id));
+      const idsOriginais = new Set(questoesDaAvaliacao.map((q) => q.id));
       setQuestoesOriginaisIds(idsOriginais);
 
-      // Preparar lista de questões com as que já estão na avaliação marcadas
-      setQuestoes(
-        todasQuestoes.map((q) => ({
-          questao: q,
-          selecionada: idsOriginais.has(q.id),
-          peso: 1.0, // Peso padrão, pode ser melhorado no futuro
-        }))
+      // As questões que já estão na avaliação aparecem primeiro, marcadas
+      setQuestoesAvaliacao(questoesDaAvaliacao);
+      setSelecao(
+        Object.fromEntries(
+          questoesDaAvaliacao.map((q) => [
+            q.id,
+            {
+              questao: q,
+              selecionada: true,
+              peso: 1.0, // Peso padrão, pode ser melhorado no futuro
+            },
+          ])
+        )
       );
     } catch (error) {
       const errorMessage = error instanceof Error ? error.message : "Erro ao carregar dados da avaliação";
@@ -105,16 +115,41 @@ export function EditarAvaliacaoModal({
     }
   };
 
+  const {
+    itens: catalogo,
+    carregando: isLoadingQuestoes,
+    temMais,
+    carregarMais,
+  } = usePaginacao<Questao>(
+    (cursor) => (open ? listarQuestoesPagina({}, cursor) : Promise.resolve({ itens: [], proximoCursor: null })),
+    [open, avaliacaoId],
+    onError
+  );
+
+  const questoes: QuestaoSelecionada[] = [
+    ...questoesAvaliacao,
+    ...catalogo.filter((q) => !questoesOriginaisIds.has(q.id)),
+  ].map((q) => selecao[q.id] ?? { questao: q, selecionada: false, peso: 1.0 });
+
   const toggleQuestao = (index: number) => {
-    setQuestoes(
-      questoes.map((q, i) => (i === index ? { ...q, selecionada: !q.selecionada } : q))
-    );
+    const questaoSel = questoes[index];
+    setSelecao((anterior) => {
+      const nova = { ...anterior };
+      if (questaoSel.selecionada) {
+        delete nova[questaoSel.questao.id];
+      } else {
+        nova[questaoSel.questao.id] = { ...questaoSel, selecionada: true };
+      }
+      return nova;
+    });
   };
 
   const atualizarPeso = (index: number, peso: number) => {
-    setQuestoes(
-      questoes.map((q, i) => (i === index ? { ...q, peso: Math.max(0.1, peso) } : q))
-    );
+    const questaoSel = questoes[index];
+    setSelecao((anterior) => ({
+      ...anterior,
+      [questaoSel.questao.id]: { ...questaoSel, peso: Math.max(0.1, peso) },
+    }));
   };
 
   const handleSubmit = async (e: FormEvent<HTMLFormElement>) => {
@@ -133,7 +168,7 @@ export function EditarAvaliacaoModal({
         throw new Error("Horário é obrigatório");
       }
 
-      const questoesSelecionadas = questoes.filter((q) => q.selecionada);
+      const questoesSelecionadas = Object.values(selecao);
       if (questoesSelecionadas.length === 0) {
         throw new Error("Selecione pelo menos uma questão");
       }
@@ -192,7 +227,7 @@ export function EditarAvaliacaoModal({
     }
   };
 
-  const questoesSelecionadas = questoes.filter((q) => q.selecionada).length;
+  const questoesSelecionadas = Object.keys(selecao).length;
 
   const formatarTipo = (tipo: TipoQuestao): string => {
     switch (tipo) {
@@ -290,7 +325,11 @@ export function EditarAvaliacaoModal({
                 </div>
               </div>
 
-              {questoes.length === 0 ? (
+              {isLoadingQuestoes && questoes.length === 0 ? (
+                <div className="flex items-center justify-center py-8">
+                  <Loader2 className="h-6 w-6 animate-spin text-muted-foreground" />
+                </div>
+              ) : questoes.length === 0 ? (
                 <div className="text-center py-8 text-muted-foreground">
                   <p>Nenhuma questão disponível no banco de dados.</p>
                   <p className="text-sm mt-2">Crie questões primeiro na seção "Criar questões".</p>
@@ -356,6 +395,7 @@ export function EditarAvaliacaoModal({
                       </div>
                     </div>
                   ))}
+                  <CarregarMais temMais={temMais} carregando={isLoadingQuestoes} onClick={carregarMais} />
                 </div>
               )}
             </div>
@@ -15,6 +15,8 @@ import { Textarea } from "@/components/ui/textarea";
 import {
   buscarQuestaoCompleta,
   atualizarQuestao,
+  sugerirTemas,
+  type TemaSugestao,
   type TipoQuestao,
   type Dificuldade,
   type AlternativaRequest,
@@ -44,6 +46,7 @@ export function EditarQuestaoForm({
   const [loadingData, setLoadingData] = useState(false);
   const [enunciado, setEnunciado] = useState("");
   const [tema, setTema] = useState("");
+  const [sugestoesTema, setSugestoesTema] = useState<TemaSugestao[]>([]);
   const [tipo, setTipo] = useState<TipoQuestao | "">("");
   const [dificuldade, setDificuldade] = useState<Dificuldade | "">("");
   const [respostaEsperada, setRespostaEsperada] = useState("");
@@ -59,6 +62,22 @@ export function EditarQuestaoForm({
     { id: 1, item: "", verdadeiro: true },
   ]);
 
+  // Sugestões de tema conforme o professor digita; a resposta atrasada de um prefixo antigo é descartada
+  useEffect(() => {
+    if (!open) return;
+    let atual = true;
+    sugerirTemas(tema, professorId)
+      .then((sugestoes) => {
+        if (atual) setSugestoesTema(sugestoes);
+      })
+      .catch(() => {
+        if (atual) setSugestoesTema([]);
+      });
+    return () => {
+      atual = false;
+    };
+  }, [open, tema, professorId]);
+
   // Carregar dados quando o modal abrir
   useEffect(() => {
     if (open && questaoId) {
@@ -276,8 +295,15 @@ export function EditarQuestaoForm({
                 value={tema}
                 onChange={(e) => setTema(e.target.value)}
                 placeholder="Ex: Álgebra, História do Brasil, etc."
+                list="temas-sugeridos-edit"
+                autoComplete="off"
                 required
               />
+              <datalist id="temas-sugeridos-edit">
+                {sugestoesTema.map((sugestao) => (
+                  <option key={sugestao.tema} value={sugestao.tema} />
+                ))}
+              </datalist>
             </div>
 
             {/* Tipo de Questão */}
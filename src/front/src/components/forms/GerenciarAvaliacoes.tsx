@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState } from "react";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import {
@@ -9,10 +9,12 @@ import {
   TableHeader,
   TableRow,
 } from "@/components/ui/table";
-import { listarAvaliacoes, deletarAvaliacao, type Avaliacao } from "@/lib/apiprof";
+import { listarAvaliacoesPagina, deletarAvaliacao } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
 import { Loader2, Trash2, Users, Edit } from "lucide-react";
 import { EditarAvaliacaoModal } from "./EditarAvaliacaoModal";
 import { DistribuirAvaliacaoModal } from "./DistribuirAvaliacaoModal";
+import { CarregarMais } from "./CarregarMais";
 
 type GerenciarAvaliacoesProps = {
   onAvaliacaoDeletada?: () => void;
@@ -21,31 +23,20 @@ type GerenciarAvaliacoesProps = {
 };
 
 export function GerenciarAvaliacoes({ onAvaliacaoDeletada, onError, refreshTrigger }: GerenciarAvaliacoesProps) {
-  const [avaliacoes, setAvaliacoes] = useState<Avaliacao[]>([]);
-  const [loading, setLoading] = useState(true);
+  const {
+    itens: avaliacoes,
+    setItens: setAvaliacoes,
+    carregando,
+    temMais,
+    carregarMais,
+    recarregar,
+  } = usePaginacao(cursor => listarAvaliacoesPagina({}, cursor), [refreshTrigger], onError);
   const [deletandoId, setDeletandoId] = useState<string | null>(null);
   const [editandoId, setEditandoId] = useState<string | null>(null);
   const [modalAberto, setModalAberto] = useState(false);
   const [distribuindoId, setDistribuindoId] = useState<string | null>(null);
   const [modalDistribuirAberto, setModalDistribuirAberto] = useState(false);
 
-  const carregarAvaliacoes = async () => {
-    try {
-      setLoading(true);
-      const avaliacoesData = await listarAvaliacoes();
-      setAvaliacoes(avaliacoesData);
-    } catch (error) {
-      const errorMessage = error instanceof Error ? error.message : "Erro ao carregar avaliações";
-      onError?.(errorMessage);
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    carregarAvaliacoes();
-  }, [refreshTrigger]);
-
   const handleDeletar = async (id: string) => {
     if (!confirm("Tem certeza que deseja excluir esta avaliação?")) {
       return;
@@ -89,7 +80,7 @@ export function GerenciarAvaliacoes({ onAvaliacaoDeletada, onError, refreshTrigg
   };
 
   const handleAvaliacaoAtualizada = () => {
-    carregarAvaliacoes();
+    recarregar();
     onAvaliacaoDeletada?.(); // Reutiliza o callback para atualizar a lista
   };
 
@@ -99,7 +90,7 @@ export function GerenciarAvaliacoes({ onAvaliacaoDeletada, onError, refreshTrigg
     return `${dia}/${mes}/${ano}`;
   };
 
-  if (loading) {
+  if (carregando && avaliacoes.length === 0) {
     return (
       <Card className="w-full">
         <CardContent className="flex items-center justify-center py-12">
@@ -136,7 +127,7 @@ export function GerenciarAvaliacoes({ onAvaliacaoDeletada, onError, refreshTrigg
       <CardHeader>
         <CardTitle className="text-2xl">Gerenciar Avaliações</CardTitle>
         <CardDescription>
-          {avaliacoes.length} {avaliacoes.length === 1 ? "avaliação cadastrada" : "avaliações cadastradas"}
+          {avaliacoes.length}{temMais ? "+" : ""} {avaliacoes.length === 1 && !temMais ? "avaliação cadastrada" : "avaliações cadastradas"}
         </CardDescription>
       </CardHeader>
       <CardContent>
@@ -202,6 +193,7 @@ export function GerenciarAvaliacoes({ onAvaliacaoDeletada, onError, refreshTrigg
             </TableBody>
           </Table>
         </div>
+        <CarregarMais temMais={temMais} carregando={carregando} onClick={carregarMais} />
       </CardContent>
       {editandoId && (
         <EditarAvaliacaoModal
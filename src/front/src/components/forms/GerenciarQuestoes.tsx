@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState } from "react";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import {
@@ -9,7 +9,9 @@ import {
   TableHeader,
   TableRow,
 } from "@/components/ui/table";
-import { listarQuestoes, deletarQuestao, type Questao, type TipoQuestao, type Dificuldade } from "@/lib/apiprof";
+import { listarQuestoesPagina, deletarQuestao, type TipoQuestao, type Dificuldade } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
+import { CarregarMais } from "./CarregarMais";
 import { Loader2, Trash2, Pencil } from "lucide-react";
 import { EditarQuestaoForm } from "./EditarQuestaoForm";
 
@@ -22,28 +24,17 @@ type GerenciarQuestoesProps = {
 };
 
 export function GerenciarQuestoes({ professorId, onQuestaoDeletada, onQuestaoEditada, onError, refreshTrigger }: GerenciarQuestoesProps) {
-  const [questoes, setQuestoes] = useState<Questao[]>([]);
-  const [loading, setLoading] = useState(true);
+  const {
+    itens: questoes,
+    setItens: setQuestoes,
+    carregando,
+    temMais,
+    carregarMais,
+    recarregar,
+  } = usePaginacao(cursor => listarQuestoesPagina({ professorId }, cursor), [refreshTrigger], onError);
   const [deletandoId, setDeletandoId] = useState<string | null>(null);
   const [editandoId, setEditandoId] = useState<string | null>(null);
 
-  const carregarQuestoes = async () => {
-    try {
-      setLoading(true);
-      const questoesData = await listarQuestoes();
-      setQuestoes(questoesData);
-    } catch (error) {
-      const errorMessage = error instanceof Error ? error.message : "Erro ao carregar questões";
-      onError?.(errorMessage);
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    carregarQuestoes();
-  }, [refreshTrigger]);
-
   const handleDeletar = async (id: string) => {
     if (!confirm("Tem certeza que deseja excluir esta questão?")) {
       return;
@@ -101,7 +92,7 @@ export function GerenciarQuestoes({ professorId, onQuestaoDeletada, onQuestaoEdi
     }
   };
 
-  if (loading) {
+  if (carregando && questoes.length === 0) {
     return (
       <Card className="w-full">
         <CardContent className="flex items-center justify-center py-12">
@@ -138,7 +129,7 @@ export function GerenciarQuestoes({ professorId, onQuestaoDeletada, onQuestaoEdi
       <CardHeader>
         <CardTitle className="text-2xl">Gerenciar Questões</CardTitle>
         <CardDescription>
-          {questoes.length} {questoes.length === 1 ? "questão cadastrada" : "questões cadastradas"}
+          {questoes.length}{temMais ? "+" : ""} {questoes.length === 1 && !temMais ? "questão cadastrada" : "questões cadastradas"}
         </CardDescription>
       </CardHeader>
       <CardContent>
@@ -205,6 +196,7 @@ export function GerenciarQuestoes({ professorId, onQuestaoDeletada, onQuestaoEdi
             </TableBody>
           </Table>
         </div>
+        <CarregarMais temMais={temMais} carregando={carregando} onClick={carregarMais} />
       </CardContent>
       {editandoId && (
         <EditarQuestaoForm
@@ -217,7 +209,7 @@ export function GerenciarQuestoes({ professorId, onQuestaoDeletada, onQuestaoEdi
             }
           }}
           onSuccess={() => {
-            carregarQuestoes();
+            recarregar();
             onQuestaoEditada?.();
             setEditandoId(null);
           }}
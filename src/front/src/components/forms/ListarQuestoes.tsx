@@ -1,7 +1,9 @@
-import { useState, useEffect } from "react";
+import { useState } from "react";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
-import { listarQuestoes, deletarQuestao, type Questao, type TipoQuestao, type Dificuldade } from "@/lib/apiprof";
+import { listarQuestoesPagina, deletarQuestao, type TipoQuestao, type Dificuldade } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
+import { CarregarMais } from "./CarregarMais";
 import { Trash2, Loader2 } from "lucide-react";
 
 type ListarQuestoesProps = {
@@ -11,27 +13,15 @@ type ListarQuestoesProps = {
 };
 
 export function ListarQuestoes({ onQuestaoDeletada, onError, refreshTrigger }: ListarQuestoesProps) {
-  const [questoes, setQuestoes] = useState<Questao[]>([]);
-  const [loading, setLoading] = useState(true);
+  const {
+    itens: questoes,
+    setItens: setQuestoes,
+    carregando,
+    temMais,
+    carregarMais,
+  } = usePaginacao(cursor => listarQuestoesPagina({}, cursor), [refreshTrigger], onError);
   const [deletandoId, setDeletandoId] = useState<string | null>(null);
 
-  const carregarQuestoes = async () => {
-    try {
-      setLoading(true);
-      const questoesData = await listarQuestoes();
-      setQuestoes(questoesData);
-    } catch (error) {
-      const errorMessage = error instanceof Error ? error.message : "Erro ao carregar questões";
-      onError?.(errorMessage);
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    carregarQuestoes();
-  }, [refreshTrigger]);
-
   const handleDeletar = async (id: string) => {
     if (!confirm("Tem certeza que deseja excluir esta questão?")) {
       return;
@@ -89,7 +79,7 @@ export function ListarQuestoes({ onQuestaoDeletada, onError, refreshTrigger }: L
     }
   };
 
-  if (loading) {
+  if (carregando && questoes.length === 0) {
     return (
       <Card className="w-full">
         <CardContent className="flex items-center justify-center py-12">
@@ -123,7 +113,7 @@ export function ListarQuestoes({ onQuestaoDeletada, onError, refreshTrigger }: L
     <Card className="w-full">
       <CardHeader>
         <CardTitle className="text-2xl">Lista de Questões</CardTitle>
-        <CardDescription>{questoes.length} {questoes.length === 1 ? "questão cadastrada" : "questões cadastradas"}</CardDescription>
+        <CardDescription>{questoes.length}{temMais ? "+" : ""} {questoes.length === 1 && !temMais ? "questão cadastrada" : "questões cadastradas"}</CardDescription>
       </CardHeader>
       <CardContent>
         <div className="space-y-4">
@@ -179,6 +169,7 @@ export function ListarQuestoes({ onQuestaoDeletada, onError, refreshTrigger }: L
             </Card>
           ))}
         </div>
+        <CarregarMais temMais={temMais} carregando={carregando} onClick={carregarMais} />
       </CardContent>
     </Card>
   );
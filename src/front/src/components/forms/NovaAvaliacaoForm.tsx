@@ -1,4 +1,4 @@
-import { useState, useEffect, type FormEvent } from "react";
+import { useState, type FormEvent } from "react";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Input } from "@/components/ui/input";
@@ -7,14 +7,16 @@ import { Textarea } from "@/components/ui/textarea";
 import { 
   criarAvaliacao, 
   adicionarQuestaoAvaliacao, 
-  listarQuestoes, 
+  listarQuestoesPagina,
   type Questao,
   type TipoQuestao,
   type Dificuldade,
   type AvaliacaoRequest,
   type AdicionarQuestaoAvaliacaoRequest
 } from "@/lib/apiprof";
+import { usePaginacao } from "@/lib/usePaginacao";
 import { Loader2 } from "lucide-react";
+import { CarregarMais } from "./CarregarMais";
 
 type QuestaoSelecionada = {
   questao: Questao;
@@ -31,48 +33,40 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
   const [descricao, setDescricao] = useState("");
   const [data, setData] = useState("");
   const [horario, setHorario] = useState("");
-  const [questoes, setQuestoes] = useState<QuestaoSelecionada[]>([]);
-  const [isLoadingQuestoes, setIsLoadingQuestoes] = useState(false);
+  // Seleção guardada por id, fora da lista paginada: continua valendo ao carregar mais páginas
+  const [selecao, setSelecao] = useState<Record<string, QuestaoSelecionada>>({});
   const [isSubmitting, setIsSubmitting] = useState(false);
 
-  // Carregar questões ao montar o componente
-  useEffect(() => {
-    carregarQuestoes();
-  }, []);
+  const {
+    itens: catalogo,
+    carregando: isLoadingQuestoes,
+    temMais,
+    carregarMais,
+  } = usePaginacao(cursor => listarQuestoesPagina({}, cursor), [], onError);
 
-  const carregarQuestoes = async () => {
-    setIsLoadingQuestoes(true);
-    try {
-      const questoesList = await listarQuestoes();
-      setQuestoes(
-        questoesList.map(q => ({
-          questao: q,
-          selecionada: false,
-          peso: 1.0,
-        }))
-      );
-    } catch (error) {
-      const errorMessage = error instanceof Error ? error.message : "Erro ao carregar questões";
-      onError?.(errorMessage);
-    } finally {
-      setIsLoadingQuestoes(false);
-    }
-  };
+  const questoes: QuestaoSelecionada[] = catalogo.map(
+    q => selecao[q.id] ?? { questao: q, selecionada: false, peso: 1.0 }
+  );
 
   const toggleQuestao = (index: number) => {
-    setQuestoes(
-      questoes.map((q, i) => 
-        i === index ? { ...q, selecionada: !q.selecionada } : q
-      )
-    );
+    const questaoSel = questoes[index];
+    setSelecao(anterior => {
+      const nova = { ...anterior };
+      if (questaoSel.selecionada) {
+        delete nova[questaoSel.questao.id];
+      } else {
+        nova[questaoSel.questao.id] = { ...questaoSel, selecionada: true };
+      }
+      return nova;
+    });
   };
 
   const atualizarPeso = (index: number, peso: number) => {
-    setQuestoes(
-      questoes.map((q, i) => 
-        i === index ? { ...q, peso: Math.max(0.1, peso) } : q
-      )
-    );
+    const questaoSel = questoes[index];
+    setSelecao(anterior => ({
+      ...anterior,
+      [questaoSel.questao.id]: { ...questaoSel, peso: Math.max(0.1, peso) },
+    }));
   };
 
   const handleSubmit = async (e: FormEvent<HTMLFormElement>) => {
@@ -91,7 +85,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
         throw new Error("Horário é obrigatório");
       }
 
-      const questoesSelecionadas = questoes.filter(q => q.selecionada);
+      const questoesSelecionadas = Object.values(selecao);
       if (questoesSelecionadas.length === 0) {
         throw new Error("Selecione pelo menos uma questão");
       }
@@ -122,13 +116,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
       setDescricao("");
       setData("");
       setHorario("");
-      setQuestoes(
-        questoes.map(q => ({
-          ...q,
-          selecionada: false,
-          peso: 1.0,
-        }))
-      );
+      setSelecao({});
 
       onSuccess?.();
     } catch (error) {
@@ -139,7 +127,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
     }
   };
 
-  const questoesSelecionadas = questoes.filter(q => q.selecionada).length;
+  const questoesSelecionadas = Object.keys(selecao).length;
 
   const formatarTipo = (tipo: TipoQuestao): string => {
     switch (tipo) {
@@ -232,7 +220,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
               )}
             </div>
 
-            {isLoadingQuestoes ? (
+            {isLoadingQuestoes && questoes.length === 0 ? (
               <div className="flex items-center justify-center py-8">
                 <Loader2 className="h-6 w-6 animate-spin text-muted-foreground" />
               </div>
@@ -300,6 +288,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
                     </div>
                   </div>
                 ))}
+                <CarregarMais temMais={temMais} carregando={isLoadingQuestoes} onClick={carregarMais} />
               </div>
             )}
           </div>
@@ -308,7 +297,7 @@ export function NovaAvaliacaoForm({ onSuccess, onError }: NovaAvaliacaoFormProps
           <div className="flex gap-3 pt-4 border-t">
             <Button 
               type="submit" 
-              disabled={isSubmitting || isLoadingQuestoes || questoesSelecionadas === 0} 
+              disabled={isSubmitting || questoesSelecionadas === 0} 
               className="flex-1"
             >
               {isSubmitting ? (
@@ -98,8 +98,62 @@ export async function criarQuestao(request: QuestaoRequest): Promise<Questao> {
   return res.json();
 }
 
-export async function listarQuestoes(): Promise<Questao[]> {
-  return fetchFromBackend("/questoes");
+// Listagens paginadas por cursor: proximoCursor nulo indica a última página
+export interface Pagina<T> {
+  itens: T[];
+  proximoCursor?: string | null;
+}
+
+type Filtros = Record<string, string | number | null | undefined>;
+
+function montarQuery(filtros: Filtros): string {
+  const search = new URLSearchParams();
+  for (const [chave, valor] of Object.entries(filtros)) {
+    if (valor !== undefined && valor !== null && valor !== "") {
+      search.set(chave, String(valor));
+    }
+  }
+  const query = search.toString();
+  return query ? `?${query}` : "";
+}
+
+export interface FiltrosQuestao {
+  professorId?: string;
+  tipo?: TipoQuestao;
+  dificuldade?: Dificuldade;
+  tema?: string;
+}
+
+export async function listarQuestoesPagina(
+  filtros: FiltrosQuestao = {},
+  cursor?: string | null,
+  limite?: number
+): Promise<Pagina<Questao>> {
+  return fetchFromBackend(`/questoes${montarQuery({ ...filtros, cursor, limite })}`);
+}
+
+export interface QuestaoBusca extends Questao {
+  relevancia: number;
+}
+
+// Busca textual (enunciado, tema, resposta esperada) sem acentos, ordenada por relevância
+export async function buscarQuestoes(
+  termos: string,
+  filtros: Omit<FiltrosQuestao, "tema"> = {},
+  cursor?: string | null,
+  limite?: number
+): Promise<Pagina<QuestaoBusca>> {
+  return fetchFromBackend(`/questoes/busca${montarQuery({ q: termos, ...filtros, cursor, limite })}`);
+}
+
+export interface TemaSugestao {
+  tema: string;
+  questoes: number;
+}
+
+// Autocompletar de tema, respondido pelo índice em memória da API
+export async function sugerirTemas(prefixo: string, professorId?: string, limite?: number): Promise<TemaSugestao[]> {
+  return fetchFromBackend(`/questoes/temas${montarQuery({ prefixo, professorId, limite })}`);
 }
 
 export async function deletarQuestao(id: string): Promise<void> {
@@ -184,6 +238,17 @@ export interface Avaliacao {
   participacoes?: AvaliacaoParticipacao[];
 }
 
+// Item das listagens: sem participações, só a contagem
+export interface AvaliacaoResumo {
+  id: string;
+  descricao: string;
+  data: string;
+  horario: string;
+  participantes: number;
+}
+
+export type CampoAvaliacao = "participacoes" | "alunos";
+
 export interface AvaliacaoRequest {
   descricao: string;
   data: string; // "YYYY-MM-DD"
@@ -233,11 +298,21 @@ export async function adicionarQuestaoAvaliacao(
   }
 }
 
-export async function listarAvaliacoes(): Promise<Avaliacao[]> {
-  return fetchFromBackend("/avaliacoes");
+export interface FiltrosAvaliacao {
+  professorId?: string;
+  de?: string;
+  ate?: string;
 }
 
-export async function listarAvaliacoesPorAluno(alunoId: string): Promise<Avaliacao[]> {
+export async function listarAvaliacoesPagina(
+  filtros: FiltrosAvaliacao = {},
+  cursor?: string | null,
+  limite?: number
+): Promise<Pagina<AvaliacaoResumo>> {
+  return fetchFromBackend(`/avaliacoes${montarQuery({ ...filtros, cursor, limite })}`);
+}
+
+export async function listarAvaliacoesPorAluno(alunoId: string): Promise<AvaliacaoResumo[]> {
   return fetchFromBackend(`/avaliacoes/aluno/${alunoId}`);
 }
 
@@ -255,8 +330,10 @@ export async function deletarAvaliacao(id: string): Promise<void> {
   }
 }
 
-export async function buscarAvaliacaoPorId(id: string): Promise<Avaliacao> {
-  return fetchFromBackend(`/avaliacoes/${id}`);
+// Sem campos vem o detalhe completo; campos vazio traz só os dados da avaliação
+export async function buscarAvaliacaoPorId(id: string, campos?: CampoAvaliacao[]): Promise<Avaliacao> {
+  const query = campos ? `?campos=${campos.join(",")}` : "";
+  return fetchFromBackend(`/avaliacoes/${id}${query}`);
 }
 
 export async function atualizarAvaliacao(id: string, request: AvaliacaoRequest): Promise<Avaliacao> {
@@ -330,13 +407,21 @@ export interface ProvaComTutor {
 }
 
 // Funções para Aluno
-export async function listarAlunos(): Promise<Aluno[]> {
-  return fetchFromBackend("/alunos");
+export async function listarAlunosPagina(
+  filtros: { de?: string; ate?: string } = {},
+  cursor?: string | null,
+  limite?: number
+): Promise<Pagina<Aluno>> {
+  return fetchFromBackend(`/alunos${montarQuery({ ...filtros, cursor, limite })}`);
 }
 
 // Funções para Professor
-export async function listarProfessores(): Promise<Professor[]> {
-  return fetchFromBackend("/professores");
+export async function listarProfessoresPagina(
+  filtros: { area?: string } = {},
+  cursor?: string | null,
+  limite?: number
+): Promise<Pagina<Professor>> {
+  return fetchFromBackend(`/professores${montarQuery({ ...filtros, cursor, limite })}`);
 }
 
 export async function listarProfessoresPorAluno(alunoId: string): Promise<Professor[]> {
@@ -371,6 +456,132 @@ export async function listarDistribuicaoDificuldade(
   return fetchFromBackend(`/relatorios/alunos/${alunoId}/dificuldades${query ? `?${query}` : ""}`);
 }
 
+export interface DesempenhoMensal {
+  mes: string;
+  respostas: number;
+  corrigidas: number;
+  mediaNota?: number | null;
+}
+
+export async function listarDesempenhoMensal(
+  alunoId: string,
+  params?: { meses?: number }
+): Promise<DesempenhoMensal[]> {
+  const search = new URLSearchParams();
+  if (params?.meses) {
+    search.set("meses", String(params.meses));
+  }
+  const query = search.toString();
+  return fetchFromBackend(`/relatorios/alunos/${alunoId}/mensal${query ? `?${query}` : ""}`);
+}
+
+export interface FaixaNota {
+  inicio: number;
+  fim: number;
+  alunos: number;
+}
+
+export interface DistribuicaoNotas {
+  alunos: number;
+  media?: number | null;
+  minima?: number | null;
+  primeiroQuartil?: number | null;
+  mediana?: number | null;
+  terceiroQuartil?: number | null;
+  maxima?: number | null;
+  histograma: FaixaNota[];
+}
+
+export interface PercentilAluno {
+  avaliacaoId: string;
+  alunoId: string;
+  nota?: number | null;
+  percentil?: number | null;
+}
+
+export async function buscarDistribuicaoNotas(avaliacaoId: string): Promise<DistribuicaoNotas> {
+  return fetchFromBackend(`/relatorios/avaliacoes/${avaliacaoId}/distribuicao`);
+}
+
+export async function buscarDistribuicaoCombinada(avaliacaoIds: string[]): Promise<DistribuicaoNotas> {
+  const search = new URLSearchParams();
+  avaliacaoIds.forEach((id) => search.append("avaliacaoIds", id));
+  return fetchFromBackend(`/relatorios/avaliacoes/distribuicao?${search.toString()}`);
+}
+
+export async function buscarPercentilAluno(avaliacaoId: string, alunoId: string): Promise<PercentilAluno> {
+  return fetchFromBackend(`/relatorios/avaliacoes/${avaliacaoId}/distribuicao/alunos/${alunoId}`);
+}
+
+export interface EstatisticaAlternativa {
+  alternativaId: string;
+  alternativa: string;
+  correta: boolean;
+  escolhas: number;
+  proporcao?: number | null;
+  mediaNota?: number | null;
+  discriminacao?: number | null;
+}
+
+export interface EstatisticaQuestao {
+  questaoId: string;
+  enunciado: string;
+  tema: string;
+  tipo: TipoQuestao;
+  dificuldade: Dificuldade;
+  respostas: number;
+  indiceDificuldade?: number | null;
+  discriminacao?: number | null;
+  calculadoEm?: string | null;
+  alternativas: EstatisticaAlternativa[];
+}
+
+export async function listarAnaliseItens(professorId: string): Promise<EstatisticaQuestao[]> {
+  return fetchFromBackend(`/relatorios/professores/${professorId}/analise-itens`);
+}
+
+// Exportações: o navegador baixa direto da URL (link ou window.location), sem passar pelo fetch
+export type FormatoExportacao = "csv" | "xlsx";
+
+export type ExportacaoProfessor = "avaliacoes" | "alunos" | "questoes";
+
+export function urlExportacao(
+  tipo: "respostas" | "notas",
+  params?: { avaliacaoId?: string; professorId?: string; meses?: number; formato?: FormatoExportacao }
+): string {
+  const search = new URLSearchParams();
+  if (params?.avaliacaoId) {
+    search.set("avaliacaoId", params.avaliacaoId);
+  }
+  if (params?.professorId) {
+    search.set("professorId", params.professorId);
+  }
+  if (params?.meses) {
+    search.set("meses", String(params.meses));
+  }
+  if (params?.formato) {
+    search.set("formato", params.formato);
+  }
+  const query = search.toString();
+  return `${API_URL}/exportacoes/${tipo}${query ? `?${query}` : ""}`;
+}
+
+export function urlExportacaoProfessor(
+  professorId: string,
+  secao: ExportacaoProfessor,
+  params?: { meses?: number; formato?: FormatoExportacao }
+): string {
+  const search = new URLSearchParams();
+  if (params?.meses) {
+    search.set("meses", String(params.meses));
+  }
+  if (params?.formato) {
+    search.set("formato", params.formato);
+  }
+  const query = search.toString();
+  return `${API_URL}/exportacoes/professores/${professorId}/${secao}${query ? `?${query}` : ""}`;
+}
+
 // Funções para associar/desassociar alunos de avaliações
 export async function associarAlunoAvaliacao(avaliacaoId: string, alunoId: string): Promise<void> {
   const res = await fetch(`${API_URL}/avaliacoes/${avaliacaoId}/alunos`, {
@@ -508,6 +719,9 @@ export interface RelatorioProfessorPayload {
   alunos: AlunoComparativo[];
   questoesCriticas: QuestaoDesafio[];
   rankingProfessores: RankingProfessor[];
+  rankingAtualizadoEm: string | null;
+  parcial: boolean;
+  secoesIndisponiveis: string[];
 }
 
 export async function buscarRelatorioProfessor(
@@ -0,0 +1,55 @@
+import { useEffect, useRef, useState, type DependencyList } from "react";
+import type { Pagina } from "@/lib/apiprof";
+
+// Lista paginada por cursor: carrega a primeira página quando as dependências mudam e as
+// seguintes só sob demanda ("Carregar mais"). Respostas de uma recarga anterior são descartadas.
+export function usePaginacao<T>(
+  buscarPagina: (cursor: string | null) => Promise<Pagina<T>>,
+  dependencias: DependencyList,
+  onError?: (error: string) => void
+) {
+  const [itens, setItens] = useState<T[]>([]);
+  const [proximoCursor, setProximoCursor] = useState<string | null>(null);
+  const [carregando, setCarregando] = useState(true);
+  const versao = useRef(0);
+  const buscar = useRef(buscarPagina);
+  const avisarErro = useRef(onError);
+  buscar.current = buscarPagina;
+  avisarErro.current = onError;
+
+  const carregar = async (cursor: string | null) => {
+    const atual = versao.current;
+    setCarregando(true);
+    try {
+      const pagina = await buscar.current(cursor);
+      if (atual !== versao.current) return;
+      setItens(anteriores => (cursor ? [...anteriores, ...pagina.itens] : pagina.itens));
+      setProximoCursor(pagina.proximoCursor ?? null);
+    } catch (error) {
+      if (atual !== versao.current) return;
+      const errorMessage = error instanceof Error ? error.message : "Erro ao carregar a lista";
+      avisarErro.current?.(errorMessage);
+    } finally {
+      if (atual === versao.current) setCarregando(false);
+    }
+  };
+
+  const recarregar = () => {
+    versao.current++;
+    setItens([]);
+    setProximoCursor(null);
+    return carregar(null);
+  };
+
+  const carregarMais = () => {
+    if (proximoCursor && !carregando) {
+      carregar(proximoCursor);
+    }
+  };
+
+  useEffect(() => {
+    recarregar();
+  }, dependencias);
+
+  return { itens, setItens, carregando, temMais: proximoCursor !== null, carregarMais, recarregar };
+}
@@ -0,0 +1,127 @@
+package com.uel.simulador;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uel.controller.RespostaAlunoController.ResponderLoteRequest;
+import com.uel.controller.RespostaAlunoController.ResponderQuestaoRequest;
+import com.uel.controller.RespostaAlunoController.RespostaLoteRequest;
+import com.uel.controller.UsuarioController.UsuarioRequest;
+import com.uel.dto.ProvaDTO;
+import com.uel.dto.ProvaQuestaoDTO;
+import com.uel.simulador.CenarioSimulacao.AlunoSimulado;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Percurso de um aluno no dia da prova: login, abre a prova, envia as respostas e consulta a nota
+public class AlunoVirtual implements Runnable {
+    private final AlunoSimulado aluno;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final Medicoes medicoes;
+    private final String baseUrl;
+    private final boolean respostasEmLote;
+
+    public AlunoVirtual(
+            AlunoSimulado aluno,
+            HttpClient http,
+            ObjectMapper objectMapper,
+            Medicoes medicoes,
+            String baseUrl,
+            boolean respostasEmLote) {
+        this.aluno = aluno;
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.medicoes = medicoes;
+        this.baseUrl = baseUrl;
+        this.respostasEmLote = respostasEmLote;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (enviar("POST /usuarios/login", post("/usuarios/login",
+                    new UsuarioRequest(aluno.email(), GeradorDados.SENHA))) == null) {
+                return;
+            }
+
+            String corpo = enviar("GET /avaliacoes/{id}/prova",
+                    get("/avaliacoes/" + aluno.avaliacaoId() + "/prova"));
+            if (corpo == null) {
+                return;
+            }
+            ProvaDTO prova = objectMapper.readValue(corpo, ProvaDTO.class);
+
+            List<RespostaLoteRequest> respostas = new ArrayList<>();
+            for (ProvaQuestaoDTO questao : prova.questoes()) {
+                respostas.add(responder(questao));
+            }
+
+            if (respostasEmLote) {
+                enviar("POST /respostas/lote", post("/respostas/lote",
+                        new ResponderLoteRequest(aluno.avaliacaoId(), aluno.alunoId(), respostas)));
+            } else {
+                for (RespostaLoteRequest resposta : respostas) {
+                    enviar("POST /respostas", post("/respostas", new ResponderQuestaoRequest(
+                            aluno.avaliacaoId(),
+                            aluno.alunoId(),
+                            resposta.questaoId(),
+                            resposta.alternativaEscolhidaId(),
+                            resposta.voufItemId(),
+                            resposta.voufResposta(),
+                            resposta.respostaTexto())));
+                }
+            }
+
+            enviar("GET /respostas/.../nota-final", get("/respostas/avaliacao/" + aluno.avaliacaoId()
+                    + "/aluno/" + aluno.alunoId() + "/nota-final"));
+        } catch (IOException e) {
+            medicoes.registrar("falha de cliente (" + e.getClass().getSimpleName() + ")", 0, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RespostaLoteRequest responder(ProvaQuestaoDTO questao) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        switch (questao.tipo()) {
+            case MULTIPLA_ESCOLHA:
+                return new RespostaLoteRequest(questao.questaoId(),
+                        questao.alternativas().get(aleatorio.nextInt(questao.alternativas().size())).id(),
+                        null, null, null);
+
+            case VOUF:
+                return new RespostaLoteRequest(questao.questaoId(), null,
+                        questao.itensVouf().get(aleatorio.nextInt(questao.itensVouf().size())).id(),
+                        aleatorio.nextBoolean(), null);
+
+            default:
+                return new RespostaLoteRequest(questao.questaoId(), null, null, null,
+                        "Resposta do aluno " + aluno.email());
+        }
+    }
+
+    // Devolve o corpo em caso de 2xx; null quando a requisição falhou
+    private String enviar(String endpoint, HttpRequest requisicao) throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        boolean sucesso = resposta.statusCode() / 100 == 2;
+        medicoes.registrar(endpoint, System.nanoTime() - inicio, sucesso);
+        return sucesso ? resposta.body() : null;
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho)).GET().build();
+    }
+
+    private HttpRequest post(String caminho, Object corpo) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo)))
+                .build();
+    }
+}
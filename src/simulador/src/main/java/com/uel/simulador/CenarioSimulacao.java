@@ -0,0 +1,15 @@
+package com.uel.simulador;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CenarioSimulacao(
+        List<AlunoSimulado> alunos,
+        List<UUID> avaliacoes) {
+
+    public record AlunoSimulado(
+            UUID alunoId,
+            String email,
+            UUID avaliacaoId) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.uel.simulador;
+
+import org.springframework.core.env.Environment;
+
+// Parâmetros lidos dos argumentos (--simulador.alunos=500 ...); os demais argumentos vão para a API
+public record ConfiguracaoSimulacao(
+        int alunos,
+        int avaliacoes,
+        int questoesPorAvaliacao,
+        boolean respostasEmLote,
+        long rampaMs) {
+
+    public static ConfiguracaoSimulacao de(Environment env) {
+        return new ConfiguracaoSimulacao(
+                env.getProperty("simulador.alunos", Integer.class, 200),
+                env.getProperty("simulador.avaliacoes", Integer.class, 4),
+                env.getProperty("simulador.questoes", Integer.class, 20),
+                env.getProperty("simulador.lote", Boolean.class, true),
+                env.getProperty("simulador.rampa-ms", Long.class, 0L));
+    }
+}
@@ -0,0 +1,194 @@
+package com.uel.simulador;
+
+import com.uel.simulador.CenarioSimulacao.AlunoSimulado;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Popula o banco direto por JDBC (em lotes), na escala pedida, sem passar pela API
+public class GeradorDados {
+    public static final String SENHA = "senha";
+    private static final String SALT = "simulador";
+    private static final String[] TIPOS = { "MULTIPLA_ESCOLHA", "VOUF", "MULTIPLA_ESCOLHA", "DISSERTATIVA" };
+    private static final String[] DIFICULDADES = { "FACIL", "MEDIO", "DIFICIL" };
+
+    private final DataSource dataSource;
+    private final BCryptPasswordEncoder encoder;
+    private final Random aleatorio = new Random(42);
+
+    public GeradorDados(DataSource dataSource, BCryptPasswordEncoder encoder) {
+        this.dataSource = dataSource;
+        this.encoder = encoder;
+    }
+
+    public CenarioSimulacao gerar(ConfiguracaoSimulacao config) throws SQLException {
+        // Mesmo hash para todos: o BCrypt custa caro e o login confere do mesmo jeito
+        String hashSenha = encoder.encode(SALT + SENHA);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+
+            UUID professorId = criarProfessor(conn, hashSenha);
+
+            List<UUID> avaliacoes = new ArrayList<>();
+            for (int i = 0; i < config.avaliacoes(); i++) {
+                UUID avaliacaoId = UUID.randomUUID();
+                avaliacoes.add(avaliacaoId);
+                criarAvaliacao(conn, avaliacaoId, i + 1);
+                criarQuestoes(conn, avaliacaoId, professorId, config.questoesPorAvaliacao());
+            }
+
+            List<AlunoSimulado> alunos = criarAlunos(conn, hashSenha, config.alunos(), avaliacoes);
+
+            conn.commit();
+            return new CenarioSimulacao(alunos, avaliacoes);
+        }
+    }
+
+    private UUID criarProfessor(Connection conn, String hashSenha) throws SQLException {
+        UUID usuarioId = UUID.randomUUID();
+        UUID professorId = UUID.randomUUID();
+
+        try (PreparedStatement pst = conn.prepareStatement(
+                "INSERT INTO usuarios (id, email, salt, hash_senha) VALUES (?, ?, ?, ?)")) {
+            pst.setObject(1, usuarioId);
+            pst.setString(2, "sim-professor@email.com");
+            pst.setString(3, SALT);
+            pst.setString(4, hashSenha);
+            pst.executeUpdate();
+        }
+        try (PreparedStatement pst = conn.prepareStatement(
+                "INSERT INTO professores (id, area, usuario_id) VALUES (?, ?, ?)")) {
+            pst.setObject(1, professorId);
+            pst.setString(2, "Simulação");
+            pst.setObject(3, usuarioId);
+            pst.executeUpdate();
+        }
+        return professorId;
+    }
+
+    private void criarAvaliacao(Connection conn, UUID avaliacaoId, int numero) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement(
+                "INSERT INTO avaliacoes (id, descricao, data, horario) VALUES (?, ?, ?, ?)")) {
+            pst.setObject(1, avaliacaoId);
+            pst.setString(2, "Prova simulada " + numero);
+            pst.setDate(3, Date.valueOf(LocalDate.now()));
+            pst.setTime(4, Time.valueOf(LocalTime.of(8, 0)));
+            pst.executeUpdate();
+        }
+    }
+
+    private void criarQuestoes(Connection conn, UUID avaliacaoId, UUID professorId, int quantidade)
+            throws SQLException {
+        try (PreparedStatement questao = conn.prepareStatement("""
+                INSERT INTO questoes (questao_id, enunciado, tema, tipo, dificuldade, resposta_esperada, professor_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """);
+                PreparedStatement alternativa = conn.prepareStatement(
+                        "INSERT INTO alternativas (id, questao_id, alternativa, verdadeiro) VALUES (?, ?, ?, ?)");
+                PreparedStatement vouf = conn.prepareStatement(
+                        "INSERT INTO vouf (id, item, verdadeiro, questao_id) VALUES (?, ?, ?, ?)");
+                PreparedStatement vinculo = conn.prepareStatement(
+                        "INSERT INTO avaliacao_questoes (avaliacao_id, questao_id, peso, ordem) VALUES (?, ?, 1.00, ?)")) {
+
+            for (int i = 0; i < quantidade; i++) {
+                UUID questaoId = UUID.randomUUID();
+                String tipo = TIPOS[i % TIPOS.length];
+
+                questao.setObject(1, questaoId);
+                questao.setString(2, "Questão simulada " + (i + 1));
+                questao.setString(3, "Tema " + (i % 5 + 1));
+                questao.setString(4, tipo);
+                questao.setString(5, DIFICULDADES[i % DIFICULDADES.length]);
+                questao.setString(6, tipo.equals("DISSERTATIVA") ? "Resposta esperada" : null);
+                questao.setObject(7, professorId);
+                questao.addBatch();
+
+                if (tipo.equals("MULTIPLA_ESCOLHA")) {
+                    int correta = aleatorio.nextInt(4);
+                    for (int a = 0; a < 4; a++) {
+                        alternativa.setObject(1, UUID.randomUUID());
+                        alternativa.setObject(2, questaoId);
+                        alternativa.setString(3, "Alternativa " + (char) ('A' + a));
+                        alternativa.setBoolean(4, a == correta);
+                        alternativa.addBatch();
+                    }
+                } else if (tipo.equals("VOUF")) {
+                    for (int v = 0; v < 4; v++) {
+                        vouf.setObject(1, UUID.randomUUID());
+                        vouf.setString(2, "Afirmação " + (v + 1));
+                        vouf.setBoolean(3, aleatorio.nextBoolean());
+                        vouf.setObject(4, questaoId);
+                        vouf.addBatch();
+                    }
+                }
+
+                vinculo.setObject(1, avaliacaoId);
+                vinculo.setObject(2, questaoId);
+                vinculo.setInt(3, i + 1);
+                vinculo.addBatch();
+            }
+
+            questao.executeBatch();
+            alternativa.executeBatch();
+            vouf.executeBatch();
+            vinculo.executeBatch();
+        }
+    }
+
+    private List<AlunoSimulado> criarAlunos(
+            Connection conn,
+            String hashSenha,
+            int quantidade,
+            List<UUID> avaliacoes) throws SQLException {
+        List<AlunoSimulado> alunos = new ArrayList<>();
+
+        try (PreparedStatement usuario = conn.prepareStatement(
+                "INSERT INTO usuarios (id, email, salt, hash_senha) VALUES (?, ?, ?, ?)");
+                PreparedStatement aluno = conn.prepareStatement(
+                        "INSERT INTO alunos (id, matricula, media, data_inicio, usuario_id) VALUES (?, ?, 0, ?, ?)");
+                PreparedStatement participacao = conn.prepareStatement(
+                        "INSERT INTO avaliacao_alunos (avaliacao_id, aluno_id) VALUES (?, ?)")) {
+
+            for (int i = 0; i < quantidade; i++) {
+                UUID usuarioId = UUID.randomUUID();
+                UUID alunoId = UUID.randomUUID();
+                String email = "sim-aluno" + (i + 1) + "@email.com";
+                UUID avaliacaoId = avaliacoes.get(i % avaliacoes.size());
+
+                usuario.setObject(1, usuarioId);
+                usuario.setString(2, email);
+                usuario.setString(3, SALT);
+                usuario.setString(4, hashSenha);
+                usuario.addBatch();
+
+                aluno.setObject(1, alunoId);
+                aluno.setString(2, String.format("S%06d", i + 1));
+                aluno.setDate(3, Date.valueOf(LocalDate.now().minusYears(1)));
+                aluno.setObject(4, usuarioId);
+                aluno.addBatch();
+
+                participacao.setObject(1, avaliacaoId);
+                participacao.setObject(2, alunoId);
+                participacao.addBatch();
+
+                alunos.add(new AlunoSimulado(alunoId, email, avaliacaoId));
+            }
+
+            usuario.executeBatch();
+            aluno.executeBatch();
+            participacao.executeBatch();
+        }
+        return alunos;
+    }
+}
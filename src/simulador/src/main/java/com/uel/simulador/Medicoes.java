@@ -0,0 +1,55 @@
+package com.uel.simulador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências brutas por endpoint; os percentis são calculados só no relatório
+public class Medicoes {
+    private final Map<String, Queue<Long>> latencias = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+
+    public void registrar(String endpoint, long nanos, boolean sucesso) {
+        latencias.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!sucesso) {
+            erros.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    public long totalRequisicoes() {
+        return latencias.values().stream().mapToLong(Queue::size).sum();
+    }
+
+    public List<String> relatorio() {
+        List<String> linhas = new ArrayList<>();
+        linhas.add(String.format("%-28s %8s %7s %9s %9s %9s %9s",
+                "endpoint", "reqs", "erros", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        for (Map.Entry<String, Queue<Long>> entrada : new TreeMap<>(latencias).entrySet()) {
+            long[] ordenadas = entrada.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            LongAdder falhas = erros.get(entrada.getKey());
+            linhas.add(String.format("%-28s %8d %7d %9.1f %9.1f %9.1f %9.1f",
+                    entrada.getKey(),
+                    ordenadas.length,
+                    falhas != null ? falhas.sum() : 0,
+                    percentil(ordenadas, 0.50),
+                    percentil(ordenadas, 0.95),
+                    percentil(ordenadas, 0.99),
+                    ordenadas.length > 0 ? ordenadas[ordenadas.length - 1] / 1e6 : 0.0));
+        }
+        return linhas;
+    }
+
+    private double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0.0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
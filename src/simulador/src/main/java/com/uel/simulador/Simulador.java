@@ -0,0 +1,131 @@
+package com.uel.simulador;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uel.ApiNotakiApplication;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Sobe a API contra um PostgreSQL embutido, gera a massa de dados e dispara os alunos virtuais.
+// Uso: java -jar simulador.jar --simulador.alunos=500 --simulador.lote=false [propriedades da API]
+public class Simulador {
+
+    public static void main(String[] args) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            criarEsquema(postgres.getPostgresDatabase());
+
+            List<String> argumentos = new ArrayList<>(List.of(args));
+            argumentos.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            argumentos.add("--spring.datasource.username=postgres");
+            argumentos.add("--spring.datasource.password=postgres");
+            argumentos.add("--server.port=0");
+
+            try (ConfigurableApplicationContext api = new SpringApplicationBuilder(ApiNotakiApplication.class)
+                    .run(argumentos.toArray(String[]::new))) {
+                ConfiguracaoSimulacao config = ConfiguracaoSimulacao.de(api.getEnvironment());
+                String baseUrl = "http://localhost:" + api.getEnvironment().getProperty("local.server.port");
+
+                System.out.println("\nGerando dados: " + config);
+                CenarioSimulacao cenario = new GeradorDados(api.getBean(DataSource.class),
+                        api.getBean(BCryptPasswordEncoder.class)).gerar(config);
+
+                executar(config, cenario, baseUrl, api.getBean(MeterRegistry.class),
+                        api.getBean(ObjectMapper.class));
+            }
+        }
+    }
+
+    private static void executar(
+            ConfiguracaoSimulacao config,
+            CenarioSimulacao cenario,
+            String baseUrl,
+            MeterRegistry registry,
+            ObjectMapper objectMapper) throws InterruptedException {
+        Medicoes medicoes = new Medicoes();
+        Timer esperaPool = registry.find("hikaricp.connections.acquire").timer();
+        long esperasAntes = esperaPool != null ? esperaPool.count() : 0;
+        double esperaAntesMs = esperaPool != null ? esperaPool.totalTime(TimeUnit.MILLISECONDS) : 0;
+
+        // Amostra quantas threads aguardam conexão no Hikari durante a rodada
+        AtomicLong maxPendentes = new AtomicLong();
+        Gauge pendentes = registry.find("hikaricp.connections.pending").gauge();
+        ScheduledExecutorService amostrador = Executors.newSingleThreadScheduledExecutor();
+        if (pendentes != null) {
+            amostrador.scheduleAtFixedRate(
+                    () -> maxPendentes.accumulateAndGet((long) pendentes.value(), Math::max),
+                    0, 20, TimeUnit.MILLISECONDS);
+        }
+
+        System.out.println("Disparando " + cenario.alunos().size() + " alunos virtuais ("
+                + (config.respostasEmLote() ? "respostas em lote" : "uma requisição por questão") + ")...");
+
+        long inicio;
+        try (ExecutorService cliente = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(cliente)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            inicio = System.nanoTime();
+            // close() espera todos os alunos terminarem
+            try (ExecutorService alunos = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (CenarioSimulacao.AlunoSimulado aluno : cenario.alunos()) {
+                    alunos.submit(new AlunoVirtual(aluno, http, objectMapper, medicoes, baseUrl,
+                            config.respostasEmLote()));
+                    if (config.rampaMs() > 0) {
+                        Thread.sleep(config.rampaMs());
+                    }
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        amostrador.shutdownNow();
+
+        System.out.println("\n=== Resultado da simulação ===");
+        medicoes.relatorio().forEach(System.out::println);
+        System.out.printf("%nDuração: %.2f s | requisições: %d | vazão: %.1f req/s%n",
+                segundos, medicoes.totalRequisicoes(), medicoes.totalRequisicoes() / segundos);
+
+        if (esperaPool != null) {
+            long esperas = esperaPool.count() - esperasAntes;
+            double esperaMs = esperaPool.totalTime(TimeUnit.MILLISECONDS) - esperaAntesMs;
+            System.out.printf("Hikari: %d aquisições | espera total %.1f ms | média %.3f ms | máx %.1f ms"
+                    + " | máx. threads aguardando %d%n",
+                    esperas, esperaMs, esperas > 0 ? esperaMs / esperas : 0.0,
+                    esperaPool.max(TimeUnit.MILLISECONDS), maxPendentes.get());
+        }
+    }
+
+    private static void criarEsquema(DataSource dataSource) throws IOException, SQLException {
+        String sql;
+        try (InputStream entrada = Simulador.class.getResourceAsStream("/init.sql")) {
+            sql = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // O driver aceita o script inteiro num único execute (protocolo simples)
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}